@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.muzima.api.model.algorithm.EncounterAlgorithm;
+import com.muzima.api.model.algorithm.ObservationAlgorithm;
+import com.muzima.api.model.algorithm.PatientAlgorithm;
+import com.muzima.api.model.algorithm.StreamingEncounterAlgorithm;
+import com.muzima.api.model.algorithm.StreamingObservationAlgorithm;
+import com.muzima.api.model.algorithm.StreamingPatientAlgorithm;
+import com.muzima.search.api.model.object.Searchable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the json path algorithms against the streaming algorithms when deserializing a single patient,
+ * observation and encounter, and measure serializing them back. Run with "-prof gc" to compare the allocation rate
+ * as well.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class AlgorithmBenchmark {
+
+    private String patient;
+    private String observation;
+    private String encounter;
+
+    private PatientAlgorithm patientAlgorithm;
+    private ObservationAlgorithm observationAlgorithm;
+    private EncounterAlgorithm encounterAlgorithm;
+
+    private StreamingPatientAlgorithm streamingPatientAlgorithm;
+    private StreamingObservationAlgorithm streamingObservationAlgorithm;
+    private StreamingEncounterAlgorithm streamingEncounterAlgorithm;
+
+    private Searchable patientObject;
+    private Searchable observationObject;
+    private Searchable encounterObject;
+
+    @Setup
+    public void setup() throws Exception {
+        patient = Payloads.createPayload(Payloads.PATIENT, Payloads.FIXTURE);
+        observation = Payloads.createPayload(Payloads.CODED_OBSERVATION, Payloads.FIXTURE);
+        encounter = Payloads.createPayload(Payloads.ENCOUNTER, Payloads.FIXTURE);
+
+        patientAlgorithm = new PatientAlgorithm();
+        observationAlgorithm = new ObservationAlgorithm();
+        encounterAlgorithm = new EncounterAlgorithm();
+
+        streamingPatientAlgorithm = new StreamingPatientAlgorithm();
+        streamingObservationAlgorithm = new StreamingObservationAlgorithm();
+        streamingEncounterAlgorithm = new StreamingEncounterAlgorithm();
+
+        patientObject = patientAlgorithm.deserialize(patient);
+        observationObject = observationAlgorithm.deserialize(observation);
+        encounterObject = encounterAlgorithm.deserialize(encounter);
+    }
+
+    @Benchmark
+    public Searchable patient_jsonPath() throws Exception {
+        return patientAlgorithm.deserialize(patient);
+    }
+
+    @Benchmark
+    public Searchable patient_streaming() throws Exception {
+        return streamingPatientAlgorithm.deserialize(patient);
+    }
+
+    @Benchmark
+    public Searchable observation_jsonPath() throws Exception {
+        return observationAlgorithm.deserialize(observation);
+    }
+
+    @Benchmark
+    public Searchable observation_streaming() throws Exception {
+        return streamingObservationAlgorithm.deserialize(observation);
+    }
+
+    @Benchmark
+    public Searchable encounter_jsonPath() throws Exception {
+        return encounterAlgorithm.deserialize(encounter);
+    }
+
+    @Benchmark
+    public Searchable encounter_streaming() throws Exception {
+        return streamingEncounterAlgorithm.deserialize(encounter);
+    }
+
+    @Benchmark
+    public String patient_serialize() throws Exception {
+        return patientAlgorithm.serialize(patientObject);
+    }
+
+    @Benchmark
+    public String observation_serialize() throws Exception {
+        return observationAlgorithm.serialize(observationObject);
+    }
+
+    @Benchmark
+    public String encounter_serialize() throws Exception {
+        return encounterAlgorithm.serialize(encounterObject);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.muzima.api.model.algorithm.CohortDataAlgorithm;
+import com.muzima.search.api.model.object.Searchable;
+import com.muzima.util.JsonPathCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure deserializing a downloaded static cohort. The compiled json path cache statistics are printed after the
+ * trial, run the benchmark against an older build to compare with compiling the paths on every read.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CohortDataBenchmark {
+
+    @Param({"10000"})
+    public int patientCount;
+
+    private String cohortData;
+
+    private CohortDataAlgorithm cohortDataAlgorithm;
+
+    @Setup
+    public void setup() {
+        cohortData = createCohortData(patientCount);
+        cohortDataAlgorithm = new CohortDataAlgorithm();
+        JsonPathCache.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println("Compiled json path cache size: " + JsonPathCache.getSize()
+                + ", hits: " + JsonPathCache.getHitCount()
+                + ", misses: " + JsonPathCache.getMissCount()
+                + ", hit rate: " + JsonPathCache.getHitRate());
+    }
+
+    @Benchmark
+    public Searchable deserializeCohortData() throws Exception {
+        return cohortDataAlgorithm.deserialize(cohortData);
+    }
+
+    /**
+     * Create the json of a static cohort download, in the same shape as the server response of the cohort member
+     * resource.
+     */
+    static String createCohortData(final int patientCount) {
+        StringBuilder builder = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < patientCount; i++) {
+            if (i > 0) {
+                builder.append(",");
+            }
+            builder.append("{\"cohort\":{\"uuid\":\"cohort-uuid\",\"name\":\"Benchmark Cohort\"},")
+                    .append("\"patient\":{\"uuid\":\"patient-").append(i).append("\",")
+                    .append("\"voided\":false,\"gender\":\"").append(i % 2 == 0 ? "M" : "F").append("\",")
+                    .append("\"birthdate\":\"1970-01-01T00:00:00.000+0000\",")
+                    .append("\"names\":[{\"uuid\":\"name-").append(i).append("\",")
+                    .append("\"givenName\":\"Given").append(i).append("\",")
+                    .append("\"middleName\":\"Middle\",\"familyName\":\"Family").append(i).append("\",")
+                    .append("\"preferred\":true}],")
+                    .append("\"identifiers\":[{\"uuid\":\"identifier-").append(i).append("\",")
+                    .append("\"identifier\":\"").append(i).append("-8\",\"preferred\":true,")
+                    .append("\"identifierType\":{\"uuid\":\"identifier-type-uuid\",\"name\":\"Benchmark Id\"}}],")
+                    .append("\"attributes\":[{\"uuid\":\"attribute-").append(i).append("\",")
+                    .append("\"hydratedObject\":\"value-").append(i).append("\",")
+                    .append("\"attributeType\":{\"uuid\":\"attribute-type-uuid\",\"name\":\"Benchmark\"}}]}}");
+        }
+        return builder.append("]}").toString();
+    }
+}
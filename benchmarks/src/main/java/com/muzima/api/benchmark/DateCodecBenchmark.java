@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.muzima.search.api.util.ISO8601Util;
+import com.muzima.util.DateCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the date codec against the formatters it replaced: <code>ISO8601Util</code> with a calendar for the date
+ * time values and a new <code>SimpleDateFormat</code> for the date values. The "repeated" benchmarks convert the same
+ * value on every call, like the obsDatetime of the observations of an encounter, the "distinct" benchmarks cycle
+ * through more values than the codec caches. Run with "-prof gc" to compare the allocation rate as well.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class DateCodecBenchmark {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    private static final int DISTINCT_VALUES = 4096;
+
+    private String dateTime;
+    private String date;
+    private Date value;
+
+    private String[] dateTimes;
+    private String[] dates;
+    private int index;
+
+    @Setup
+    public void setup() throws Exception {
+        dateTime = "2012-12-19T08:05:09.000-0500";
+        date = "1998-04-03";
+        value = DateCodec.parseDateTime(dateTime);
+
+        dateTimes = new String[DISTINCT_VALUES];
+        dates = new String[DISTINCT_VALUES];
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(value);
+        for (int i = 0; i < DISTINCT_VALUES; i++) {
+            calendar.add(Calendar.HOUR_OF_DAY, 7);
+            dateTimes[i] = ISO8601Util.fromCalendar(calendar);
+            dates[i] = new SimpleDateFormat(DATE_PATTERN).format(calendar.getTime());
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (DISTINCT_VALUES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public Date parseDateTime_repeated_iso8601Util() throws Exception {
+        return ISO8601Util.toCalendar(dateTime).getTime();
+    }
+
+    @Benchmark
+    public Date parseDateTime_repeated_codec() throws Exception {
+        return DateCodec.parseDateTime(dateTime);
+    }
+
+    @Benchmark
+    public Date parseDateTime_distinct_iso8601Util() throws Exception {
+        return ISO8601Util.toCalendar(dateTimes[next()]).getTime();
+    }
+
+    @Benchmark
+    public Date parseDateTime_distinct_codec() throws Exception {
+        return DateCodec.parseDateTime(dateTimes[next()]);
+    }
+
+    @Benchmark
+    public Date parseDate_repeated_simpleDateFormat() throws Exception {
+        return new SimpleDateFormat(DATE_PATTERN).parse(date);
+    }
+
+    @Benchmark
+    public Date parseDate_repeated_codec() throws Exception {
+        return DateCodec.parseDate(date);
+    }
+
+    @Benchmark
+    public Date parseDate_distinct_simpleDateFormat() throws Exception {
+        return new SimpleDateFormat(DATE_PATTERN).parse(dates[next()]);
+    }
+
+    @Benchmark
+    public Date parseDate_distinct_codec() throws Exception {
+        return DateCodec.parseDate(dates[next()]);
+    }
+
+    @Benchmark
+    public String formatDateTime_iso8601Util() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(value);
+        return ISO8601Util.fromCalendar(calendar);
+    }
+
+    @Benchmark
+    public String formatDateTime_codec() {
+        return DateCodec.formatDateTime(value);
+    }
+
+    @Benchmark
+    public String formatDate_simpleDateFormat() {
+        return new SimpleDateFormat(DATE_PATTERN).format(value);
+    }
+
+    @Benchmark
+    public String formatDate_codec() {
+        return DateCodec.formatDate(value);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.model.serialization.Algorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure deserializing the json of each resource, for the json fixture and for growing synthetic payloads.
+ *
+ * @see SerializationSuite
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class DeserializationBenchmark {
+
+    @Param({Payloads.PATIENT, Payloads.CODED_OBSERVATION, Payloads.NUMERIC_OBSERVATION, Payloads.ENCOUNTER,
+            Payloads.STATIC_COHORT_DATA, Payloads.DYNAMIC_COHORT_DATA,
+            Payloads.FORM_DATA, Payloads.CONCEPT, Payloads.NOTIFICATION})
+    public String resource;
+
+    @Param({Payloads.FIXTURE, "10", "1000"})
+    public String size;
+
+    private Algorithm algorithm;
+
+    private String payload;
+
+    @Setup
+    public void setup() throws Exception {
+        algorithm = Payloads.createAlgorithm(resource);
+        payload = Payloads.createPayload(resource, size);
+    }
+
+    @Benchmark
+    public Searchable deserialize() throws Exception {
+        return algorithm.deserialize(payload);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.muzima.util.JsonUtils;
+import net.minidev.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the json primitives the algorithms are built from: parsing the coded observation fixture, reading single
+ * values from a parsed document and writing single values into a json generator or a json object. The generator
+ * writes into a writer discarding the output, so only the cost of formatting the value is measured.
+ *
+ * @see SerializationSuite
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class JsonUtilsBenchmark {
+
+    /**
+     * Document holding a value of every type read by the benchmarks, so none of the reads fails and logs an error.
+     */
+    private static final String DOCUMENT = "{\"uuid\":\"c2f1599b-1691-11df-97a5-7038c432aabf\",\"voided\":false," +
+            "\"valueNumeric\":12.5,\"obsDatetime\":\"2006-03-15T00:00:00.000-0500\"," +
+            "\"person\":{\"uuid\":\"dd55e586-1691-11df-97a5-7038c432aabf\",\"birthdate\":\"1965-09-18\"}," +
+            "\"location\":{\"uuid\":\"location\",\"name\":\"Benchmark Location\",\"id\":42}," +
+            "\"valueCoded\":{\"uuid\":\"a89b7908-1350-11df-a1f1-0026b9348838\",\"names\":[" +
+            "{\"uuid\":\"a94357d6-1350-11df-a1f1-0026b9348838\",\"name\":\"CONTINUE REGIMEN\"," +
+            "\"localePreferred\":true}]}}";
+
+    private String json;
+    private Object document;
+    private Date value;
+
+    private JsonGenerator generator;
+    private JSONObject jsonObject;
+
+    @Setup
+    public void setup() throws Exception {
+        json = Payloads.createPayload(Payloads.CODED_OBSERVATION, Payloads.FIXTURE);
+        document = JsonUtils.parse(DOCUMENT);
+        value = JsonUtils.readAsDateTime(document, "$['obsDatetime']");
+        generator = new JsonFactory().createGenerator(new Writer() {
+            @Override
+            public void write(final char[] buffer, final int offset, final int length) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        generator.writeStartObject();
+        jsonObject = new JSONObject();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        generator.close();
+    }
+
+    @Benchmark
+    public Object parse() {
+        return JsonUtils.parse(json);
+    }
+
+    @Benchmark
+    public String readAsString() {
+        return JsonUtils.readAsString(document, "$['uuid']");
+    }
+
+    @Benchmark
+    public boolean readAsBoolean() {
+        return JsonUtils.readAsBoolean(document, "$['voided']");
+    }
+
+    @Benchmark
+    public double readAsNumeric() {
+        return JsonUtils.readAsNumeric(document, "$['valueNumeric']");
+    }
+
+    @Benchmark
+    public int readAsInteger() {
+        return JsonUtils.readAsInteger(document, "$['location']['id']");
+    }
+
+    @Benchmark
+    public Date readAsDateTime() {
+        return JsonUtils.readAsDateTime(document, "$['obsDatetime']");
+    }
+
+    @Benchmark
+    public Date readAsDate() {
+        return JsonUtils.readAsDate(document, "$['person']['birthdate']");
+    }
+
+    @Benchmark
+    public Object readAsObject() {
+        return JsonUtils.readAsObject(document, "$['valueCoded']");
+    }
+
+    @Benchmark
+    public List<Object> readAsObjectList() {
+        return JsonUtils.readAsObjectList(document, "$['valueCoded']['names']");
+    }
+
+    @Benchmark
+    public void writeAsString() throws IOException {
+        JsonUtils.writeAsString(generator, "uuid", "c2f1599b-1691-11df-97a5-7038c432aabf");
+    }
+
+    @Benchmark
+    public void writeAsBoolean() throws IOException {
+        JsonUtils.writeAsBoolean(generator, "voided", false);
+    }
+
+    @Benchmark
+    public void writeAsNumeric() throws IOException {
+        JsonUtils.writeAsNumeric(generator, "valueNumeric", 12.5);
+    }
+
+    @Benchmark
+    public void writeAsInteger() throws IOException {
+        JsonUtils.writeAsInteger(generator, "id", 42);
+    }
+
+    @Benchmark
+    public void writeAsDateTime() throws IOException {
+        JsonUtils.writeAsDateTime(generator, "obsDatetime", value);
+    }
+
+    @Benchmark
+    public void writeAsDate() throws IOException {
+        JsonUtils.writeAsDate(generator, "birthdate", value);
+    }
+
+    @Benchmark
+    public JSONObject writeAsDateTimeIntoJsonObject() {
+        JsonUtils.writeAsDateTime(jsonObject, "formSaveTime", value);
+        return jsonObject;
+    }
+
+    @Benchmark
+    public JSONObject writeAsStringIntoJsonObject() {
+        JsonUtils.writeAsString(jsonObject, "uuid", "c2f1599b-1691-11df-97a5-7038c432aabf");
+        return jsonObject;
+    }
+}
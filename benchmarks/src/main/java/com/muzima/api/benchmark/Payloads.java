@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.muzima.api.model.algorithm.CohortDataAlgorithm;
+import com.muzima.api.model.algorithm.ConceptAlgorithm;
+import com.muzima.api.model.algorithm.EncounterAlgorithm;
+import com.muzima.api.model.algorithm.FormDataAlgorithm;
+import com.muzima.api.model.algorithm.NotificationAlgorithm;
+import com.muzima.api.model.algorithm.ObservationAlgorithm;
+import com.muzima.api.model.algorithm.PatientAlgorithm;
+import com.muzima.search.api.model.serialization.Algorithm;
+import com.muzima.search.api.util.StreamUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+/**
+ * Json payloads of the serialization benchmarks. The payload of a resource is either one of the json fixtures of the
+ * api tests, or a synthetic payload where every repeated element of the resource is repeated <code>size</code> times:
+ * the names, identifiers and attributes of patients, the names of concepts, the members of cohorts and the fields of
+ * form and notification payloads.
+ */
+public final class Payloads {
+
+    public static final String PATIENT = "patient";
+    public static final String CODED_OBSERVATION = "observation-coded";
+    public static final String NUMERIC_OBSERVATION = "observation-numeric";
+    public static final String ENCOUNTER = "encounter";
+    public static final String STATIC_COHORT_DATA = "cohort-data-static";
+    public static final String DYNAMIC_COHORT_DATA = "cohort-data-dynamic";
+    public static final String FORM_DATA = "form-data";
+    public static final String CONCEPT = "concept";
+    public static final String NOTIFICATION = "notification";
+
+    /**
+     * Size of the payload read from the json fixture of the resource.
+     */
+    public static final String FIXTURE = "fixture";
+
+    private static final String FIXTURE_ROOT = "/com/muzima/api/service/json/";
+
+    private Payloads() {
+    }
+
+    /**
+     * Create the algorithm of the resource.
+     *
+     * @param resource one of the resource names of this class.
+     * @return the algorithm of the resource.
+     */
+    public static Algorithm createAlgorithm(final String resource) {
+        if (PATIENT.equals(resource)) {
+            return new PatientAlgorithm();
+        } else if (CODED_OBSERVATION.equals(resource) || NUMERIC_OBSERVATION.equals(resource)) {
+            return new ObservationAlgorithm();
+        } else if (ENCOUNTER.equals(resource)) {
+            return new EncounterAlgorithm();
+        } else if (STATIC_COHORT_DATA.equals(resource) || DYNAMIC_COHORT_DATA.equals(resource)) {
+            return new CohortDataAlgorithm();
+        } else if (FORM_DATA.equals(resource)) {
+            return new FormDataAlgorithm();
+        } else if (CONCEPT.equals(resource)) {
+            return new ConceptAlgorithm();
+        } else if (NOTIFICATION.equals(resource)) {
+            return new NotificationAlgorithm();
+        }
+        throw new IllegalArgumentException("Unknown benchmark resource: " + resource);
+    }
+
+    /**
+     * Create the json payload of the resource.
+     *
+     * @param resource one of the resource names of this class.
+     * @param size     <code>fixture</code> for the json fixture, or the number of repeated elements.
+     * @return the json payload.
+     * @throws IOException when the fixture can't be read.
+     */
+    public static String createPayload(final String resource, final String size) throws IOException {
+        if (FIXTURE.equals(size)) {
+            return readFixture(resource);
+        }
+        int count = Integer.parseInt(size);
+        if (PATIENT.equals(resource)) {
+            return patient("patient", count);
+        } else if (CODED_OBSERVATION.equals(resource)) {
+            return observation(count, true);
+        } else if (NUMERIC_OBSERVATION.equals(resource)) {
+            return observation(count, false);
+        } else if (ENCOUNTER.equals(resource)) {
+            return encounter(count);
+        } else if (STATIC_COHORT_DATA.equals(resource)) {
+            return CohortDataBenchmark.createCohortData(count);
+        } else if (DYNAMIC_COHORT_DATA.equals(resource)) {
+            return dynamicCohortData(count);
+        } else if (FORM_DATA.equals(resource)) {
+            return formData(count);
+        } else if (CONCEPT.equals(resource)) {
+            return concept("concept", count);
+        } else if (NOTIFICATION.equals(resource)) {
+            return notification(count);
+        }
+        throw new IllegalArgumentException("Unknown benchmark resource: " + resource);
+    }
+
+    private static String readFixture(final String resource) throws IOException {
+        String path;
+        if (PATIENT.equals(resource)) {
+            path = "patient/TestariusKunguPaul.json";
+        } else if (CODED_OBSERVATION.equals(resource)) {
+            path = "observation/coded_observation.json";
+        } else if (NUMERIC_OBSERVATION.equals(resource)) {
+            path = "observation/numeric_observation.json";
+        } else if (ENCOUNTER.equals(resource)) {
+            path = "encounter/encounter.json";
+        } else if (STATIC_COHORT_DATA.equals(resource)) {
+            path = "cohort_data/static.json";
+        } else if (DYNAMIC_COHORT_DATA.equals(resource)) {
+            path = "cohort_data/dynamic.json";
+        } else if (CONCEPT.equals(resource)) {
+            path = "concept/numeric_concept.json";
+        } else {
+            // there is no json fixture of form data or notifications, use the smallest synthetic payload.
+            return createPayload(resource, "1");
+        }
+        InputStream inputStream = Payloads.class.getResourceAsStream(FIXTURE_ROOT + path);
+        if (inputStream == null) {
+            throw new IOException("Unable to find the json fixture: " + path);
+        }
+        return StreamUtil.readAsString(new InputStreamReader(inputStream, "UTF-8"));
+    }
+
+    private static String patient(final String id, final int count) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"uuid\":\"").append(id).append("\",\"voided\":false,\"gender\":\"F\",")
+                .append("\"birthdate\":\"1970-01-01T00:00:00.000+0000\",\"names\":[");
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? "," : "")
+                    .append("{\"uuid\":\"").append(id).append("-name-").append(i).append("\",")
+                    .append("\"givenName\":\"Given").append(i).append("\",\"middleName\":\"Middle\",")
+                    .append("\"familyName\":\"Family").append(i).append("\",\"preferred\":").append(i == 0).append("}");
+        }
+        builder.append("],\"identifiers\":[");
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? "," : "")
+                    .append("{\"uuid\":\"").append(id).append("-identifier-").append(i).append("\",")
+                    .append("\"identifier\":\"").append(i).append("-8\",\"preferred\":").append(i == 0).append(",")
+                    .append("\"identifierType\":{\"uuid\":\"identifier-type-").append(i).append("\",")
+                    .append("\"name\":\"Benchmark Id ").append(i).append("\"}}");
+        }
+        builder.append("],\"attributes\":[");
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? "," : "")
+                    .append("{\"uuid\":\"").append(id).append("-attribute-").append(i).append("\",")
+                    .append("\"hydratedObject\":\"value-").append(i).append("\",")
+                    .append("\"attributeType\":{\"uuid\":\"attribute-type-").append(i).append("\",")
+                    .append("\"name\":\"Benchmark ").append(i).append("\"}}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static String concept(final String id, final int count) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"uuid\":\"").append(id).append("\",\"units\":\"mg/dl\",\"precise\":true,")
+                .append("\"datatype\":{\"uuid\":\"datatype\",\"name\":\"Coded\"},\"names\":[");
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? "," : "")
+                    .append("{\"uuid\":\"").append(id).append("-name-").append(i).append("\",")
+                    .append("\"name\":\"CONCEPT NAME ").append(i).append("\",")
+                    .append("\"localePreferred\":").append(i == 0).append("}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static String observation(final int count, final boolean coded) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"uuid\":\"observation\",\"voided\":false,")
+                .append("\"obsDatetime\":\"2014-03-15T05:00:00.000+0000\",")
+                .append("\"valueDatetime\":null,\"valueText\":null,")
+                .append("\"person\":").append(patient("person", count)).append(",")
+                .append("\"encounter\":{\"uuid\":\"encounter\"},")
+                .append("\"concept\":").append(concept("question", count)).append(",");
+        if (coded) {
+            builder.append("\"valueNumeric\":null,\"valueCoded\":").append(concept("answer", count));
+        } else {
+            builder.append("\"valueNumeric\":12.5,\"valueCoded\":null");
+        }
+        return builder.append("}").toString();
+    }
+
+    private static String encounter(final int count) {
+        return "{\"uuid\":\"encounter\",\"voided\":false,\"formDataUuid\":null," +
+                "\"encounterDatetime\":\"2014-03-15T05:00:00.000+0000\"," +
+                "\"patient\":" + patient("patient", count) + "," +
+                "\"provider\":" + patient("provider", count) + "," +
+                "\"location\":{\"uuid\":\"location\",\"name\":\"Benchmark Location\",\"id\":1}," +
+                "\"encounterType\":{\"uuid\":\"encounter-type\",\"name\":\"Benchmark Encounter\"}}";
+    }
+
+    private static String dynamicCohortData(final int count) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"definition\":{\"uuid\":\"definition\",\"name\":\"Benchmark Query\"},\"members\":[");
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? "," : "").append(patient("member-" + i, 1));
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static String jsonPayload(final int count) {
+        StringBuilder builder = new StringBuilder("{\"patient\":{\"patient.uuid\":\"patient\"},\"observation\":{");
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? "," : "").append("\"").append(i).append("^QUESTION^99DCT\":\"")
+                    .append(i).append("^ANSWER^99DCT\"");
+        }
+        return builder.append("}}").toString();
+    }
+
+    private static String formData(final int count) {
+        return "{\"uuid\":\"form-data\",\"status\":\"incomplete\",\"discriminator\":\"json-encounter\"," +
+                "\"xmlPayload\":null,\"jsonPayload\":\"" + jsonPayload(count).replace("\"", "\\\"") + "\"," +
+                "\"template.uuid\":\"template\",\"patient.uuid\":\"patient\",\"user.uuid\":\"user\"," +
+                "\"formSaveTime\":\"2014-03-15T05:00:00.000+0000\"," +
+                "\"encounterDate\":\"2014-03-15T05:00:00.000+0000\"}";
+    }
+
+    private static String notification(final int count) {
+        StringBuilder payload = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            payload.append("Benchmark notification paragraph ").append(i).append(". ");
+        }
+        return "{\"uuid\":\"notification\",\"subject\":\"Benchmark\",\"dateCreated\":\"2014-03-15\"," +
+                "\"source\":\"benchmark\",\"status\":\"unread\",\"payload\":\"" + payload + "\"," +
+                "\"patient\":" + patient("patient", count) + "," +
+                "\"sender\":" + patient("sender", 1) + "," +
+                "\"receiver\":" + patient("receiver", 1) + "}";
+    }
+}
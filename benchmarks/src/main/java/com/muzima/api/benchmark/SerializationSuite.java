@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the serialization benchmarks with the gc profiler and write the results as json, so the throughput, the p99
+ * latency of the sampled times and the allocation rate can be compared release over release:
+ * <pre>
+ *     java -cp target/benchmarks.jar com.muzima.api.benchmark.SerializationSuite [results.json]
+ * </pre>
+ */
+public class SerializationSuite {
+
+    public static void main(final String[] args) throws Exception {
+        String result = args.length > 0 ? args[0] : "serialization-results.json";
+        Options options = new OptionsBuilder()
+                .include(DeserializationBenchmark.class.getSimpleName())
+                .include(SerializationBenchmark.class.getSimpleName())
+                .include(JsonUtilsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.muzima.api.context.Context;
+import com.muzima.api.context.ContextFactory;
+import com.muzima.api.model.Patient;
+import com.muzima.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the startup path of an application using the api: creating the context, opening a session, offline
+ * authentication and the first query against a seeded repository.
+ *
+ * The "cold" benchmarks discard the cached injector before every invocation, so they include creating the injector,
+ * registering the resources and opening the lucene repository. The "warm" benchmarks reuse the cached injector.
+ * Every benchmark runs with eager and lazy resource registration.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+    @Param({"1000"})
+    public int patientCount;
+
+    @Param({"10"})
+    public int observationsPerPatient;
+
+    @Param({"1"})
+    public int formDataPerPatient;
+
+    @Param({"false", "true"})
+    public String lazyRegistration;
+
+    private SyntheticRepository repository;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        ContextFactory.setProperty(Constants.RESOURCE_LAZY_REGISTRATION, lazyRegistration);
+        repository = new SyntheticRepository();
+        repository.seed(patientCount, observationsPerPatient, formDataPerPatient);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() {
+        repository.delete();
+    }
+
+    /**
+     * Cold benchmarks start without a cached injector, warm benchmarks with the injector of the previous invocation.
+     */
+    @State(Scope.Thread)
+    public static class ColdStart {
+
+        @Setup(Level.Invocation)
+        public void invalidate() {
+            ContextFactory.invalidate();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public Context createContext_cold(final ColdStart coldStart) throws Exception {
+        return ContextFactory.createContext();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Context createContext_warm() throws Exception {
+        return ContextFactory.createContext();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public Context authenticate_cold(final ColdStart coldStart) throws Exception {
+        return authenticate();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Context authenticate_warm() throws Exception {
+        return authenticate();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public List<Patient> firstQuery_cold(final ColdStart coldStart) throws Exception {
+        return query();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public List<Patient> query_warm() throws Exception {
+        return query();
+    }
+
+    private Context authenticate() throws Exception {
+        Context context = ContextFactory.createContext();
+        context.openSession();
+        try {
+            context.authenticate(SyntheticRepository.USERNAME, SyntheticRepository.PASSWORD,
+                    SyntheticRepository.SERVER, false);
+        } finally {
+            context.closeSession();
+        }
+        return context;
+    }
+
+    private List<Patient> query() throws Exception {
+        Context context = ContextFactory.createContext();
+        context.openSession();
+        try {
+            context.authenticate(SyntheticRepository.USERNAME, SyntheticRepository.PASSWORD,
+                    SyntheticRepository.SERVER, false);
+            return context.getPatientService().getAllPatients();
+        } finally {
+            context.closeSession();
+        }
+    }
+}
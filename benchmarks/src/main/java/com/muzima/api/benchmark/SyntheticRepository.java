@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.benchmark;
+
+import com.muzima.api.context.Context;
+import com.muzima.api.context.ContextFactory;
+import com.muzima.api.model.Concept;
+import com.muzima.api.model.ConceptName;
+import com.muzima.api.model.ConceptType;
+import com.muzima.api.model.Credential;
+import com.muzima.api.model.Encounter;
+import com.muzima.api.model.EncounterType;
+import com.muzima.api.model.FormData;
+import com.muzima.api.model.Location;
+import com.muzima.api.model.Observation;
+import com.muzima.api.model.Patient;
+import com.muzima.api.model.PatientIdentifier;
+import com.muzima.api.model.PatientIdentifierType;
+import com.muzima.api.model.Person;
+import com.muzima.api.model.PersonName;
+import com.muzima.api.model.Privilege;
+import com.muzima.api.model.Role;
+import com.muzima.api.model.User;
+import com.muzima.search.api.util.DigestUtil;
+import com.muzima.util.Constants;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local lucene repository filled with synthetic patients, observations, form data and a single user which can be
+ * authenticated offline. The repository is created in a temporary directory and the context factory is pointed to
+ * that directory.
+ */
+public class SyntheticRepository {
+
+    public static final String USERNAME = "benchmark";
+
+    public static final String PASSWORD = "Benchmark123";
+
+    public static final String SERVER = "http://localhost:8081/openmrs";
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private final File directory;
+
+    /**
+     * Create the repository directory and point the context factory to it.
+     *
+     * @throws IOException when the temporary directory can't be created.
+     */
+    public SyntheticRepository() throws IOException {
+        directory = File.createTempFile("muzima-benchmark", "");
+        if (!directory.delete() || !directory.mkdirs()) {
+            throw new IOException("Unable to create benchmark repository at: " + directory.getAbsolutePath());
+        }
+        ContextFactory.setProperty(Constants.LUCENE_DIRECTORY_PATH, directory.getAbsolutePath());
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Save the benchmark user and the synthetic data into the repository.
+     *
+     * @param patientCount             the number of patients.
+     * @param observationsPerPatient   the number of observations for each patient.
+     * @param formDataPerPatient       the number of form data for each patient.
+     * @throws Exception when saving the data failed.
+     */
+    public void seed(final int patientCount, final int observationsPerPatient,
+                     final int formDataPerPatient) throws Exception {
+        Context context = ContextFactory.createContext();
+        context.openSession();
+        try {
+            User user = createUser();
+            context.getUserService().saveUser(user);
+            context.getUserService().saveCredential(createCredential(user));
+
+            Location location = new Location();
+            location.setUuid(UUID.randomUUID().toString());
+            location.setName("Benchmark Location");
+            EncounterType encounterType = new EncounterType();
+            encounterType.setUuid(UUID.randomUUID().toString());
+            encounterType.setName("Benchmark Encounter");
+            ConceptType conceptType = new ConceptType();
+            conceptType.setUuid(UUID.randomUUID().toString());
+            conceptType.setName("Coded");
+            Concept question = createConcept(conceptType, "BENCHMARK QUESTION");
+            Concept answer = createConcept(conceptType, "BENCHMARK ANSWER");
+
+            List<Patient> patients = new ArrayList<Patient>();
+            List<Observation> observations = new ArrayList<Observation>();
+            for (int i = 0; i < patientCount; i++) {
+                Patient patient = createPatient(i);
+                patients.add(patient);
+
+                Encounter encounter = new Encounter();
+                encounter.setUuid(UUID.randomUUID().toString());
+                encounter.setPatient(patient);
+                encounter.setProvider(user.getPerson());
+                encounter.setLocation(location);
+                encounter.setEncounterType(encounterType);
+                encounter.setEncounterDatetime(new Date(System.currentTimeMillis() - i * DAY));
+                for (int j = 0; j < observationsPerPatient; j++) {
+                    Observation observation = new Observation();
+                    observation.setUuid(UUID.randomUUID().toString());
+                    observation.setPerson(patient);
+                    observation.setEncounter(encounter);
+                    observation.setConcept(question);
+                    observation.setValueCoded(answer);
+                    observation.setValueNumeric((double) j);
+                    observation.setObservationDatetime(encounter.getEncounterDatetime());
+                    observations.add(observation);
+                }
+
+                for (int j = 0; j < formDataPerPatient; j++) {
+                    FormData formData = new FormData();
+                    formData.setUuid(UUID.randomUUID().toString());
+                    formData.setStatus("incomplete");
+                    formData.setDiscriminator("json-encounter");
+                    formData.setPatientUuid(patient.getUuid());
+                    formData.setUserUuid(user.getUuid());
+                    formData.setTemplateUuid(UUID.randomUUID().toString());
+                    formData.setJsonPayload("{\"patient\":{\"patient.uuid\":\"" + patient.getUuid() + "\"}}");
+                    formData.setSaveTime(new Date());
+                    formData.setEncounterDate(encounter.getEncounterDatetime());
+                    context.getFormService().saveFormData(formData);
+                }
+            }
+            context.getPatientService().savePatients(patients);
+            context.getObservationService().saveObservations(observations);
+        } finally {
+            context.closeSession();
+        }
+    }
+
+    /**
+     * Delete the repository directory.
+     */
+    public void delete() {
+        delete(directory);
+    }
+
+    private static void delete(final File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static User createUser() {
+        Person person = new Person();
+        person.setUuid(UUID.randomUUID().toString());
+        person.setGender("F");
+        person.addName(createName("Benchmark", "User"));
+
+        Privilege privilege = new Privilege();
+        privilege.setUuid(UUID.randomUUID().toString());
+        privilege.setName("View Patients");
+        List<Privilege> privileges = new ArrayList<Privilege>();
+        privileges.add(privilege);
+
+        Role role = new Role();
+        role.setUuid(UUID.randomUUID().toString());
+        role.setName("Provider");
+        role.add(privilege);
+        List<Role> roles = new ArrayList<Role>();
+        roles.add(role);
+
+        User user = new User();
+        user.setUuid(UUID.randomUUID().toString());
+        user.setUsername(USERNAME);
+        user.setSystemId("1-8");
+        user.setPerson(person);
+        user.setPrivileges(privileges);
+        user.setRoles(roles);
+        return user;
+    }
+
+    private static Credential createCredential(final User user) throws IOException {
+        String salt = DigestUtil.getSHA1Checksum(user.getUuid());
+        Credential credential = new Credential();
+        credential.setUuid(UUID.randomUUID().toString());
+        credential.setUserUuid(user.getUuid());
+        credential.setUsername(user.getUsername());
+        credential.setSalt(salt);
+        credential.setPassword(DigestUtil.getSHA1Checksum(salt + ":" + PASSWORD));
+        return credential;
+    }
+
+    private static Concept createConcept(final ConceptType conceptType, final String name) {
+        ConceptName conceptName = new ConceptName();
+        conceptName.setUuid(UUID.randomUUID().toString());
+        conceptName.setName(name);
+        conceptName.setPreferred(true);
+        List<ConceptName> conceptNames = new ArrayList<ConceptName>();
+        conceptNames.add(conceptName);
+
+        Concept concept = new Concept();
+        concept.setUuid(UUID.randomUUID().toString());
+        concept.setConceptType(conceptType);
+        concept.setConceptNames(conceptNames);
+        return concept;
+    }
+
+    private static Patient createPatient(final int index) {
+        PatientIdentifierType identifierType = new PatientIdentifierType();
+        identifierType.setUuid("benchmark-identifier-type");
+        identifierType.setName("Benchmark Identifier");
+        PatientIdentifier identifier = new PatientIdentifier();
+        identifier.setUuid(UUID.randomUUID().toString());
+        identifier.setIdentifier(String.format("%06d-%d", index, index % 10));
+        identifier.setIdentifierType(identifierType);
+        identifier.setPreferred(true);
+
+        Patient patient = new Patient();
+        patient.setUuid(UUID.randomUUID().toString());
+        patient.setGender(index % 2 == 0 ? "F" : "M");
+        patient.setBirthdate(new Date(System.currentTimeMillis() - (index % 80 + 1) * 365 * DAY));
+        patient.addName(createName("Patient" + index, "Benchmark" + (index % 100)));
+        patient.addIdentifier(identifier);
+        return patient;
+    }
+
+    private static PersonName createName(final String givenName, final String familyName) {
+        PersonName personName = new PersonName();
+        personName.setUuid(UUID.randomUUID().toString());
+        personName.setGivenName(givenName);
+        personName.setFamilyName(familyName);
+        personName.setPreferred(true);
+        return personName;
+    }
+}
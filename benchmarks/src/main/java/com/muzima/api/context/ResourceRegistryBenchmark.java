@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare reading the resource descriptors from the json configuration document against reading them from the
+ * compiled registry. The benchmark lives in the context package because the registry methods are package private.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ResourceRegistryBenchmark {
+
+    private static final String CONFIGURATION_PATH = "/com/muzima/api/service/j2l/config.json";
+
+    private byte[] configuration;
+
+    private byte[] registry;
+
+    @Setup
+    public void setup() throws Exception {
+        ByteArrayOutputStream configurationStream = new ByteArrayOutputStream();
+        InputStream inputStream = ResourceRegistryBenchmark.class.getResourceAsStream(CONFIGURATION_PATH);
+        try {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                configurationStream.write(buffer, 0, read);
+            }
+        } finally {
+            inputStream.close();
+        }
+        configuration = configurationStream.toByteArray();
+
+        ByteArrayOutputStream registryStream = new ByteArrayOutputStream();
+        ResourceRegistry.write(ResourceRegistry.parse(new ByteArrayInputStream(configuration)), registryStream);
+        registry = registryStream.toByteArray();
+    }
+
+    @Benchmark
+    public List<ResourceDescriptor> parseConfiguration() throws Exception {
+        return ResourceRegistry.parse(new ByteArrayInputStream(configuration));
+    }
+
+    @Benchmark
+    public List<ResourceDescriptor> readCompiledRegistry() throws Exception {
+        return ResourceRegistry.read(new ByteArrayInputStream(registry));
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a model class for which the algorithm processor generates a streaming algorithm. The generated algorithm is
+ * named <code>com.muzima.api.model.algorithm.Generated&lt;Class&gt;Algorithm</code> and reads and writes the fields
+ * of the class, including the inherited ones, annotated with <code>{@link JsonField}</code>.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.TYPE})
+public @interface JsonDocument {
+}
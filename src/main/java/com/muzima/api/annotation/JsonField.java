@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Map a field of a <code>{@link JsonDocument}</code> class to a field of the json object. Supported field types are
+ * String, boolean, int, double and their wrappers, Date, other <code>{@link JsonDocument}</code> classes and lists
+ * of them. The generated algorithm uses the getter and setter of the field.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.FIELD})
+public @interface JsonField {
+
+    /**
+     * Name of the field in the json object.
+     *
+     * @return the json field name.
+     */
+    String value();
+
+    /**
+     * Whether a Date field is written as yyyy-MM-dd instead of the ISO-8601 date time.
+     *
+     * @return true when the field only holds the day.
+     */
+    boolean date() default false;
+
+    /**
+     * Name of the getter when it doesn't follow the bean naming of the field.
+     *
+     * @return the getter name, or empty for the bean getter.
+     */
+    String getter() default "";
+
+    /**
+     * Name of the setter when it doesn't follow the bean naming of the field.
+     *
+     * @return the setter name, or empty for the bean setter.
+     */
+    String setter() default "";
+}
@@ -8,20 +8,37 @@
 
 package com.muzima.api.config;
 
-import com.muzima.util.Constants;
-
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * TODO: move this to model because we need to persist it between use.
+ *
+ * The values are kept in an immutable <code>{@link ConfigurationSnapshot}</code> which is replaced on every change.
+ * Readers which need more than one value should capture a snapshot once and read the values from it.
  */
 public class Configuration {
 
-    private Map<String, String> registry;
+    private volatile ConfigurationSnapshot snapshot;
 
     public Configuration() {
-        registry = new HashMap<String, String>();
+        snapshot = new ConfigurationSnapshot(0, null, null, null, null);
+    }
+
+    /**
+     * Get the current immutable state of this configuration. Use the snapshot when more than one value is needed,
+     * the values in a snapshot are always consistent with each other.
+     *
+     * @return the current state of this configuration.
+     */
+    public ConfigurationSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the version of the current state of this configuration.
+     *
+     * @return the version of the current state of this configuration.
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
     }
 
     /**
@@ -31,10 +48,8 @@ public class Configuration {
      * @param password the password.
      * @param server   the server.
      */
-    public void configure(final String username, final String password, final String server) {
-        setUsername(username);
-        setPassword(password);
-        setServer(server);
+    public synchronized void configure(final String username, final String password, final String server) {
+        snapshot = snapshot.withCredentials(username, password, server);
     }
 
     /**
@@ -43,7 +58,7 @@ public class Configuration {
      * @return the base url of the openmrs server.
      */
     public String getServer() {
-        return registry.get(Constants.CONNECTION_SERVER);
+        return snapshot.getServer();
     }
 
     /**
@@ -51,8 +66,8 @@ public class Configuration {
      *
      * @param server the base url of the openmrs server.
      */
-    public void setServer(final String server) {
-        registry.put(Constants.CONNECTION_SERVER, server);
+    public synchronized void setServer(final String server) {
+        snapshot = snapshot.withServer(server);
     }
 
     /**
@@ -61,7 +76,7 @@ public class Configuration {
      * @return the username of the openmrs server.
      */
     public String getUsername() {
-        return registry.get(Constants.CONNECTION_USERNAME);
+        return snapshot.getUsername();
     }
 
     /**
@@ -69,8 +84,8 @@ public class Configuration {
      *
      * @param username the username of the openmrs server.
      */
-    public void setUsername(final String username) {
-        registry.put(Constants.CONNECTION_USERNAME, username);
+    public synchronized void setUsername(final String username) {
+        snapshot = snapshot.withCredentials(username, snapshot.getPassword(), snapshot.getServer());
     }
 
     /**
@@ -79,7 +94,7 @@ public class Configuration {
      * @return the password of the openmrs server.
      */
     public String getPassword() {
-        return registry.get(Constants.CONNECTION_PASSWORD);
+        return snapshot.getPassword();
     }
 
     /**
@@ -87,8 +102,8 @@ public class Configuration {
      *
      * @param password the password of the openmrs server.
      */
-    public void setPassword(final String password) {
-        registry.put(Constants.CONNECTION_PASSWORD, password);
+    public synchronized void setPassword(final String password) {
+        snapshot = snapshot.withCredentials(snapshot.getUsername(), password, snapshot.getServer());
     }
 
     /**
@@ -97,7 +112,7 @@ public class Configuration {
      * @return the preferred locale of the user.
      */
     public String getPreferredLocale() {
-        return registry.get(Constants.PREFERRED_LOCALE);
+        return snapshot.getPreferredLocale();
     }
 
     /**
@@ -105,7 +120,17 @@ public class Configuration {
      *
      * @param preferredLocale the preferred locale of the user.
      */
-    public void setPreferredLocale(final String preferredLocale) {
-        registry.put(Constants.PREFERRED_LOCALE, preferredLocale);
+    public synchronized void setPreferredLocale(final String preferredLocale) {
+        snapshot = snapshot.withPreferredLocale(preferredLocale);
+    }
+
+    /**
+     * Get the value of the basic authorization header for the current username and password. The value is only
+     * computed again when the username or password changed.
+     *
+     * @return the value of the basic authorization header.
+     */
+    public String getAuthorizationHeader() {
+        return snapshot.getAuthorizationHeader();
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.config;
+
+import com.muzima.search.api.util.StringUtil;
+import org.apache.commons.codec.binary.Base64;
+
+/**
+ * Immutable state of the <code>{@link Configuration}</code>. Changing the configuration creates a new snapshot with
+ * a higher version, so a snapshot can be shared between threads and always contains consistent values.
+ */
+public final class ConfigurationSnapshot {
+
+    private final long version;
+
+    private final String server;
+
+    private final String username;
+
+    private final String password;
+
+    private final String preferredLocale;
+
+    private final String authorizationHeader;
+
+    ConfigurationSnapshot(final long version, final String server, final String username, final String password,
+                          final String preferredLocale) {
+        this(version, server, username, password, preferredLocale, createAuthorizationHeader(username, password));
+    }
+
+    private ConfigurationSnapshot(final long version, final String server, final String username,
+                                  final String password, final String preferredLocale,
+                                  final String authorizationHeader) {
+        this.version = version;
+        this.server = server;
+        this.username = username;
+        this.password = password;
+        this.preferredLocale = preferredLocale;
+        this.authorizationHeader = authorizationHeader;
+    }
+
+    private static String createAuthorizationHeader(final String username, final String password) {
+        String userPassword = username + ":" + password;
+        return "Basic " + new String(Base64.encodeBase64(userPassword.getBytes()));
+    }
+
+    /**
+     * Create a copy of this snapshot with different credentials and server.
+     *
+     * @param username the username.
+     * @param password the password.
+     * @param server   the server.
+     * @return the new snapshot.
+     */
+    ConfigurationSnapshot withCredentials(final String username, final String password, final String server) {
+        if (StringUtil.equals(this.username, username) && StringUtil.equals(this.password, password)) {
+            return new ConfigurationSnapshot(version + 1, server, username, password, preferredLocale,
+                authorizationHeader);
+        }
+        return new ConfigurationSnapshot(version + 1, server, username, password, preferredLocale);
+    }
+
+    /**
+     * Create a copy of this snapshot with different server.
+     *
+     * @param server the server.
+     * @return the new snapshot.
+     */
+    ConfigurationSnapshot withServer(final String server) {
+        return new ConfigurationSnapshot(version + 1, server, username, password, preferredLocale,
+                authorizationHeader);
+    }
+
+    /**
+     * Create a copy of this snapshot with different preferred locale.
+     *
+     * @param preferredLocale the preferred locale.
+     * @return the new snapshot.
+     */
+    ConfigurationSnapshot withPreferredLocale(final String preferredLocale) {
+        return new ConfigurationSnapshot(version + 1, server, username, password, preferredLocale,
+                authorizationHeader);
+    }
+
+    /**
+     * Get the version of this snapshot. Every change to the configuration increases the version.
+     *
+     * @return the version of this snapshot.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the base url of the openmrs server.
+     *
+     * @return the base url of the openmrs server.
+     */
+    public String getServer() {
+        return server;
+    }
+
+    /**
+     * Get the username of the openmrs server.
+     *
+     * @return the username of the openmrs server.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Get the password of the openmrs server.
+     *
+     * @return the password of the openmrs server.
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Get the preferred locale of the user.
+     *
+     * @return the preferred locale of the user.
+     */
+    public String getPreferredLocale() {
+        return preferredLocale;
+    }
+
+    /**
+     * Get the value of the basic authorization header for the username and password.
+     *
+     * @return the value of the basic authorization header.
+     */
+    public String getAuthorizationHeader() {
+        return authorizationHeader;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.config;
+
+import com.google.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Paged download settings of the resources. A resource with a page size downloads its results in pages of that size
+ * using the <code>startIndex</code> and <code>limit</code> parameters of the REST call, fetching up to concurrency
+ * pages at the same time. Resources without a page size are downloaded with a single REST call.
+ *
+ * The settings are read from the <code>download.pageSize</code> and <code>download.concurrency</code> nodes of the
+ * resource configuration and can be changed at any time, the next download of the resource uses the new settings.
+ *
+ * Downloads by a list of patient or concept uuids are split into search calls whose uuid parameter stays under a
+ * maximum length, running up to the request concurrency search calls at the same time.
+ */
+@Singleton
+public class DownloadConfiguration {
+
+    /**
+     * Default maximum length of the url encoded uuid list sent in a single search call.
+     */
+    public static final int DEFAULT_MAX_UUID_PARAMETER_LENGTH = 4000;
+
+    /**
+     * Default maximum number of search calls of a multi-uuid download running at the same time.
+     */
+    public static final int DEFAULT_REQUEST_CONCURRENCY = 4;
+
+    private final Map<String, Settings> settings = new ConcurrentHashMap<String, Settings>();
+
+    private volatile int maxUuidParameterLength = DEFAULT_MAX_UUID_PARAMETER_LENGTH;
+
+    private volatile int requestConcurrency = DEFAULT_REQUEST_CONCURRENCY;
+
+    /**
+     * Set the paged download settings of the resource.
+     *
+     * @param resource    the name of the resource.
+     * @param pageSize    the number of results in a single page, or 0 to download the resource with a single call.
+     * @param concurrency the maximum number of pages downloaded at the same time.
+     */
+    public void configure(final String resource, final int pageSize, final int concurrency) {
+        if (pageSize < 0 || concurrency < 1) {
+            throw new IllegalArgumentException("Invalid download settings for resource " + resource
+                    + ": page size " + pageSize + ", concurrency " + concurrency);
+        }
+        if (pageSize == 0) {
+            settings.remove(resource);
+        } else {
+            settings.put(resource, new Settings(pageSize, concurrency));
+        }
+    }
+
+    /**
+     * Get the number of results in a single page of the resource.
+     *
+     * @param resource the name of the resource.
+     * @return the page size, or 0 when the resource is downloaded with a single call.
+     */
+    public int getPageSize(final String resource) {
+        Settings resourceSettings = settings.get(resource);
+        return resourceSettings == null ? 0 : resourceSettings.pageSize;
+    }
+
+    /**
+     * Get the maximum number of pages of the resource downloaded at the same time.
+     *
+     * @param resource the name of the resource.
+     * @return the download concurrency, 1 when the resource is downloaded with a single call.
+     */
+    public int getConcurrency(final String resource) {
+        Settings resourceSettings = settings.get(resource);
+        return resourceSettings == null ? 1 : resourceSettings.concurrency;
+    }
+
+    /**
+     * Get the maximum length of the url encoded uuid list sent in a single search call. Downloads by a longer list of
+     * patient or concept uuids are split into several search calls.
+     *
+     * @return the maximum length of the uuid parameter.
+     */
+    public int getMaxUuidParameterLength() {
+        return maxUuidParameterLength;
+    }
+
+    /**
+     * Set the maximum length of the url encoded uuid list sent in a single search call.
+     *
+     * @param maxUuidParameterLength the maximum length of the uuid parameter.
+     */
+    public void setMaxUuidParameterLength(final int maxUuidParameterLength) {
+        if (maxUuidParameterLength < 1) {
+            throw new IllegalArgumentException("Invalid maximum uuid parameter length: " + maxUuidParameterLength);
+        }
+        this.maxUuidParameterLength = maxUuidParameterLength;
+    }
+
+    /**
+     * Get the maximum number of search calls of a multi-uuid download running at the same time.
+     *
+     * @return the request concurrency.
+     */
+    public int getRequestConcurrency() {
+        return requestConcurrency;
+    }
+
+    /**
+     * Set the maximum number of search calls of a multi-uuid download running at the same time.
+     *
+     * @param requestConcurrency the request concurrency, 1 to run the search calls one after the other.
+     */
+    public void setRequestConcurrency(final int requestConcurrency) {
+        if (requestConcurrency < 1) {
+            throw new IllegalArgumentException("Invalid request concurrency: " + requestConcurrency);
+        }
+        this.requestConcurrency = requestConcurrency;
+    }
+
+    private static final class Settings {
+
+        private final int pageSize;
+
+        private final int concurrency;
+
+        private Settings(final int pageSize, final int concurrency) {
+            this.pageSize = pageSize;
+            this.concurrency = concurrency;
+        }
+    }
+}
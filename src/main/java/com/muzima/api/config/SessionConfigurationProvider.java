@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.config;
+
+import com.google.inject.Provider;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Provider of the configuration of the session on the current thread. All contexts share one injector, but every
+ * session keeps its own configuration, so the server and credentials of one session are never used by the requests
+ * of another session. Threads without an open session, and sessions which didn't authenticate yet, get the
+ * configuration of the last authenticated session, or the default configuration of the injector when no session
+ * authenticated yet.
+ *
+ * The configuration is looked up on every call, inject a <code>Provider&lt;Configuration&gt;</code> in shared objects
+ * and call <code>get</code> when the configuration is needed. Tasks running on other threads on behalf of the session
+ * must be wrapped with <code>wrap</code>.
+ */
+public class SessionConfigurationProvider implements Provider<Configuration> {
+
+    private static final ThreadLocal<Configuration> sessionConfiguration = new ThreadLocal<Configuration>();
+
+    private final Configuration defaultConfiguration;
+
+    private volatile Configuration authenticatedConfiguration;
+
+    public SessionConfigurationProvider(final Configuration defaultConfiguration) {
+        this.defaultConfiguration = defaultConfiguration;
+    }
+
+    /**
+     * Get the configuration of the session on the current thread. When the current thread doesn't have an
+     * authenticated session, get the configuration of the last authenticated session or the default configuration.
+     *
+     * @return the configuration of the current thread.
+     */
+    @Override
+    public Configuration get() {
+        Configuration configuration = sessionConfiguration.get();
+        if (configuration == null) {
+            configuration = authenticatedConfiguration;
+        }
+        if (configuration == null) {
+            return defaultConfiguration;
+        }
+        return configuration;
+    }
+
+    /**
+     * Use the configuration of the authenticated session for the threads without an authenticated session.
+     *
+     * @param configuration the configuration of the authenticated session.
+     */
+    public void setAuthenticatedConfiguration(final Configuration configuration) {
+        authenticatedConfiguration = configuration;
+    }
+
+    /**
+     * Use the configuration of the session for all requests of the current thread.
+     *
+     * @param configuration the configuration of the session, or null when the session didn't authenticate yet.
+     */
+    public static void attach(final Configuration configuration) {
+        if (configuration == null) {
+            sessionConfiguration.remove();
+        } else {
+            sessionConfiguration.set(configuration);
+        }
+    }
+
+    /**
+     * Stop using the configuration of the session in the current thread.
+     */
+    public static void detach() {
+        sessionConfiguration.remove();
+    }
+
+    /**
+     * Wrap the task, so it runs with the configuration of the current thread's session on any thread.
+     *
+     * @param task the task running on behalf of the current thread's session.
+     * @return the task running with the configuration of the current thread's session.
+     */
+    public static <V> Callable<V> wrap(final Callable<V> task) {
+        final Configuration configuration = sessionConfiguration.get();
+        if (configuration == null) {
+            return task;
+        }
+        return new Callable<V>() {
+            @Override
+            public V call() throws Exception {
+                Configuration previous = sessionConfiguration.get();
+                sessionConfiguration.set(configuration);
+                try {
+                    return task.call();
+                } finally {
+                    if (previous == null) {
+                        sessionConfiguration.remove();
+                    } else {
+                        sessionConfiguration.set(previous);
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.config;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.muzima.search.api.internal.http.CustomKeyStore;
+
+import javax.net.ssl.HandshakeCompletedEvent;
+import javax.net.ssl.HandshakeCompletedListener;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hold the ssl socket factory and hostname verifier created from the custom key store. The key store is only read
+ * once, call <code>reload</code> after the key store files changed. Sharing the socket factory between connections
+ * allows the ssl sessions to be resumed instead of performing full handshake for every connection.
+ */
+@Singleton
+public class SslConfiguration {
+
+    private static final HostnameVerifier hostnameVerifier = new HostnameVerifier() {
+        @Override
+        public boolean verify(String hostname, SSLSession session) {
+            return (hostname.endsWith("ampath.or.ke"));
+        }
+    };
+
+    @Inject
+    private CustomKeyStore customKeyStore;
+
+    private volatile boolean loaded;
+
+    private volatile SSLSocketFactory socketFactory;
+
+    private final AtomicLong handshakeCount = new AtomicLong();
+
+    private final AtomicLong handshakeTime = new AtomicLong();
+
+    /**
+     * Configure the https connection to use the socket factory and hostname verifier of the custom key store. The
+     * connection is left untouched when there's no custom key store.
+     *
+     * @param connection the https connection.
+     */
+    public void configure(final HttpsURLConnection connection) {
+        SSLSocketFactory sslSocketFactory = getSocketFactory();
+        if (sslSocketFactory != null) {
+            connection.setSSLSocketFactory(sslSocketFactory);
+            connection.setHostnameVerifier(hostnameVerifier);
+        }
+    }
+
+    /**
+     * Discard the cached socket factory. The next connection will read the key store again.
+     */
+    public synchronized void reload() {
+        socketFactory = null;
+        loaded = false;
+    }
+
+    /**
+     * Get the number of completed ssl handshakes on connections created by the cached socket factory.
+     *
+     * @return the number of completed ssl handshakes.
+     */
+    public long getHandshakeCount() {
+        return handshakeCount.get();
+    }
+
+    /**
+     * Get the total time in milliseconds between socket creation and handshake completion of the completed ssl
+     * handshakes.
+     *
+     * @return the total handshake time in milliseconds.
+     */
+    public long getHandshakeTime() {
+        return handshakeTime.get();
+    }
+
+    private SSLSocketFactory getSocketFactory() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    SSLSocketFactory sslSocketFactory = null;
+                    if (customKeyStore != null) {
+                        SSLContext sslContext = customKeyStore.createContext();
+                        if (sslContext != null) {
+                            sslSocketFactory = new MeteredSocketFactory(sslContext.getSocketFactory());
+                        }
+                    }
+                    socketFactory = sslSocketFactory;
+                    loaded = true;
+                }
+            }
+        }
+        return socketFactory;
+    }
+
+    /**
+     * Socket factory recording the handshakes of the ssl sockets created by the wrapped socket factory.
+     */
+    private class MeteredSocketFactory extends SSLSocketFactory {
+
+        private final SSLSocketFactory delegate;
+
+        private MeteredSocketFactory(final SSLSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        private Socket meter(final Socket socket) {
+            if (socket instanceof SSLSocket) {
+                final long createdTime = System.currentTimeMillis();
+                ((SSLSocket) socket).addHandshakeCompletedListener(new HandshakeCompletedListener() {
+                    @Override
+                    public void handshakeCompleted(final HandshakeCompletedEvent event) {
+                        handshakeCount.incrementAndGet();
+                        handshakeTime.addAndGet(System.currentTimeMillis() - createdTime);
+                    }
+                });
+            }
+            return socket;
+        }
+
+        @Override
+        public String[] getDefaultCipherSuites() {
+            return delegate.getDefaultCipherSuites();
+        }
+
+        @Override
+        public String[] getSupportedCipherSuites() {
+            return delegate.getSupportedCipherSuites();
+        }
+
+        @Override
+        public Socket createSocket() throws IOException {
+            return meter(delegate.createSocket());
+        }
+
+        @Override
+        public Socket createSocket(final Socket socket, final String host, final int port,
+                                   final boolean autoClose) throws IOException {
+            return meter(delegate.createSocket(socket, host, port, autoClose));
+        }
+
+        @Override
+        public Socket createSocket(final String host, final int port) throws IOException {
+            return meter(delegate.createSocket(host, port));
+        }
+
+        @Override
+        public Socket createSocket(final String host, final int port, final InetAddress localHost,
+                                   final int localPort) throws IOException {
+            return meter(delegate.createSocket(host, port, localHost, localPort));
+        }
+
+        @Override
+        public Socket createSocket(final InetAddress host, final int port) throws IOException {
+            return meter(delegate.createSocket(host, port));
+        }
+
+        @Override
+        public Socket createSocket(final InetAddress address, final int port, final InetAddress localAddress,
+                                   final int localPort) throws IOException {
+            return meter(delegate.createSocket(address, port, localAddress, localPort));
+        }
+    }
+}
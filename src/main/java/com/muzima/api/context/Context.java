@@ -9,17 +9,24 @@
 package com.muzima.api.context;
 
 import com.google.inject.Injector;
-import com.jayway.jsonpath.JsonPath;
 import com.muzima.api.config.Configuration;
+import com.muzima.api.config.DownloadConfiguration;
+import com.muzima.api.config.SessionConfigurationProvider;
+import com.muzima.api.dao.ObservationDao;
 import com.muzima.api.model.User;
+import com.muzima.api.model.algorithm.BaseOpenmrsAlgorithm;
+import com.muzima.api.model.algorithm.CompactDocumentAlgorithm;
 import com.muzima.api.service.CohortService;
+import com.muzima.api.service.ConceptService;
 import com.muzima.api.service.EncounterService;
 import com.muzima.api.service.FormService;
 import com.muzima.api.service.LastSyncTimeService;
 import com.muzima.api.service.LocationService;
 import com.muzima.api.service.MuzimaInterface;
+import com.muzima.api.service.NotificationService;
 import com.muzima.api.service.ObservationService;
 import com.muzima.api.service.PatientService;
+import com.muzima.api.service.ProviderService;
 import com.muzima.api.service.SetupConfigurationService;
 import com.muzima.api.service.UserService;
 import com.muzima.search.api.context.ServiceContext;
@@ -29,18 +36,17 @@ import com.muzima.search.api.model.resolver.Resolver;
 import com.muzima.search.api.model.serialization.Algorithm;
 import com.muzima.search.api.resource.ObjectResource;
 import com.muzima.search.api.resource.Resource;
-import com.muzima.search.api.resource.ResourceConstants;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
 import org.apache.lucene.queryParser.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -49,12 +55,19 @@ import java.util.Map;
  */
 public class Context {
 
+    private static final Logger logger = LoggerFactory.getLogger(Context.class.getSimpleName());
+
+    private static final Class[] serviceClasses = new Class[]{
+            CohortService.class, ConceptService.class, EncounterService.class, FormService.class,
+            LastSyncTimeService.class, LocationService.class, NotificationService.class, ObservationService.class,
+            PatientService.class, ProviderService.class, SetupConfigurationService.class, UserService.class
+    };
+
     private static final ThreadLocal<UserContext> userContextHolder = new ThreadLocal<UserContext>();
     private Injector injector;
 
     Context(final Injector injector) throws Exception {
         this.injector = injector;
-        initService();
         initConfiguration();
     }
 
@@ -63,26 +76,80 @@ public class Context {
      * look for the configuration document in the following location:
      * * Stream object in the properties with key: Constants.RESOURCE_CONFIGURATION_STRING
      * * File object in the properties with key: Constants.RESOURCE_CONFIGURATION_STRING
+     * * Compiled registry in classpath next to the path defined in the properties with key:
+     * Constants.RESOURCE_CONFIGURATION_PATH
      * * File object in classpath with path defined in the properties with key: Constants.RESOURCE_CONFIGURATION_PATH
      * * File object in filesystem with path defined in the properties with key: Constants.RESOURCE_CONFIGURATION_PATH
      *
+     * When the property with key Constants.RESOURCE_LAZY_REGISTRATION is true, only placeholders are registered and
+     * each resource is created on first use. The paged download settings of the resources are passed to the
+     * download configuration.
+     *
+     * @param injector the injector holding the service context where the resources will be registered.
      * @throws Exception when the service can't find the input stream.
      */
-    private void initService() throws Exception {
-        InputStream inputStream = null;
+    static void initService(final Injector injector) throws Exception {
         ServiceContext serviceContext = injector.getInstance(ServiceContext.class);
+        DownloadConfiguration downloadConfiguration = injector.getInstance(DownloadConfiguration.class);
+        boolean lazyRegistration = Boolean.valueOf(ContextFactory.getProperty(Constants.RESOURCE_LAZY_REGISTRATION));
+        for (ResourceDescriptor descriptor : readDescriptors()) {
+            downloadConfiguration.configure(descriptor.getName(),
+                    descriptor.getDownloadPageSize(), descriptor.getDownloadConcurrency());
+            Resource resource;
+            if (lazyRegistration) {
+                resource = LazyResource.create(descriptor, injector);
+            } else {
+                resource = createResource(descriptor, injector);
+            }
+            serviceContext.registerResource(descriptor.getName(), resource);
+        }
+    }
+
+    /**
+     * Warm up the injector before the first request. All services and their data access objects are created, and
+     * the lucene repository is opened by counting the patients, observations and form data. With lazy registration,
+     * this also creates the resources of these objects. Failures are logged and ignored, they don't prevent the
+     * creation of the context.
+     *
+     * @param injector the injector holding the services.
+     */
+    static void warmUp(final Injector injector) {
+        try {
+            for (Class serviceClass : serviceClasses) {
+                injector.getInstance(serviceClass);
+            }
+            injector.getInstance(PatientService.class).countAllPatients();
+            injector.getInstance(ObservationDao.class).countAll();
+            injector.getInstance(FormService.class).countAllFormData();
+        } catch (Exception e) {
+            // the warm up is only an optimization, the services are created again on first use.
+            logger.warn("Unable to warm up the services and the lucene repository.", e);
+        }
+    }
+
+    /**
+     * Internal method to read the resource descriptors from the compiled registry or the configuration document.
+     *
+     * @return the resource descriptors.
+     * @throws Exception when the service can't find the input stream or fail to read it.
+     */
+    private static List<ResourceDescriptor> readDescriptors() throws Exception {
         String configurationString = ContextFactory.getProperty(Constants.RESOURCE_CONFIGURATION_STRING);
         if (!StringUtil.isEmpty(configurationString)) {
-            inputStream = new ByteArrayInputStream(configurationString.getBytes());
+            return ResourceRegistry.parse(new ByteArrayInputStream(configurationString.getBytes()));
         }
 
-        if (inputStream == null) {
-            String configurationPath = ContextFactory.getProperty(Constants.RESOURCE_CONFIGURATION_PATH);
-            if (!StringUtil.isEmpty(configurationPath)) {
+        InputStream inputStream = null;
+        boolean compiled = false;
+        String configurationPath = ContextFactory.getProperty(Constants.RESOURCE_CONFIGURATION_PATH);
+        if (!StringUtil.isEmpty(configurationPath)) {
+            inputStream = Context.class.getResourceAsStream(ResourceRegistry.getCompiledPath(configurationPath));
+            compiled = (inputStream != null);
+            if (inputStream == null) {
                 inputStream = Context.class.getResourceAsStream(configurationPath);
-                if (inputStream == null) {
-                    inputStream = new FileInputStream(new File(configurationPath));
-                }
+            }
+            if (inputStream == null) {
+                inputStream = new FileInputStream(new File(configurationPath));
             }
         }
 
@@ -93,91 +160,62 @@ public class Context {
                             "Constants.RESOURCE_CONFIGURATION_PATH property in the ContextFactory."
             );
         }
-        registerResources(inputStream, serviceContext);
-    }
-
-    /**
-     * Internal method to register resource configurations inside the input stream.
-     *
-     * @param inputStream the configuration's input stream.
-     * @throws IOException when the parser fail to read the configuration file
-     */
-    private void registerResources(final InputStream inputStream, final ServiceContext serviceContext) throws Exception {
-        List<Object> configurations = JsonPath.read(inputStream, "$['configurations']");
-        for (Object configuration : configurations) {
-            Resource resource = createResource(String.valueOf(configuration));
-            serviceContext.registerResource(resource.getName(), resource);
+        try {
+            if (compiled) {
+                return ResourceRegistry.read(inputStream);
+            }
+            return ResourceRegistry.parse(inputStream);
+        } finally {
+            inputStream.close();
         }
     }
 
     /**
-     * Internal method to convert configuration string into the resource object.
+     * Internal method to convert resource descriptor into the resource object.
      *
-     * @param configuration the configuration.
+     * @param descriptor the resource descriptor.
+     * @param injector   the injector used to create the searchable, algorithm and resolver.
      * @return the resource object
-     * @throws IOException when the parser fail to read the configuration file
+     * @throws Exception when the searchable, algorithm or resolver class can't be created.
      */
-    private Resource createResource(final String configuration) throws Exception {
-
-        String name = JsonPath.read(configuration, ResourceConstants.RESOURCE_NAME);
-        String root = JsonPath.read(configuration, ResourceConstants.ROOT_NODE);
-        if (StringUtil.isEmpty(root)) {
-            throw new ServiceException("Unable to create resource because of missing root node.");
-        }
-
-        String searchableName = JsonPath.read(configuration, ResourceConstants.SEARCHABLE_CLASS);
-        if (StringUtil.isEmpty(root)) {
-            throw new ServiceException("Unable to create resource because of missing searchable node.");
-        }
-        Class searchableClass = Class.forName(searchableName);
-        Searchable searchable = (Searchable) getInjector().getInstance(searchableClass);
-
-        String algorithmName = JsonPath.read(configuration, ResourceConstants.ALGORITHM_CLASS);
-        if (StringUtil.isEmpty(root)) {
-            throw new ServiceException("Unable to create resource because of missing algorithm node.");
+    static Resource createResource(final ResourceDescriptor descriptor, final Injector injector)
+            throws Exception {
+        Class searchableClass = Class.forName(descriptor.getSearchableClass());
+        Searchable searchable = (Searchable) injector.getInstance(searchableClass);
+
+        Class algorithmClass = Class.forName(descriptor.getAlgorithmClass());
+        Algorithm algorithm = (Algorithm) injector.getInstance(algorithmClass);
+        if (ResourceDescriptor.COMPACT_ENCODING.equals(descriptor.getEncoding())) {
+            if (!(algorithm instanceof BaseOpenmrsAlgorithm)) {
+                throw new ServiceException("Unable to use the compact encoding with algorithm: " + algorithmClass);
+            }
+            algorithm = new CompactDocumentAlgorithm(
+                    (BaseOpenmrsAlgorithm) algorithm, descriptor.getSearchableFields().values());
         }
-        Class algorithmClass = Class.forName(algorithmName);
-        Algorithm algorithm = (Algorithm) getInjector().getInstance(algorithmClass);
 
-        String resolverName = JsonPath.read(configuration, ResourceConstants.RESOLVER_CLASS);
-        if (StringUtil.isEmpty(root)) {
-            throw new ServiceException("Unable to create resource because of missing resolver node.");
-        }
-        Class resolverClass = Class.forName(resolverName);
-        Resolver resolver = (Resolver) getInjector().getInstance(resolverClass);
+        Class resolverClass = Class.forName(descriptor.getResolverClass());
+        Resolver resolver = (Resolver) injector.getInstance(resolverClass);
 
-        List<String> uniqueFields = new ArrayList<String>();
-        String uniqueField = JsonPath.read(configuration, ResourceConstants.UNIQUE_FIELD);
-        if (uniqueField != null) {
-            uniqueFields = Arrays.asList(StringUtil.split(uniqueField, ","));
-        }
-        Resource resource = new ObjectResource(name, root, searchable.getClass(), algorithm, resolver);
-        Object searchableFields = JsonPath.read(configuration, ResourceConstants.SEARCHABLE_FIELD);
-        if (searchableFields instanceof Map) {
-            Map map = (Map) searchableFields;
-            for (Object fieldName : map.keySet()) {
-                Boolean unique = Boolean.FALSE;
-                if (uniqueFields.contains(String.valueOf(fieldName))) {
-                    unique = Boolean.TRUE;
-                }
-                String expression = String.valueOf(map.get(fieldName));
-                resource.addFieldDefinition(String.valueOf(fieldName), expression, unique);
+        Resource resource = new ObjectResource(
+                descriptor.getName(), descriptor.getRoot(), searchable.getClass(), algorithm, resolver);
+        for (Map.Entry<String, String> entry : descriptor.getSearchableFields().entrySet()) {
+            Boolean unique = Boolean.FALSE;
+            if (descriptor.getUniqueFields().contains(entry.getKey())) {
+                unique = Boolean.TRUE;
             }
+            resource.addFieldDefinition(entry.getKey(), entry.getValue(), unique);
         }
         return resource;
     }
 
     /**
-     * Initialize the OpenMRS configuration which will be used in the current thread.
-     *
-     * @throws IOException when the injector which will be used to hold the configuration is not ready.
+     * Initialize the OpenMRS configuration which will be used in the current thread. The configuration belongs to the
+     * session of the current thread, contexts sharing the injector never share a configuration. Until the session
+     * authenticates, the configuration of the last authenticated session is used.
      */
-    private void initConfiguration() throws IOException {
+    private void initConfiguration() {
         if (getUserContext() != null) {
-            Configuration savedConfiguration = getUserContext().getConfiguration();
-            Configuration configuration = getInjector().getInstance(Configuration.class);
-            configuration.configure(
-                    savedConfiguration.getUsername(), savedConfiguration.getPassword(), savedConfiguration.getServer());
+            SessionConfigurationProvider.attach(getUserContext().getConfiguration());
         }
     }
 
@@ -187,10 +225,12 @@ public class Context {
 
     private void setUserContext(final UserContext userContext) {
         userContextHolder.set(userContext);
+        SessionConfigurationProvider.attach(userContext.getConfiguration());
     }
 
     private void removeUserContext() {
         userContextHolder.remove();
+        SessionConfigurationProvider.detach();
     }
 
     /**
@@ -233,9 +273,16 @@ public class Context {
     }
 
     private void setUpConfiguration(String username, String password, String server) throws IOException {
-        Configuration configuration = getInjector().getInstance(Configuration.class);
+        if (getUserContext() == null)
+            throw new IOException("UserContext is not ready. You probably missed the openSession() call?");
+        Configuration configuration = getUserContext().getConfiguration();
+        if (configuration == null) {
+            configuration = new Configuration();
+            getUserContext().setConfiguration(configuration);
+        }
         configuration.configure(username, password, server);
-        getUserContext().setConfiguration(configuration);
+        SessionConfigurationProvider.attach(configuration);
+        getInjector().getInstance(SessionConfigurationProvider.class).setAuthenticatedConfiguration(configuration);
     }
 
     /**
@@ -273,6 +320,18 @@ public class Context {
         return getUserContext().isAuthenticated();
     }
 
+    /**
+     * Check whether the user of the current thread is authenticated and have at least one of the privileges. This
+     * check doesn't need a context object and is cheap enough to run before every service call.
+     *
+     * @param privileges the privileges allowed to perform the operation.
+     * @return true when the current thread have authenticated user with at least one of the privileges.
+     */
+    public static boolean isAuthorized(final String[] privileges) {
+        UserContext userContext = userContextHolder.get();
+        return userContext != null && userContext.hasAnyPrivilege(privileges);
+    }
+
     private Injector getInjector() throws IOException {
         if (injector == null)
             throw new IOException("Guice is not properly started. We need Guice to wire up the API.");
@@ -11,6 +11,7 @@ package com.muzima.api.context;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Module;
+import com.google.inject.util.Modules;
 import com.muzima.api.module.MuzimaModule;
 import com.muzima.api.module.SslModule;
 import com.muzima.search.api.module.SearchModule;
@@ -31,6 +32,10 @@ public class ContextFactory {
 
     private static final List<Module> modules = new ArrayList<Module>();
 
+    private static Injector injector;
+
+    private static String injectorKey;
+
     static {
         // override this property to match the location of your resource configurations.
         String resourcePath = "/com/muzima/api/service/j2l/config.json";
@@ -43,6 +48,10 @@ public class ContextFactory {
         parameters.put(Constants.LUCENE_DIRECTORY_PATH, lucenePath.toString());
         parameters.put(Constants.LUCENE_DEFAULT_FIELD, "uuid");
         parameters.put(Constants.LUCENE_USE_ENCRYPTION, true);
+        // override this property to create each resource on first use instead of when the context is created.
+        parameters.put(Constants.RESOURCE_LAZY_REGISTRATION, false);
+        // override this property to create the services and open the repository when the context is created.
+        parameters.put(Constants.CONTEXT_WARM_UP, false);
     }
 
     /**
@@ -51,8 +60,11 @@ public class ContextFactory {
      * @param property      the property name.
      * @param propertyValue the property value.
      */
-    public static void setProperty(final String property, final String propertyValue) {
-        parameters.put(property, propertyValue);
+    public static synchronized void setProperty(final String property, final String propertyValue) {
+        Object previousValue = parameters.put(property, propertyValue);
+        if (!StringUtil.equals(String.valueOf(previousValue), String.valueOf(propertyValue))) {
+            invalidate();
+        }
     }
 
     /**
@@ -76,7 +88,7 @@ public class ContextFactory {
      *
      * @return copy of the properties with the values from the context's properties as the default.
      */
-    public static Map<String, Object> getProperties() {
+    public static synchronized Map<String, Object> getProperties() {
         return new HashMap<String, Object>(parameters);
     }
 
@@ -86,8 +98,18 @@ public class ContextFactory {
      *
      * @param module the module to be registered.
      */
-    public static void registerModule(final Module module) {
+    public static synchronized void registerModule(final Module module) {
         modules.add(module);
+        invalidate();
+    }
+
+    /**
+     * Discard the cached injector and resource registry. The next call to <code>createContext</code> will rebuild
+     * them from the current properties and registered modules.
+     */
+    public static synchronized void invalidate() {
+        injector = null;
+        injectorKey = null;
     }
 
     /**
@@ -96,18 +118,58 @@ public class ContextFactory {
      * * Constants.LUCENE_DIRECTORY_PATH
      * * Constants.LUCENE_DEFAULT_FIELD
      * * Constants.RESOURCE_CONFIGURATION_PATH
+     * * Constants.RESOURCE_LAZY_REGISTRATION
+     *
+     * The injector and the registered resources are shared between all contexts created with the same properties.
+     * Each call only creates a lightweight context over the shared injector.
      *
      * @return a fresh context.
      * @throws IOException when creating context failed.
      */
     public static Context createContext() throws Exception {
-        MuzimaModule muzimaModule = new MuzimaModule();
-        muzimaModule.setRepositoryPath(getProperty(Constants.LUCENE_DIRECTORY_PATH));
-        muzimaModule.setEncryptionKey(getProperty(Constants.LUCENE_ENCRYPTION_KEY));
-        muzimaModule.setUseEncryption(false);
-        SslModule sslModule = new SslModule();
-        SearchModule searchModule = new SearchModule();
-        Injector injector = Guice.createInjector(muzimaModule, sslModule, searchModule);
-        return new Context(injector);
+        return new Context(getInjector());
+    }
+
+    /**
+     * Get the shared injector for the current properties, creating and initializing it when the properties have
+     * changed since the last call.
+     *
+     * @return the shared injector.
+     * @throws Exception when creating the injector or registering the resources failed.
+     */
+    static synchronized Injector getInjector() throws Exception {
+        String key = createInjectorKey();
+        if (injector == null || !StringUtil.equals(key, injectorKey)) {
+            MuzimaModule muzimaModule = new MuzimaModule();
+            muzimaModule.setRepositoryPath(getProperty(Constants.LUCENE_DIRECTORY_PATH));
+            muzimaModule.setEncryptionKey(getProperty(Constants.LUCENE_ENCRYPTION_KEY));
+            muzimaModule.setUseEncryption(false);
+            SslModule sslModule = new SslModule();
+            SearchModule searchModule = new SearchModule();
+            Module module = Modules.override(muzimaModule, sslModule, searchModule).with(modules);
+            Injector freshInjector = Guice.createInjector(module);
+            Context.initService(freshInjector);
+            if (Boolean.valueOf(getProperty(Constants.CONTEXT_WARM_UP))) {
+                Context.warmUp(freshInjector);
+            }
+            injector = freshInjector;
+            injectorKey = key;
+        }
+        return injector;
+    }
+
+    /**
+     * Create the cache key of the injector from the properties which affect the injector and the resource registry.
+     *
+     * @return the cache key of the injector.
+     */
+    private static String createInjectorKey() {
+        StringBuilder keyBuilder = new StringBuilder();
+        keyBuilder.append(getProperty(Constants.LUCENE_DIRECTORY_PATH)).append("|");
+        keyBuilder.append(getProperty(Constants.LUCENE_ENCRYPTION_KEY)).append("|");
+        keyBuilder.append(getProperty(Constants.RESOURCE_CONFIGURATION_PATH)).append("|");
+        keyBuilder.append(getProperty(Constants.RESOURCE_LAZY_REGISTRATION)).append("|");
+        keyBuilder.append(getProperty(Constants.RESOURCE_CONFIGURATION_STRING).hashCode());
+        return keyBuilder.toString();
     }
 }
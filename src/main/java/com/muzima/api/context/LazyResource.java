@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import com.google.inject.Injector;
+import com.muzima.search.api.resource.Resource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Placeholder resource registered in the service context when lazy registration is enabled. The actual resource,
+ * including the algorithm and resolver, is created only once when the first method other than
+ * <code>getName</code> is called on the placeholder.
+ */
+class LazyResource implements InvocationHandler {
+
+    private final ResourceDescriptor descriptor;
+
+    private final Injector injector;
+
+    private volatile Resource resource;
+
+    private LazyResource(final ResourceDescriptor descriptor, final Injector injector) {
+        this.descriptor = descriptor;
+        this.injector = injector;
+    }
+
+    /**
+     * Create the placeholder resource for the resource descriptor.
+     *
+     * @param descriptor the resource descriptor.
+     * @param injector   the injector used to create the actual resource.
+     * @return the placeholder resource.
+     */
+    static Resource create(final ResourceDescriptor descriptor, final Injector injector) {
+        return (Resource) Proxy.newProxyInstance(Resource.class.getClassLoader(),
+                new Class[]{Resource.class}, new LazyResource(descriptor, injector));
+    }
+
+    private Resource getResource() throws Exception {
+        Resource current = resource;
+        if (current == null) {
+            synchronized (this) {
+                current = resource;
+                if (current == null) {
+                    current = Context.createResource(descriptor, injector);
+                    resource = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        String methodName = method.getName();
+        if ("getName".equals(methodName) && method.getParameterTypes().length == 0) {
+            return descriptor.getName();
+        } else if ("equals".equals(methodName) && method.getParameterTypes().length == 1) {
+            return proxy == args[0];
+        } else if ("hashCode".equals(methodName) && method.getParameterTypes().length == 0) {
+            return System.identityHashCode(proxy);
+        } else if ("toString".equals(methodName) && method.getParameterTypes().length == 0) {
+            return "Lazy resource: " + descriptor.getName();
+        }
+        Resource target;
+        try {
+            target = getResource();
+        } catch (Exception e) {
+            throw toDeclaredException(method, e);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            // rethrow the exception of the actual resource, a checked exception is declared by the resource method.
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Convert a failure to create the actual resource into an exception the proxy may throw from the method. Checked
+     * exceptions which are not declared by the method would reach the caller as
+     * <code>UndeclaredThrowableException</code>.
+     *
+     * @param method    the method called on the placeholder.
+     * @param exception the failure to create the actual resource.
+     * @return the exception to throw from the method.
+     */
+    private Throwable toDeclaredException(final Method method, final Exception exception) {
+        if (exception instanceof RuntimeException) {
+            return exception;
+        }
+        for (Class<?> exceptionType : method.getExceptionTypes()) {
+            if (exceptionType.isInstance(exception)) {
+                return exception;
+            }
+        }
+        return new IllegalStateException("Unable to create resource: " + descriptor.getName(), exception);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process wide mapping of privilege names to bit positions. The positions are used to store the privileges of the
+ * authenticated user in a bit set, so checking a privilege is a map lookup plus a bit test.
+ */
+class PrivilegeIndex {
+
+    private static final ConcurrentMap<String, Integer> indexes = new ConcurrentHashMap<String, Integer>();
+
+    private PrivilegeIndex() {
+    }
+
+    /**
+     * Get the bit position of the privilege, assigning a new position when the privilege is not yet known.
+     *
+     * @param privilege the privilege name.
+     * @return the bit position of the privilege.
+     */
+    static int register(final String privilege) {
+        Integer index = indexes.get(privilege);
+        if (index == null) {
+            synchronized (indexes) {
+                index = indexes.get(privilege);
+                if (index == null) {
+                    index = indexes.size();
+                    indexes.put(privilege, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Get the bit position of the privilege without assigning a new position.
+     *
+     * @param privilege the privilege name.
+     * @return the bit position of the privilege or -1 when no user has been granted the privilege.
+     */
+    static int lookup(final String privilege) {
+        Integer index = indexes.get(privilege);
+        if (index == null) {
+            return -1;
+        }
+        return index;
+    }
+}
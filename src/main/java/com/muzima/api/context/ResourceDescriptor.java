@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import com.muzima.search.api.exception.ServiceException;
+import com.muzima.search.api.resource.ResourceConstants;
+import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.JsonPathCache;
+import com.muzima.util.JsonUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain description of a single resource configuration entry. The descriptor only holds the names from the
+ * configuration document, the actual searchable, algorithm and resolver objects are created by the context.
+ */
+class ResourceDescriptor {
+
+    /**
+     * The optional configuration node selecting how the objects of the resource are stored.
+     */
+    static final String ALGORITHM_ENCODING = "$['algorithm.encoding']";
+
+    /**
+     * The default encoding, objects are stored as written by the algorithm.
+     */
+    static final String JSON_ENCODING = "json";
+
+    /**
+     * The compact encoding, objects are stored without the null fields which are not searchable.
+     */
+    static final String COMPACT_ENCODING = "compact";
+
+    /**
+     * The optional configuration node with the number of results in a single page of a paged download.
+     */
+    static final String DOWNLOAD_PAGE_SIZE = "$['download.pageSize']";
+
+    /**
+     * The optional configuration node with the maximum number of pages downloaded at the same time.
+     */
+    static final String DOWNLOAD_CONCURRENCY = "$['download.concurrency']";
+
+    private final String name;
+
+    private final String root;
+
+    private final String searchableClass;
+
+    private final String algorithmClass;
+
+    private final String resolverClass;
+
+    private final String encoding;
+
+    private final int downloadPageSize;
+
+    private final int downloadConcurrency;
+
+    private final List<String> uniqueFields;
+
+    private final Map<String, String> searchableFields;
+
+    ResourceDescriptor(final String name, final String root, final String searchableClass,
+                       final String algorithmClass, final String resolverClass, final String encoding,
+                       final int downloadPageSize, final int downloadConcurrency,
+                       final List<String> uniqueFields, final Map<String, String> searchableFields) {
+        this.name = name;
+        this.root = root;
+        this.searchableClass = searchableClass;
+        this.algorithmClass = algorithmClass;
+        this.resolverClass = resolverClass;
+        this.encoding = encoding;
+        this.downloadPageSize = downloadPageSize;
+        this.downloadConcurrency = downloadConcurrency;
+        this.uniqueFields = uniqueFields;
+        this.searchableFields = searchableFields;
+    }
+
+    /**
+     * Create the descriptor from a single configuration entry of the json configuration document.
+     *
+     * @param configuration the json string of the configuration entry.
+     * @return the descriptor of the configuration entry.
+     * @throws ServiceException when the configuration entry is missing a required node.
+     */
+    static ResourceDescriptor parse(final String configuration) throws ServiceException {
+        Object document = JsonUtils.parse(configuration);
+        if (document == null) {
+            throw new ServiceException("Unable to create resource because of invalid configuration entry.");
+        }
+        String name = JsonPathCache.read(document, ResourceConstants.RESOURCE_NAME);
+        String root = JsonPathCache.read(document, ResourceConstants.ROOT_NODE);
+        if (StringUtil.isEmpty(root)) {
+            throw new ServiceException("Unable to create resource because of missing root node.");
+        }
+
+        String searchableName = JsonPathCache.read(document, ResourceConstants.SEARCHABLE_CLASS);
+        if (StringUtil.isEmpty(searchableName)) {
+            throw new ServiceException("Unable to create resource because of missing searchable node.");
+        }
+
+        String algorithmName = JsonPathCache.read(document, ResourceConstants.ALGORITHM_CLASS);
+        if (StringUtil.isEmpty(algorithmName)) {
+            throw new ServiceException("Unable to create resource because of missing algorithm node.");
+        }
+
+        String resolverName = JsonPathCache.read(document, ResourceConstants.RESOLVER_CLASS);
+        if (StringUtil.isEmpty(resolverName)) {
+            throw new ServiceException("Unable to create resource because of missing resolver node.");
+        }
+
+        String encoding = JsonUtils.readAsString(document, ALGORITHM_ENCODING);
+        if (StringUtil.isEmpty(encoding)) {
+            encoding = JSON_ENCODING;
+        } else if (!JSON_ENCODING.equals(encoding) && !COMPACT_ENCODING.equals(encoding)) {
+            throw new ServiceException("Unable to create resource because of unknown algorithm encoding: " + encoding);
+        }
+
+        int downloadPageSize = JsonUtils.readAsInteger(document, DOWNLOAD_PAGE_SIZE);
+        int downloadConcurrency = Math.max(1, JsonUtils.readAsInteger(document, DOWNLOAD_CONCURRENCY));
+        if (downloadPageSize < 0) {
+            throw new ServiceException("Unable to create resource because of negative download page size.");
+        }
+
+        List<String> uniqueFields = new ArrayList<String>();
+        String uniqueField = JsonPathCache.read(document, ResourceConstants.UNIQUE_FIELD);
+        if (uniqueField != null) {
+            uniqueFields = Arrays.asList(StringUtil.split(uniqueField, ","));
+        }
+
+        Map<String, String> searchableFields = new LinkedHashMap<String, String>();
+        Object searchableFieldObject = JsonPathCache.read(document, ResourceConstants.SEARCHABLE_FIELD);
+        if (searchableFieldObject instanceof Map) {
+            Map map = (Map) searchableFieldObject;
+            for (Object fieldName : map.keySet()) {
+                searchableFields.put(String.valueOf(fieldName), String.valueOf(map.get(fieldName)));
+            }
+        }
+        return new ResourceDescriptor(
+                name, root, searchableName, algorithmName, resolverName, encoding, downloadPageSize,
+                downloadConcurrency, uniqueFields, searchableFields);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getRoot() {
+        return root;
+    }
+
+    String getSearchableClass() {
+        return searchableClass;
+    }
+
+    String getAlgorithmClass() {
+        return algorithmClass;
+    }
+
+    String getResolverClass() {
+        return resolverClass;
+    }
+
+    String getEncoding() {
+        return encoding;
+    }
+
+    int getDownloadPageSize() {
+        return downloadPageSize;
+    }
+
+    int getDownloadConcurrency() {
+        return downloadConcurrency;
+    }
+
+    List<String> getUniqueFields() {
+        return uniqueFields;
+    }
+
+    Map<String, String> getSearchableFields() {
+        return searchableFields;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader and writer of the compiled resource registry. The compiled registry is a compact binary form of the json
+ * resource configuration document and can be loaded without evaluating any json path expression.
+ *
+ * The build compiles the default configuration document by running the main method of this class, see the
+ * exec-maven-plugin configuration in the pom.
+ */
+public final class ResourceRegistry {
+
+    /**
+     * Extension of the compiled registry which replaces the ".json" extension of the configuration document.
+     */
+    public static final String COMPILED_EXTENSION = ".registry";
+
+    private static final int MAGIC = 0x4d5a5252;
+
+    private static final int VERSION = 3;
+
+    private ResourceRegistry() {
+    }
+
+    /**
+     * Get the path of the compiled registry for the configuration document path.
+     *
+     * @param configurationPath the path of the json configuration document.
+     * @return the path of the compiled registry.
+     */
+    public static String getCompiledPath(final String configurationPath) {
+        String basePath = configurationPath;
+        if (basePath.endsWith(".json")) {
+            basePath = basePath.substring(0, basePath.length() - ".json".length());
+        }
+        return basePath + COMPILED_EXTENSION;
+    }
+
+    /**
+     * Parse the json configuration document into the resource descriptors.
+     *
+     * @param inputStream the input stream of the json configuration document.
+     * @return the resource descriptors.
+     * @throws Exception when the configuration document is not valid.
+     */
+    static List<ResourceDescriptor> parse(final InputStream inputStream) throws Exception {
+        List<ResourceDescriptor> descriptors = new ArrayList<ResourceDescriptor>();
+        List<Object> configurations = JsonPath.read(inputStream, "$['configurations']");
+        for (Object configuration : configurations) {
+            descriptors.add(ResourceDescriptor.parse(String.valueOf(configuration)));
+        }
+        return descriptors;
+    }
+
+    /**
+     * Read the resource descriptors from the compiled registry.
+     *
+     * @param inputStream the input stream of the compiled registry.
+     * @return the resource descriptors.
+     * @throws IOException when the input stream is not a compiled registry of the supported version.
+     */
+    static List<ResourceDescriptor> read(final InputStream inputStream) throws IOException {
+        DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream));
+        if (dataInputStream.readInt() != MAGIC || dataInputStream.readInt() != VERSION) {
+            throw new IOException("Unable to read compiled resource registry with unknown format!");
+        }
+        int resourceCount = dataInputStream.readInt();
+        List<ResourceDescriptor> descriptors = new ArrayList<ResourceDescriptor>(resourceCount);
+        for (int i = 0; i < resourceCount; i++) {
+            String name = dataInputStream.readUTF();
+            String root = dataInputStream.readUTF();
+            String searchableClass = dataInputStream.readUTF();
+            String algorithmClass = dataInputStream.readUTF();
+            String resolverClass = dataInputStream.readUTF();
+            String encoding = dataInputStream.readUTF();
+            int downloadPageSize = dataInputStream.readInt();
+            int downloadConcurrency = dataInputStream.readInt();
+            int uniqueCount = dataInputStream.readInt();
+            List<String> uniqueFields = new ArrayList<String>(uniqueCount);
+            for (int j = 0; j < uniqueCount; j++) {
+                uniqueFields.add(dataInputStream.readUTF());
+            }
+            int fieldCount = dataInputStream.readInt();
+            Map<String, String> searchableFields = new LinkedHashMap<String, String>();
+            for (int j = 0; j < fieldCount; j++) {
+                String fieldName = dataInputStream.readUTF();
+                searchableFields.put(fieldName, dataInputStream.readUTF());
+            }
+            descriptors.add(new ResourceDescriptor(
+                    name, root, searchableClass, algorithmClass, resolverClass, encoding, downloadPageSize,
+                    downloadConcurrency, uniqueFields, searchableFields));
+        }
+        return descriptors;
+    }
+
+    /**
+     * Write the resource descriptors as compiled registry.
+     *
+     * @param descriptors  the resource descriptors.
+     * @param outputStream the output stream of the compiled registry.
+     * @throws IOException when writing to the output stream failed.
+     */
+    static void write(final List<ResourceDescriptor> descriptors, final OutputStream outputStream) throws IOException {
+        DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+        dataOutputStream.writeInt(MAGIC);
+        dataOutputStream.writeInt(VERSION);
+        dataOutputStream.writeInt(descriptors.size());
+        for (ResourceDescriptor descriptor : descriptors) {
+            dataOutputStream.writeUTF(descriptor.getName());
+            dataOutputStream.writeUTF(descriptor.getRoot());
+            dataOutputStream.writeUTF(descriptor.getSearchableClass());
+            dataOutputStream.writeUTF(descriptor.getAlgorithmClass());
+            dataOutputStream.writeUTF(descriptor.getResolverClass());
+            dataOutputStream.writeUTF(descriptor.getEncoding());
+            dataOutputStream.writeInt(descriptor.getDownloadPageSize());
+            dataOutputStream.writeInt(descriptor.getDownloadConcurrency());
+            dataOutputStream.writeInt(descriptor.getUniqueFields().size());
+            for (String uniqueField : descriptor.getUniqueFields()) {
+                dataOutputStream.writeUTF(uniqueField);
+            }
+            dataOutputStream.writeInt(descriptor.getSearchableFields().size());
+            for (Map.Entry<String, String> entry : descriptor.getSearchableFields().entrySet()) {
+                dataOutputStream.writeUTF(entry.getKey());
+                dataOutputStream.writeUTF(entry.getValue());
+            }
+        }
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Compile the json configuration documents into compiled registries next to them.
+     *
+     * @param args paths of the json configuration documents.
+     * @throws Exception when reading the configuration document or writing the compiled registry failed.
+     */
+    public static void main(final String[] args) throws Exception {
+        for (String configurationPath : args) {
+            List<ResourceDescriptor> descriptors;
+            InputStream inputStream = new FileInputStream(new File(configurationPath));
+            try {
+                descriptors = parse(inputStream);
+            } finally {
+                inputStream.close();
+            }
+            OutputStream outputStream = new FileOutputStream(new File(getCompiledPath(configurationPath)));
+            try {
+                write(descriptors, outputStream);
+            } finally {
+                outputStream.close();
+            }
+        }
+    }
+}
@@ -11,16 +11,20 @@ package com.muzima.api.context;
 import com.muzima.api.config.Configuration;
 import com.muzima.api.exception.AuthenticationException;
 import com.muzima.api.model.Credential;
+import com.muzima.api.model.Privilege;
+import com.muzima.api.model.Role;
 import com.muzima.api.model.User;
 import com.muzima.api.service.UserService;
 import com.muzima.search.api.util.DigestUtil;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
-import com.muzima.util.NetworkUtils;
+import com.muzima.util.ConnectivityMonitor;
 import org.apache.lucene.queryParser.ParseException;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.BitSet;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -28,8 +32,14 @@ import java.util.UUID;
  */
 class UserContext {
 
+    private static final String SUPER_USER_ROLE = "System Developer";
+
     private User user;
 
+    private BitSet privileges;
+
+    private boolean superUser;
+
     private Credential credential;
 
     private Configuration configuration;
@@ -46,6 +56,7 @@ class UserContext {
     public void authenticate(final String username, final String password,
                              final UserService userService, final boolean isUpdatePasswordRequired)
             throws IOException, ParseException {
+        privileges = null;
         if (isUpdatePasswordRequired) {
             //if the user has forgotten his password and has asked for a reset/change in password on the server
             //then we force online authentication to authenticate against latest password.
@@ -66,10 +77,9 @@ class UserContext {
     private void authenticateOnlineAndUpdateCredentialsWithNewPassword(String username, String password, UserService userService) throws IOException, ParseException {
 
         user = userService.getUserByUsername(username);
-        boolean isDeviceOnline = NetworkUtils.isAddressReachable(getConfiguration().getServer(), Constants.CONNECTION_TIMEOUT);
 
         if (user != null) { //check if user record exists on device
-            if (isDeviceOnline) {
+            if (isServerReachable()) {
                 user = userService.downloadUserByUsername(username); //download changed user details and update the user credentials
                 if(user!=null){
                     credential = userService.getCredentialByUsername(username);
@@ -102,10 +112,9 @@ class UserContext {
         // * If we are unable to find this user and his credential on then proceed with online authentication
         // * Download the user from the server by the username first.
         // * If we get a user, we write the current user credential object. The context is now authenticated.
-        boolean isDeviceOnline = NetworkUtils.isAddressReachable(getConfiguration().getServer(), Constants.CONNECTION_TIMEOUT);
         if (user != null && StringUtil.equals(user.getUsername(),username)){
             authenticateOffline(username,password,userService);
-        } else if(isDeviceOnline) {
+        } else if(isServerReachable()) {
             user = userService.downloadUserByUsername(username);
             if (user != null) {
                 userService.saveUser(user);
@@ -129,6 +138,16 @@ class UserContext {
         }
     }
 
+    /**
+     * Check whether the configured server is reachable. The cached reachability is used when it's still valid, so
+     * a device which is known to be offline doesn't wait for the connection timeout.
+     *
+     * @return true when the server is reachable.
+     */
+    private boolean isServerReachable() {
+        return ConnectivityMonitor.awaitReachable(getConfiguration().getServer(), Constants.CONNECTION_TIMEOUT);
+    }
+
     /**
      * Authenticate user using the username and password on the url.
      *
@@ -176,6 +195,63 @@ class UserContext {
      */
     public void deauthenticate() {
         user = null;
+        privileges = null;
+    }
+
+    /**
+     * Check whether the authenticated user have at least one of the privileges. Empty privileges only require the
+     * user to be authenticated.
+     *
+     * @param requiredPrivileges the privileges allowed to perform the operation.
+     * @return true when the user is authenticated and have at least one of the privileges.
+     */
+    public boolean hasAnyPrivilege(final String[] requiredPrivileges) {
+        if (user == null) {
+            return false;
+        }
+        if (privileges == null) {
+            resolvePrivileges();
+        }
+        if (superUser || requiredPrivileges.length == 0) {
+            return true;
+        }
+        for (String requiredPrivilege : requiredPrivileges) {
+            int index = PrivilegeIndex.lookup(requiredPrivilege);
+            if (index >= 0 && privileges.get(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collect the privileges granted directly to the user and through the user's roles into the bit set.
+     */
+    private void resolvePrivileges() {
+        BitSet resolvedPrivileges = new BitSet();
+        boolean resolvedSuperUser = false;
+        addPrivileges(resolvedPrivileges, user.getPrivileges());
+        List<Role> roles = user.getRoles();
+        if (roles != null) {
+            for (Role role : roles) {
+                if (StringUtil.equals(SUPER_USER_ROLE, role.getName())) {
+                    resolvedSuperUser = true;
+                }
+                addPrivileges(resolvedPrivileges, role.getPrivileges());
+            }
+        }
+        superUser = resolvedSuperUser;
+        privileges = resolvedPrivileges;
+    }
+
+    private void addPrivileges(final BitSet bitSet, final List<Privilege> grantedPrivileges) {
+        if (grantedPrivileges != null) {
+            for (Privilege privilege : grantedPrivileges) {
+                if (!StringUtil.isEmpty(privilege.getName())) {
+                    bitSet.set(PrivilegeIndex.register(privilege.getName()));
+                }
+            }
+        }
     }
 
     public Configuration getConfiguration() {
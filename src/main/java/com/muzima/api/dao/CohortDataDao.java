@@ -9,11 +9,30 @@ package com.muzima.api.dao;
 
 import com.google.inject.ImplementedBy;
 import com.muzima.api.dao.impl.CohortDataDaoImpl;
+import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
+import com.muzima.api.model.algorithm.CohortDataHandler;
+
+import java.io.IOException;
+import java.util.Map;
 
 /**
  * TODO: Write brief description about the class here.
  */
 @ImplementedBy(CohortDataDaoImpl.class)
 public interface CohortDataDao extends OpenmrsDao<CohortData> {
+
+    /**
+     * Download the cohort data and pass the patients and the members to the handler in batches while the response
+     * is being read, without creating the whole cohort data in memory.
+     *
+     * @param resourceParams the parameters to be passed to the resolver of the resource.
+     * @param resource       the name of the static or dynamic cohort data resource.
+     * @param cohort         the cohort being downloaded, holding at least the uuid and the dynamic flag.
+     * @param handler        the handler receiving the batches.
+     * @return the number of patients downloaded.
+     * @throws IOException when the cohort data can't be downloaded or the handler fails.
+     */
+    int download(final Map<String, String> resourceParams, final String resource,
+                 final Cohort cohort, final CohortDataHandler handler) throws IOException;
 }
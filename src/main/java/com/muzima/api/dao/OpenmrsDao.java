@@ -29,6 +29,17 @@ public interface OpenmrsDao<T extends OpenmrsSearchable> extends SearchableDao<T
      */
     List<T> download(final Map<String, String> resourceParams, final String resource) throws IOException;
 
+    /**
+     * Download the searchable objects matching any of the parameter sets. Each parameter set is downloaded with its own
+     * REST call, the results are merged in parameter set order and objects downloaded by more than one call are only
+     * returned once.
+     *
+     * @param resourceParams the parameter sets, one for each REST call.
+     * @param resource       resource descriptor used to convert the resource to the correct object.
+     * @throws IOException when search api unable to process the resource.
+     */
+    List<T> download(final List<Map<String, String>> resourceParams, final String resource) throws IOException;
+
     /**
      * Get the searchable object using the uuid.
      *
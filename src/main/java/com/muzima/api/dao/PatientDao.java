@@ -14,6 +14,7 @@ import com.muzima.api.model.Patient;
 import org.apache.lucene.queryParser.ParseException;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 @ImplementedBy(PatientDaoImpl.class)
@@ -62,4 +63,13 @@ public interface PatientDao extends OpenmrsDao<Patient> {
 
     List<Patient> search(final String term, final Integer page,
                          final Integer pageSize) throws ParseException, IOException;
+
+    /**
+     * Get the patients with any of the uuids from the local repository.
+     *
+     * @param uuids the uuids of the patients.
+     * @return the patients found in the local repository, patients which don't exist locally are left out.
+     * @throws IOException when search api unable to process the resource.
+     */
+    List<Patient> getByUuids(final Collection<String> uuids) throws IOException;
 }
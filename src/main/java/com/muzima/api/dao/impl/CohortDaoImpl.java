@@ -9,10 +9,10 @@
 package com.muzima.api.dao.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.CohortDao;
 import com.muzima.api.model.Cohort;
 import com.muzima.search.api.context.ServiceContext;
-import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
 
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+@Singleton
 public class CohortDaoImpl extends OpenmrsDaoImpl<Cohort> implements CohortDao {
 
     private static final String TAG = CohortDao.class.getSimpleName();
@@ -43,8 +44,7 @@ public class CohortDaoImpl extends OpenmrsDaoImpl<Cohort> implements CohortDao {
     @Override
     public List<Cohort> download(final Map<String, String> resourceParams, final String resource) throws IOException {
         List<Cohort> list = new ArrayList<Cohort>();
-        for (Searchable searchable : service.loadObjects(resourceParams, serviceContext.getResource(resource))) {
-            Cohort cohort = (Cohort) searchable;
+        for (Cohort cohort : loadObjects(resourceParams, serviceContext.getResource(resource))) {
             if (StringUtil.equals(resource, Constants.SEARCH_DYNAMIC_COHORT_RESOURCE) ||
                     StringUtil.equals(resource, Constants.UUID_DYNAMIC_COHORT_RESOURCE)) {
                 cohort.setDynamic(true);
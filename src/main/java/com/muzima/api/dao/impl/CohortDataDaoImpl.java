@@ -9,24 +9,36 @@
 package com.muzima.api.dao.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.CohortDataDao;
+import com.muzima.api.http.HttpTransport;
+import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
 import com.muzima.api.model.Patient;
+import com.muzima.api.model.algorithm.CohortDataHandler;
+import com.muzima.api.model.algorithm.StreamingCohortDataReader;
 import com.muzima.search.api.context.ServiceContext;
-import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.model.resolver.Resolver;
+import com.muzima.util.ConnectivityMonitor;
+import com.muzima.util.Constants;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+@Singleton
 public class CohortDataDaoImpl extends OpenmrsDaoImpl<CohortData> implements CohortDataDao {
 
     private static final String TAG = CohortDataDaoImpl.class.getSimpleName();
     @Inject
     private ServiceContext serviceContext;
 
+    @Inject
+    private HttpTransport httpTransport;
+
     protected CohortDataDaoImpl() {
         super(CohortData.class);
     }
@@ -41,16 +53,59 @@ public class CohortDataDaoImpl extends OpenmrsDaoImpl<CohortData> implements Coh
         CohortData consolidatedCohortData = new CohortData();
         List<Patient> patients = consolidatedCohortData.getPatients();
         List<CohortMember> members = consolidatedCohortData.getCohortMembers();
-        List<Searchable> searchableList = service.loadObjects(resourceParams, serviceContext.getResource(resource));
-        for (Searchable searchable : searchableList) {
-            CohortData cohortData = (CohortData) searchable;
+        String server = getConfiguration().getServer();
+        List<CohortData> cohortDataList;
+        try {
+            cohortDataList = loadObjects(resourceParams, serviceContext.getResource(resource));
+        } catch (IOException e) {
+            ConnectivityMonitor.reportFailure(server, e);
+            throw e;
+        }
+        for (CohortData cohortData : cohortDataList) {
             consolidatedCohortData.setCohort(cohortData.getCohort());
             patients.addAll(cohortData.getPatients());
             members.addAll(cohortData.getCohortMembers());
         }
+        ConnectivityMonitor.reportReachable(server);
         return Arrays.asList(consolidatedCohortData);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see com.muzima.api.dao.CohortDataDao#download(java.util.Map, String, com.muzima.api.model.Cohort,
+     *      com.muzima.api.model.algorithm.CohortDataHandler)
+     */
+    @Override
+    public int download(final Map<String, String> resourceParams, final String resource,
+                        final Cohort cohort, final CohortDataHandler handler) throws IOException {
+        Resolver resolver = serviceContext.getResource(resource).getResolver();
+        String resourcePath = resolver.resolve(resourceParams);
+        HttpURLConnection connection = httpTransport.openConnection(resourcePath);
+        connection.setRequestMethod("GET");
+        connection = resolver.authenticate(connection);
+        connection = httpTransport.acceptCompression(resolver.setCustomRequestProperties(connection));
+
+        int responseCode;
+        try {
+            responseCode = connection.getResponseCode();
+        } catch (IOException e) {
+            ConnectivityMonitor.reportFailure(resourcePath, e);
+            httpTransport.release(connection);
+            throw e;
+        }
+        ConnectivityMonitor.reportReachable(resourcePath);
+        try {
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unable to download the cohort data, server responded with: " + responseCode);
+            }
+            StreamingCohortDataReader reader = new StreamingCohortDataReader(Constants.COHORT_DATA_BATCH_SIZE);
+            return reader.read(httpTransport.getInputStream(connection), cohort, handler);
+        } finally {
+            httpTransport.release(connection);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
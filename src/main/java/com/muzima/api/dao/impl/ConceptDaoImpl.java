@@ -8,12 +8,14 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.ConceptDao;
 import com.muzima.api.model.Concept;
 
 /**
  * TODO: Write brief description about the class here.
  */
+@Singleton
 public class ConceptDaoImpl extends OpenmrsDaoImpl<Concept> implements ConceptDao {
 
     protected ConceptDaoImpl() {
@@ -8,6 +8,7 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.CredentialDao;
 import com.muzima.api.model.Credential;
 import com.muzima.search.api.filter.Filter;
@@ -19,6 +20,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+@Singleton
 public class CredentialDaoImpl extends SearchableDaoImpl<Credential> implements CredentialDao {
 
     private static final String TAG = CredentialDao.class.getSimpleName();
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.dao.impl;
+
+import com.muzima.api.config.SessionConfigurationProvider;
+import com.muzima.api.model.algorithm.ConceptInterner;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pools of daemon threads running the REST calls of a single download. The pool is created for the download
+ * and shut down when the download completes.
+ */
+final class DownloadThreads {
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private static final ThreadFactory threadFactory = new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new DownloadThread(runnable, "muzima-download-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private DownloadThreads() {
+    }
+
+    /**
+     * Check whether the current thread belongs to the pool of a download. A download started on such a thread runs
+     * its REST calls on the same thread instead of creating another pool.
+     *
+     * @return true when the current thread runs a REST call of a download.
+     */
+    static boolean isDownloadThread() {
+        return Thread.currentThread() instanceof DownloadThread;
+    }
+
+    /**
+     * Create the pool of threads of a download.
+     *
+     * @param threads the maximum number of REST calls running at the same time.
+     * @return the pool of threads, to be shut down by the caller.
+     */
+    static ExecutorService createExecutor(final int threads) {
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * Submit a REST call of the download. The call runs with the configuration of the current thread's session, so
+     * it uses the same server and credentials as the thread which started the download, and interns the concepts in
+     * the batch of the thread which started the download.
+     *
+     * @param executor the pool of threads of the download.
+     * @param task     the REST call.
+     * @return the future of the REST call.
+     */
+    static <V> Future<V> submit(final ExecutorService executor, final Callable<V> task) {
+        return executor.submit(ConceptInterner.wrap(SessionConfigurationProvider.wrap(task)));
+    }
+
+    /**
+     * Wait for the result of a REST call, rethrowing the exception of a failed call.
+     *
+     * @param future the future of the REST call.
+     * @return the result of the REST call.
+     * @throws IOException when the REST call failed or the waiting thread was interrupted.
+     */
+    static <V> V get(final Future<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the download.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Unable to complete the download.", cause);
+        }
+    }
+
+    private static final class DownloadThread extends Thread {
+
+        private DownloadThread(final Runnable runnable, final String name) {
+            super(runnable, name);
+        }
+    }
+}
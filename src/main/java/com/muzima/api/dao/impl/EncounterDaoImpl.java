@@ -8,6 +8,7 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.EncounterDao;
 import com.muzima.api.model.Encounter;
 import com.muzima.search.api.filter.Filter;
@@ -21,6 +22,7 @@ import java.util.List;
 /**
  * TODO: Write brief description about the class here.
  */
+@Singleton
 public class EncounterDaoImpl extends OpenmrsDaoImpl<Encounter> implements EncounterDao {
 
     protected EncounterDaoImpl() {
@@ -8,9 +8,11 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.FormDao;
 import com.muzima.api.model.Form;
 
+@Singleton
 public class FormDaoImpl extends OpenmrsDaoImpl<Form> implements FormDao {
 
     private static final String TAG = FormDaoImpl.class.getSimpleName();
@@ -12,39 +12,40 @@ import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.muzima.api.config.Configuration;
+import com.muzima.api.config.ConfigurationSnapshot;
 import com.muzima.api.dao.FormDataDao;
+import com.muzima.api.http.HttpTransport;
 import com.muzima.api.model.FormData;
 import com.muzima.api.model.resolver.SyncFormDataResolver;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.ConnectivityMonitor;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
-import java.net.Proxy;
-import java.net.URL;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import static java.util.Arrays.asList;
 
+@Singleton
 public class FormDataDaoImpl extends SearchableDaoImpl<FormData> implements FormDataDao {
 
     private static final String TAG = FormDataDaoImpl.class.getSimpleName();
 
-    @Inject(optional = true)
-    @Named("connection.proxy")
-    private Proxy proxy;
-
     @Inject
-    @Named("connection.timeout")
-    private int timeout;
+    private HttpTransport httpTransport;
 
     @Inject
     private SyncFormDataResolver resolver;
 
+    @Inject
+    private Provider<Configuration> configurationProvider;
+
     protected FormDataDaoImpl() {
         super(FormData.class);
     }
@@ -141,28 +142,34 @@ public class FormDataDaoImpl extends SearchableDaoImpl<FormData> implements Form
     public boolean syncFormData(final FormData formData) throws IOException {
         boolean synced = false;
 
-        String resourcePath = resolver.resolve(Collections.<String, String>emptyMap());
-        URL url = new URL(resourcePath);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        if (proxy != null) {
-            connection = (HttpURLConnection) url.openConnection(proxy);
-        }
+        ConfigurationSnapshot snapshot = configurationProvider.get().getSnapshot();
+        String resourcePath = resolver.resolve(snapshot);
+        HttpURLConnection connection = httpTransport.openConnection(resourcePath);
         connection.setDoOutput(true);
         connection.setRequestMethod("POST");
         connection.setRequestProperty("Content-Type", "application/json");
-        connection.setConnectTimeout(timeout);
-        connection = resolver.authenticate(connection);
-
-        JsonFactory jsonFactory = new JsonFactory();
-        JsonGenerator jsonGenerator = jsonFactory.createGenerator(connection.getOutputStream(), JsonEncoding.UTF8);
-        jsonGenerator.writeStartObject();
-        jsonGenerator.writeObjectField("dataSource", "Mobile Device");
-        jsonGenerator.writeObjectField("payload", getPayloadBasedOnDiscriminator(formData));
-        jsonGenerator.writeObjectField("discriminator", formData.getDiscriminator());
-        jsonGenerator.writeEndObject();
-        jsonGenerator.close();
-
-        int responseCode = connection.getResponseCode();
+        connection = resolver.authenticate(connection, snapshot);
+
+        int responseCode;
+        try {
+            JsonFactory jsonFactory = new JsonFactory();
+            JsonGenerator jsonGenerator = jsonFactory.createGenerator(httpTransport.getOutputStream(connection),
+                    JsonEncoding.UTF8);
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeObjectField("dataSource", "Mobile Device");
+            jsonGenerator.writeObjectField("payload", getPayloadBasedOnDiscriminator(formData));
+            jsonGenerator.writeObjectField("discriminator", formData.getDiscriminator());
+            jsonGenerator.writeEndObject();
+            jsonGenerator.close();
+
+            responseCode = connection.getResponseCode();
+        } catch (IOException e) {
+            ConnectivityMonitor.reportFailure(resourcePath, e);
+            throw e;
+        } finally {
+            httpTransport.release(connection);
+        }
+        ConnectivityMonitor.reportReachable(resourcePath);
         if (responseCode == HttpURLConnection.HTTP_OK
                 || responseCode == HttpURLConnection.HTTP_CREATED) {
             synced = true;
@@ -8,6 +8,7 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.FormTemplateDao;
 import com.muzima.api.model.FormTemplate;
 import com.muzima.search.api.filter.Filter;
@@ -18,6 +19,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+@Singleton
 public class FormTemplateDaoImpl extends OpenmrsDaoImpl<FormTemplate> implements FormTemplateDao {
 
     private static final String TAG = FormTemplateDaoImpl.class.getSimpleName();
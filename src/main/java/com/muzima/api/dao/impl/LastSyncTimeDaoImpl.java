@@ -8,6 +8,7 @@
 package com.muzima.api.dao.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.LastSyncTimeDao;
 import com.muzima.api.model.LastSyncTime;
 import com.muzima.search.api.context.ServiceContext;
@@ -21,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+@Singleton
 public class LastSyncTimeDaoImpl extends OpenmrsDaoImpl<LastSyncTime> implements LastSyncTimeDao {
 
     @Inject
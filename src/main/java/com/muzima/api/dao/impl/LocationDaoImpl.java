@@ -8,6 +8,7 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.LocationDao;
 import com.muzima.api.model.Location;
 import com.muzima.search.api.util.CollectionUtil;
@@ -17,6 +18,7 @@ import org.apache.lucene.queryParser.ParseException;
 import java.io.IOException;
 import java.util.List;
 
+@Singleton
 public class LocationDaoImpl extends OpenmrsDaoImpl<Location> implements LocationDao {
 
     private static final String TAG = FormDaoImpl.class.getSimpleName();
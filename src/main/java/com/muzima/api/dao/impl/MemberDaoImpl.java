@@ -8,6 +8,7 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.CredentialDao;
 import com.muzima.api.dao.MemberDao;
 import com.muzima.api.model.CohortMember;
@@ -19,6 +20,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+@Singleton
 public class MemberDaoImpl extends SearchableDaoImpl<CohortMember> implements MemberDao {
 
     private static final String TAG = CredentialDao.class.getSimpleName();
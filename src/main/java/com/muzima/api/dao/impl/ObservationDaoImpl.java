@@ -8,9 +8,11 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.ObservationDao;
 import com.muzima.api.model.Concept;
 import com.muzima.api.model.Observation;
+import com.muzima.api.model.algorithm.ConceptInterner;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.util.StringUtil;
@@ -18,7 +20,9 @@ import com.muzima.search.api.util.StringUtil;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+@Singleton
 public class ObservationDaoImpl extends OpenmrsDaoImpl<Observation> implements ObservationDao {
 
     private static final String TAG = ObservationDao.class.getSimpleName();
@@ -27,6 +31,48 @@ public class ObservationDaoImpl extends OpenmrsDaoImpl<Observation> implements O
         super(Observation.class);
     }
 
+    /**
+     * Download the observations while interning the concepts, so all observations of the download referring to the
+     * same concept share a single concept object. The concepts are released when the download completes.
+     *
+     * @param resourceParams the parameters to be passed to search object to filter the searchable object.
+     * @param resource       resource descriptor used to convert the resource to the correct object.
+     * @throws IOException when search api unable to process the resource.
+     */
+    @Override
+    public List<Observation> download(final Map<String, String> resourceParams, final String resource)
+            throws IOException {
+        boolean batchOpened = ConceptInterner.openBatch();
+        try {
+            return super.download(resourceParams, resource);
+        } finally {
+            if (batchOpened) {
+                ConceptInterner.closeBatch();
+            }
+        }
+    }
+
+    /**
+     * Download the observations of all parameters in one batch, so the observations of every chunk referring to the
+     * same concept share a single concept object.
+     *
+     * @param resourceParams the list of parameters to be passed to search object to filter the searchable object.
+     * @param resource       resource descriptor used to convert the resource to the correct object.
+     * @throws IOException when search api unable to process the resource.
+     */
+    @Override
+    public List<Observation> download(final List<Map<String, String>> resourceParams, final String resource)
+            throws IOException {
+        boolean batchOpened = ConceptInterner.openBatch();
+        try {
+            return super.download(resourceParams, resource);
+        } finally {
+            if (batchOpened) {
+                ConceptInterner.closeBatch();
+            }
+        }
+    }
+
     /**
      * Search observations for patient with matching uuid of the question.
      *
@@ -9,41 +9,336 @@
 package com.muzima.api.dao.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.muzima.api.config.Configuration;
+import com.muzima.api.config.DownloadConfiguration;
 import com.muzima.api.dao.OpenmrsDao;
+import com.muzima.api.http.ConditionalResponse;
+import com.muzima.api.http.ValidatorStore;
 import com.muzima.api.model.OpenmrsSearchable;
 import com.muzima.search.api.context.ServiceContext;
 import com.muzima.search.api.filter.Filter;
 import com.muzima.search.api.filter.FilterFactory;
 import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.resource.Resource;
 import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.ConnectivityMonitor;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public abstract class OpenmrsDaoImpl<T extends OpenmrsSearchable> extends SearchableDaoImpl<T> implements OpenmrsDao<T> {
 
+    /**
+     * The maximum number of conditional downloads waiting to be saved. Downloads beyond it are not tracked, a not
+     * modified object is then saved again and the validators of a modified object are not stored.
+     */
+    static final int MAXIMUM_CONDITIONAL_DOWNLOADS = 512;
+
     @Inject
     private ServiceContext serviceContext;
 
+    @Inject
+    private Provider<Configuration> configurationProvider;
+
+    @Inject
+    private DownloadConfiguration downloadConfiguration;
+
+    @Inject
+    private ValidatorStore validatorStore;
+
+    @Inject
+    private ResourceLoader resourceLoader;
+
+    private final ConcurrentMap<String, ConditionalDownload> conditionalDownloads =
+            new ConcurrentHashMap<String, ConditionalDownload>();
+
     protected OpenmrsDaoImpl(final Class<T> daoClass) {
         super(daoClass);
     }
 
+    /**
+     * Get the openmrs configuration of the current session.
+     *
+     * @return the openmrs configuration of the current session.
+     */
+    protected Configuration getConfiguration() {
+        return configurationProvider.get();
+    }
+
     /**
      * Download the searchable object matching the uuid. This process involve executing the REST call, pulling the
-     * resource and then saving it to local lucene repository.
+     * resource and then saving it to local lucene repository. Resources with a page size in the download
+     * configuration are downloaded in pages, see <code>{@link PagedDownload}</code>. A conditional resource which
+     * didn't change since the last download returns the object of the local repository, saving it is skipped unless
+     * the caller changed it.
      *
      * @param resourceParams the parameters to be passed to search object to filter the searchable object.
      * @param resource       resource descriptor used to convert the resource to the correct object.
      * @throws IOException when search api unable to process the resource.
      */
     @Override
-    @SuppressWarnings("unchecked")
     public List<T> download(final Map<String, String> resourceParams, final String resource) throws IOException {
+        final Resource serviceResource = serviceContext.getResource(resource);
+        int pageSize = downloadConfiguration.getPageSize(resource);
+        String server = getConfiguration().getServer();
+        List<T> list;
+        try {
+            if (pageSize > 0) {
+                PagedDownload<T> pagedDownload =
+                        new PagedDownload<T>(pageSize, downloadConfiguration.getConcurrency(resource)) {
+                            @Override
+                            protected List<T> loadPage(final int startIndex, final int limit) throws IOException {
+                                Map<String, String> pageParams = new HashMap<String, String>(resourceParams);
+                                pageParams.put(START_INDEX, String.valueOf(startIndex));
+                                pageParams.put(LIMIT, String.valueOf(limit));
+                                return loadObjects(pageParams, serviceResource);
+                            }
+                        };
+                list = pagedDownload.download();
+            } else {
+                list = loadConditionalObjects(resourceParams, serviceResource);
+            }
+        } catch (IOException e) {
+            ConnectivityMonitor.reportFailure(server, e);
+            throw e;
+        }
+        ConnectivityMonitor.reportReachable(server);
+        return list;
+    }
+
+    /**
+     * Download the objects, using the object in the local repository when the server responds with
+     * <code>304 Not Modified</code> to a conditional request. When the object is not in the local repository anymore,
+     * the validators of the request are discarded and the object is downloaded again. The validators of a modified
+     * object are only stored once the object has been saved.
+     */
+    private List<T> loadConditionalObjects(final Map<String, String> resourceParams, final Resource resource)
+            throws IOException {
+        String uuid = resourceParams.get("uuid");
+        if (!StringUtil.isEmpty(uuid)) {
+            // the previous download of the object is replaced, whether it was saved or not.
+            conditionalDownloads.remove(uuid);
+        }
+        validatorStore.clearResponse();
+        List<T> list = null;
+        Exception failure = null;
+        try {
+            list = loadObjects(resourceParams, resource);
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        ConditionalResponse response = validatorStore.takeResponse();
+        if (response != null && response.isNotModified()) {
+            T cached = StringUtil.isEmpty(uuid) ? null : getByUuid(uuid);
+            if (cached != null) {
+                track(uuid, new ConditionalDownload(cached, null, resource.serialize(cached)));
+                list = new ArrayList<T>();
+                list.add(cached);
+                return list;
+            }
+            validatorStore.remove(response.getAddress());
+            validatorStore.clearResponse();
+            list = loadObjects(resourceParams, resource);
+            response = validatorStore.takeResponse();
+        } else if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+        if (response != null) {
+            for (T object : list) {
+                if (!StringUtil.isEmpty(object.getUuid())) {
+                    track(object.getUuid(), new ConditionalDownload(object, response, null));
+                }
+            }
+        }
+        return list;
+    }
+
+    private void track(final String uuid, final ConditionalDownload download) {
+        if (conditionalDownloads.size() < MAXIMUM_CONDITIONAL_DOWNLOADS || conditionalDownloads.containsKey(uuid)) {
+            conditionalDownloads.put(uuid, download);
+        }
+    }
+
+    /**
+     * Save the object, unless it's the unchanged object of the local repository returned for a not modified resource.
+     *
+     * @see com.muzima.api.dao.SearchableDao#save(com.muzima.search.api.model.object.Searchable, String)
+     */
+    @Override
+    public void save(final T object, final String resource) throws IOException {
+        if (!isUnchanged(object, resource)) {
+            super.save(object, resource);
+            recordValidators(object);
+        }
+    }
+
+    /**
+     * Save the objects, except the unchanged objects of the local repository returned for not modified resources.
+     *
+     * @see com.muzima.api.dao.SearchableDao#save(java.util.List, String)
+     */
+    @Override
+    public void save(final List<T> objects, final String resource) throws IOException {
+        List<T> changedObjects = getChangedObjects(objects, resource);
+        if (!changedObjects.isEmpty()) {
+            super.save(changedObjects, resource);
+            recordValidators(changedObjects);
+        }
+    }
+
+    /**
+     * Update the object, unless it's the unchanged object of the local repository returned for a not modified
+     * resource.
+     *
+     * @see com.muzima.api.dao.SearchableDao#update(com.muzima.search.api.model.object.Searchable, String)
+     */
+    @Override
+    public void update(final T object, final String resource) throws IOException {
+        if (!isUnchanged(object, resource)) {
+            super.update(object, resource);
+            recordValidators(object);
+        }
+    }
+
+    /**
+     * Update the objects, except the unchanged objects of the local repository returned for not modified resources.
+     *
+     * @see com.muzima.api.dao.SearchableDao#update(java.util.List, String)
+     */
+    @Override
+    public void update(final List<T> objects, final String resource) throws IOException {
+        List<T> changedObjects = getChangedObjects(objects, resource);
+        if (!changedObjects.isEmpty()) {
+            super.update(changedObjects, resource);
+            recordValidators(changedObjects);
+        }
+    }
+
+    /**
+     * Check whether the object is the object of the local repository returned for a not modified resource and its
+     * content is still the content of the local repository. A copy of the object, or the object changed by the
+     * caller, is saved as usual.
+     */
+    private boolean isUnchanged(final T object, final String resource) throws IOException {
+        String uuid = object.getUuid();
+        ConditionalDownload download = StringUtil.isEmpty(uuid) ? null : conditionalDownloads.get(uuid);
+        if (download == null || download.object != object || download.response != null
+                || !conditionalDownloads.remove(uuid, download)) {
+            return false;
+        }
+        return download.content.equals(serviceContext.getResource(resource).serialize(object));
+    }
+
+    private List<T> getChangedObjects(final List<T> objects, final String resource) throws IOException {
+        List<T> changedObjects = new ArrayList<T>();
+        for (T object : objects) {
+            if (!isUnchanged(object, resource)) {
+                changedObjects.add(object);
+            }
+        }
+        return changedObjects;
+    }
+
+    private void recordValidators(final T object) {
+        String uuid = object.getUuid();
+        ConditionalDownload download = StringUtil.isEmpty(uuid) ? null : conditionalDownloads.get(uuid);
+        if (download != null && download.object == object && download.response != null
+                && conditionalDownloads.remove(uuid, download)) {
+            validatorStore.record(download.response);
+        }
+    }
+
+    private void recordValidators(final List<T> objects) {
+        for (T object : objects) {
+            recordValidators(object);
+        }
+    }
+
+    /**
+     * Download the searchable objects matching any of the parameter sets. The REST calls run on a bounded pool of
+     * threads, up to the request concurrency of the download configuration at the same time. The pages of a resource
+     * downloaded in pages are downloaded one after the other on the thread of their parameter set.
+     *
+     * @param resourceParams the parameter sets, one for each REST call.
+     * @param resource       resource descriptor used to convert the resource to the correct object.
+     * @throws IOException when search api unable to process the resource.
+     */
+    @Override
+    public List<T> download(final List<Map<String, String>> resourceParams, final String resource) throws IOException {
+        if (resourceParams.size() == 1) {
+            return download(resourceParams.get(0), resource);
+        }
+        List<List<T>> results = new ArrayList<List<T>>();
+        int concurrency = Math.min(downloadConfiguration.getRequestConcurrency(), resourceParams.size());
+        if (concurrency <= 1) {
+            for (Map<String, String> params : resourceParams) {
+                results.add(download(params, resource));
+            }
+        } else {
+            ExecutorService executor = DownloadThreads.createExecutor(concurrency);
+            try {
+                List<Future<List<T>>> futures = new ArrayList<Future<List<T>>>();
+                for (final Map<String, String> params : resourceParams) {
+                    futures.add(DownloadThreads.submit(executor, new Callable<List<T>>() {
+                        @Override
+                        public List<T> call() throws Exception {
+                            return download(params, resource);
+                        }
+                    }));
+                }
+                for (Future<List<T>> future : futures) {
+                    results.add(DownloadThreads.get(future));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return merge(results);
+    }
+
+    private static <T extends OpenmrsSearchable> List<T> merge(final List<List<T>> results) {
+        List<T> merged = new ArrayList<T>();
+        Set<String> uuids = new HashSet<String>();
+        for (List<T> result : results) {
+            for (T searchable : result) {
+                String uuid = searchable.getUuid();
+                if (StringUtil.isEmpty(uuid) || uuids.add(uuid)) {
+                    merged.add(searchable);
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Load the objects of the resource from the server. The response is read through the http transport, so it's
+     * gzip encoded when compressed responses are enabled.
+     *
+     * @param resourceParams the parameters to be passed to the resolver of the resource.
+     * @param resource       resource descriptor used to convert the resource to the correct object.
+     * @return the objects of the response.
+     * @throws IOException when the request failed or the server responded with an error.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<T> loadObjects(final Map<String, String> resourceParams, final Resource resource)
+            throws IOException {
         List<T> list = new ArrayList<T>();
-        for (Searchable searchable : service.loadObjects(resourceParams, serviceContext.getResource(resource))) {
+        for (Searchable searchable : resourceLoader.loadObjects(resourceParams, resource)) {
             list.add((T) searchable);
         }
         return list;
@@ -101,4 +396,28 @@ public abstract class OpenmrsDaoImpl<T extends OpenmrsSearchable> extends Search
         }
         return service.getObjects(filters, daoClass, page, pageSize);
     }
+
+    /**
+     * Object downloaded with a conditional request and not saved yet. The response is null when the server responded
+     * with <code>304 Not Modified</code> and the object is the object of the local repository.
+     */
+    /**
+     * A downloaded object waiting to be saved: either the object of the local repository and its serialized content
+     * for a not modified resource, or a modified object and the response whose validators are stored once it's saved.
+     */
+    private static final class ConditionalDownload {
+
+        private final OpenmrsSearchable object;
+
+        private final ConditionalResponse response;
+
+        private final String content;
+
+        private ConditionalDownload(final OpenmrsSearchable object, final ConditionalResponse response,
+                                    final String content) {
+            this.object = object;
+            this.response = response;
+            this.content = content;
+        }
+    }
 }
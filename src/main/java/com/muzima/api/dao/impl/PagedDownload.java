@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.dao.impl;
+
+import com.muzima.api.model.OpenmrsSearchable;
+import com.muzima.search.api.util.StringUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Download of a resource in pages of a fixed size. The first page is downloaded alone, the following pages start after
+ * the results of the first page, so a server which caps the limit below the page size still returns every result. The
+ * following pages are downloaded in rounds of up to concurrency pages on a bounded pool of threads, until a round
+ * contains an empty page. The results are merged in page order, so the result is the same as downloading the resource
+ * with a single call.
+ *
+ * A download started on a thread of another download, e.g. one chunk of a download of several parameter sets,
+ * downloads its pages one after the other on that thread, so the number of REST calls stays bounded by the pool of
+ * the outer download.
+ *
+ * A resolver which doesn't pass the paging parameters to the server returns all results on every page. Such a
+ * download is detected on the first pages and the results of the first page are returned.
+ */
+abstract class PagedDownload<T extends OpenmrsSearchable> {
+
+    /**
+     * The REST parameter with the index of the first result of a page.
+     */
+    static final String START_INDEX = "startIndex";
+
+    /**
+     * The REST parameter with the maximum number of results of a page.
+     */
+    static final String LIMIT = "limit";
+
+    private final int pageSize;
+
+    private final int concurrency;
+
+    PagedDownload(final int pageSize, final int concurrency) {
+        this.pageSize = pageSize;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Implementation of this method will download a single page of the resource.
+     *
+     * @param startIndex the index of the first result of the page.
+     * @param limit      the maximum number of results of the page.
+     * @return the results of the page.
+     * @throws IOException when the page can't be downloaded.
+     */
+    protected abstract List<T> loadPage(final int startIndex, final int limit) throws IOException;
+
+    /**
+     * Download all pages of the resource.
+     *
+     * @return the results of all pages, in page order.
+     * @throws IOException when one of the pages can't be downloaded.
+     */
+    List<T> download() throws IOException {
+        List<T> firstPage = loadPage(0, pageSize);
+        if (firstPage.isEmpty()) {
+            return firstPage;
+        }
+
+        int stride = firstPage.size();
+        List<T> results = new ArrayList<T>(firstPage);
+        if (stride < pageSize) {
+            // either the last page or a server capping the limit, only the next page tells.
+            List<T> page = loadPage(stride, pageSize);
+            if (page.isEmpty() || isRepeated(firstPage, page)) {
+                return firstPage;
+            }
+            results.addAll(page);
+            return downloadPages(firstPage, results, stride, 2);
+        }
+        return downloadPages(firstPage, results, stride, 1);
+    }
+
+    private List<T> downloadPages(final List<T> firstPage, final List<T> results, final int stride,
+                                  final int startPage) throws IOException {
+        int nextPage = startPage;
+        if (concurrency <= 1 || DownloadThreads.isDownloadThread()) {
+            List<T> page = loadPage(nextPage++ * stride, pageSize);
+            while (!page.isEmpty()) {
+                if (isRepeated(firstPage, page)) {
+                    return firstPage;
+                }
+                results.addAll(page);
+                page = loadPage(nextPage++ * stride, pageSize);
+            }
+            return results;
+        }
+
+        ExecutorService executor = DownloadThreads.createExecutor(concurrency);
+        try {
+            boolean lastPage = false;
+            while (!lastPage) {
+                List<Future<List<T>>> futures = new ArrayList<Future<List<T>>>(concurrency);
+                for (int i = 0; i < concurrency; i++) {
+                    futures.add(DownloadThreads.submit(executor, createTask(nextPage++ * stride)));
+                }
+                for (Future<List<T>> future : futures) {
+                    List<T> page = DownloadThreads.get(future);
+                    if (lastPage) {
+                        continue;
+                    }
+                    if (isRepeated(firstPage, page)) {
+                        return firstPage;
+                    }
+                    results.addAll(page);
+                    lastPage = page.isEmpty();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private Callable<List<T>> createTask(final int startIndex) {
+        return new Callable<List<T>>() {
+            @Override
+            public List<T> call() throws Exception {
+                return loadPage(startIndex, pageSize);
+            }
+        };
+    }
+
+    private static <T extends OpenmrsSearchable> boolean isRepeated(final List<T> firstPage, final List<T> page) {
+        if (page.isEmpty()) {
+            return false;
+        }
+        String firstUuid = firstPage.get(0).getUuid();
+        return !StringUtil.isEmpty(firstUuid) && firstUuid.equals(page.get(0).getUuid());
+    }
+}
@@ -8,6 +8,7 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.PatientDao;
 import com.muzima.api.model.CohortMember;
 import com.muzima.api.model.Patient;
@@ -19,12 +20,19 @@ import org.apache.lucene.queryParser.ParseException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+@Singleton
 public class PatientDaoImpl extends OpenmrsDaoImpl<Patient> implements PatientDao {
 
     private static final String TAG = PatientDao.class.getSimpleName();
 
+    /**
+     * Maximum number of uuids in a single query, below the default clause limit of lucene boolean queries.
+     */
+    private static final int MAX_UUIDS_PER_QUERY = 512;
+
     protected PatientDaoImpl() {
         super(Patient.class);
     }
@@ -150,6 +158,47 @@ public class PatientDaoImpl extends OpenmrsDaoImpl<Patient> implements PatientDa
         return service.getObjects(StringUtil.EMPTY, daoClass, page, pageSize);
     }
 
+    /**
+     * Get the patients with any of the uuids from the local repository. The uuids are looked up with one query for up
+     * to <code>MAX_UUIDS_PER_QUERY</code> uuids, instead of one query per uuid.
+     *
+     * @param uuids the uuids of the patients.
+     * @return the patients found in the local repository.
+     * @throws IOException when search api unable to process the resource.
+     */
+    @Override
+    public List<Patient> getByUuids(final Collection<String> uuids) throws IOException {
+        List<Patient> patients = new ArrayList<Patient>();
+        StringBuilder query = new StringBuilder();
+        int queryUuids = 0;
+        for (String uuid : uuids) {
+            if (StringUtil.isEmpty(uuid)) {
+                continue;
+            }
+            if (queryUuids > 0) {
+                query.append(" OR ");
+            }
+            query.append("uuid:\"").append(uuid).append("\"");
+            if (++queryUuids == MAX_UUIDS_PER_QUERY) {
+                patients.addAll(getByQuery(query.toString()));
+                query.setLength(0);
+                queryUuids = 0;
+            }
+        }
+        if (queryUuids > 0) {
+            patients.addAll(getByQuery(query.toString()));
+        }
+        return patients;
+    }
+
+    private List<Patient> getByQuery(final String query) throws IOException {
+        try {
+            return service.getObjects(query, daoClass);
+        } catch (ParseException e) {
+            throw new IOException("Unable to parse the uuid query: " + e.getMessage());
+        }
+    }
+
     private boolean containsDigit(final String term) {
         for (char c : term.toCharArray()) {
             if (Character.isDigit(c)) {
@@ -8,10 +8,12 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.CohortDao;
 import com.muzima.api.dao.PrivilegeDao;
 import com.muzima.api.model.Privilege;
 
+@Singleton
 public class PrivilegeDaoImpl extends OpenmrsDaoImpl<Privilege> implements PrivilegeDao {
 
     private static final String TAG = CohortDao.class.getSimpleName();
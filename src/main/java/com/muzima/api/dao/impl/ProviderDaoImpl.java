@@ -1,5 +1,6 @@
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.ProviderDao;
 import com.muzima.api.model.Provider;
 import com.muzima.search.api.filter.Filter;
@@ -12,6 +13,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+@Singleton
 public class ProviderDaoImpl extends OpenmrsDaoImpl<Provider> implements ProviderDao {
 
     private static final String TAG = ProviderDaoImpl.class.getSimpleName();
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.dao.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.muzima.api.http.HttpTransport;
+import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.model.resolver.Resolver;
+import com.muzima.search.api.resource.Resource;
+import com.muzima.search.api.util.StreamUtil;
+import com.muzima.util.JsonPathCache;
+import com.muzima.util.JsonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load the objects of a resource from the server. The request is built by the resolver of the resource, the response
+ * is read through the http transport, so it's requested gzip encoded and decompressed when compressed responses are
+ * enabled, and the received bytes are counted. The objects are created by the algorithm of the resource from the
+ * elements of the root node of the response.
+ */
+@Singleton
+class ResourceLoader {
+
+    private static final String CHARSET = "UTF-8";
+
+    @Inject
+    private HttpTransport httpTransport;
+
+    protected ResourceLoader() {
+    }
+
+    /**
+     * Load the objects of the resource matching the parameters.
+     *
+     * @param resourceParams the parameters passed to the resolver of the resource.
+     * @param resource       the resource describing the request and how to create the objects.
+     * @return the objects of the response, or an empty list when the server responded with
+     *         <code>304 Not Modified</code>.
+     * @throws IOException when the request failed or the server responded with an error.
+     */
+    List<Searchable> loadObjects(final Map<String, String> resourceParams, final Resource resource)
+            throws IOException {
+        Resolver resolver = resource.getResolver();
+        HttpURLConnection connection = httpTransport.openConnection(resolver.resolve(resourceParams));
+        connection.setRequestMethod("GET");
+        connection = resolver.authenticate(connection);
+        connection = httpTransport.acceptCompression(resolver.setCustomRequestProperties(connection));
+        try {
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return new ArrayList<Searchable>();
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unable to download the resource " + resource.getName()
+                        + ", server responded with: " + responseCode);
+            }
+            InputStream inputStream = httpTransport.getInputStream(connection);
+            return deserialize(StreamUtil.readAsString(new InputStreamReader(inputStream, CHARSET)), resource);
+        } finally {
+            httpTransport.release(connection);
+        }
+    }
+
+    private static List<Searchable> deserialize(final String response, final Resource resource) throws IOException {
+        Object document = JsonUtils.parse(response);
+        if (document == null) {
+            throw new IOException("Unable to parse the response of the resource " + resource.getName() + ".");
+        }
+        List<Searchable> searchableList = new ArrayList<Searchable>();
+        Object root = JsonPathCache.read(document, resource.getRootNode());
+        if (root instanceof List) {
+            for (Object element : (List) root) {
+                searchableList.add(resource.deserialize(element.toString()));
+            }
+        } else if (root != null) {
+            searchableList.add(resource.deserialize(root.toString()));
+        }
+        return searchableList;
+    }
+}
@@ -8,10 +8,12 @@
 
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.CohortDao;
 import com.muzima.api.dao.RoleDao;
 import com.muzima.api.model.Role;
 
+@Singleton
 public class RoleDaoImpl extends OpenmrsDaoImpl<Role> implements RoleDao {
 
     private static final String TAG = CohortDao.class.getSimpleName();
@@ -1,8 +1,10 @@
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.SetupConfigurationDao;
 import com.muzima.api.model.SetupConfiguration;
 
+@Singleton
 public class SetupConfigurationDaoImpl extends OpenmrsDaoImpl<SetupConfiguration> implements SetupConfigurationDao {
     protected SetupConfigurationDaoImpl(){
         super(SetupConfiguration.class);
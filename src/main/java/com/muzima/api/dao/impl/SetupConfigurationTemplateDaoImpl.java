@@ -1,8 +1,10 @@
 package com.muzima.api.dao.impl;
 
+import com.google.inject.Singleton;
 import com.muzima.api.dao.SetupConfigurationTemplateDao;
 import com.muzima.api.model.SetupConfigurationTemplate;
 
+@Singleton
 public class SetupConfigurationTemplateDaoImpl  extends OpenmrsDaoImpl<SetupConfigurationTemplate> implements SetupConfigurationTemplateDao{
     protected SetupConfigurationTemplateDaoImpl() {
         super(SetupConfigurationTemplate.class);
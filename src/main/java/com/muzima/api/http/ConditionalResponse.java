@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.http;
+
+/**
+ * Response of a conditional request: whether the resource was modified and the validators the server sent with the
+ * response. The validators are only stored with <code>ValidatorStore.record</code>, once the downloaded object has
+ * been saved.
+ */
+public class ConditionalResponse {
+
+    private final String address;
+
+    private final boolean notModified;
+
+    private final String entityTag;
+
+    private final long lastModified;
+
+    ConditionalResponse(final String address, final boolean notModified, final String entityTag,
+                        final long lastModified) {
+        this.address = address;
+        this.notModified = notModified;
+        this.entityTag = entityTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Get the address of the requested resource.
+     *
+     * @return the address of the resource.
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Whether the server responded with <code>304 Not Modified</code>.
+     *
+     * @return true when the resource didn't change since the last download.
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * Get the entity tag of the response.
+     *
+     * @return the entity tag, or null when the response has none.
+     */
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * Get the last modified time of the response.
+     *
+     * @return the last modified time in milliseconds, or 0 when the response has none.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
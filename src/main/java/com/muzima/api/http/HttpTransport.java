@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.http;
+
+import com.google.inject.ImplementedBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+
+/**
+ * Transport of the http requests to the server. The transport opens and configures the connections of the muzima api
+ * and releases them once the response has been read, so the underlying socket can be reused by the next request to
+ * the same server. Bind a different implementation in a module registered with the context factory to replace it.
+ */
+@ImplementedBy(KeepAliveHttpTransport.class)
+public interface HttpTransport {
+
+    /**
+     * Open a configured connection to the address.
+     *
+     * @param address the address of the resource.
+     * @return the connection, not connected yet.
+     * @throws IOException when the connection can't be opened.
+     */
+    HttpURLConnection openConnection(final String address) throws IOException;
+
+    /**
+     * Configure a connection opened outside of the transport.
+     *
+     * @param connection the connection, not connected yet.
+     * @return the configured connection.
+     */
+    HttpURLConnection configure(final HttpURLConnection connection);
+
+    /**
+     * Request a gzip encoded response when compressed responses are enabled. Only use this for responses read with
+     * <code>getInputStream</code> of the transport, which decompresses them.
+     *
+     * @param connection the connection, not connected yet.
+     * @return the connection requesting a gzip encoded response.
+     */
+    HttpURLConnection acceptCompression(final HttpURLConnection connection);
+
+    /**
+     * Get the stream of the response body, decompressed when the server sent a gzip encoded response.
+     *
+     * @param connection the connection.
+     * @return the stream of the response body.
+     * @throws IOException when the response can't be read.
+     */
+    InputStream getInputStream(final HttpURLConnection connection) throws IOException;
+
+    /**
+     * Get the stream of the request body, gzip encoded when compressed uploads are enabled. Closing the stream
+     * completes the request body.
+     *
+     * @param connection the connection, not connected yet.
+     * @return the stream of the request body.
+     * @throws IOException when the stream can't be opened.
+     */
+    OutputStream getOutputStream(final HttpURLConnection connection) throws IOException;
+
+    /**
+     * Release the connection after the response has been read. The remaining response is drained, so the socket can
+     * be kept alive for the next request to the same server.
+     *
+     * @param connection the connection.
+     */
+    void release(final HttpURLConnection connection);
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.http;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Http transport which returns every connection to the keep-alive cache of the platform <code>HttpURLConnection</code>.
+ * The platform only reuses a socket when its response has been read completely, which is what <code>release</code>
+ * takes care of. The cache itself is configured by the application through the <code>http.keepAlive</code> and
+ * <code>http.maxConnections</code> system properties, the transport doesn't change them.
+ *
+ * The connect timeout is the <code>connection.timeout</code> of the search api, the read timeout can be changed by
+ * binding <code>connection.readTimeout</code>.
+ *
+ * Responses read through the transport are requested gzip encoded, unless <code>connection.gzip</code> is bound to
+ * false. Request bodies are only compressed when <code>connection.gzipUploads</code> is bound to true, as the server
+ * must support gzip encoded requests.
+ */
+@Singleton
+public class KeepAliveHttpTransport implements HttpTransport {
+
+    /**
+     * Default time in milliseconds to wait for data from the server before the request fails.
+     */
+    public static final int DEFAULT_READ_TIMEOUT = 60000;
+
+    /**
+     * Responses with more remaining bytes are not drained, the connection is closed instead.
+     */
+    static final int MAX_DRAIN_LENGTH = 64 * 1024;
+
+    @Inject(optional = true)
+    @Named("connection.proxy")
+    private Proxy proxy;
+
+    @Inject(optional = true)
+    @Named("connection.timeout")
+    private int connectTimeout;
+
+    @Inject(optional = true)
+    @Named("connection.readTimeout")
+    private int readTimeout = DEFAULT_READ_TIMEOUT;
+
+    @Inject(optional = true)
+    @Named("connection.gzip")
+    private boolean compressedResponses = true;
+
+    @Inject(optional = true)
+    @Named("connection.gzipUploads")
+    private boolean compressedUploads;
+
+    @Inject
+    private TransferStatistics transferStatistics;
+
+    protected KeepAliveHttpTransport() {
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see HttpTransport#openConnection(String)
+     */
+    @Override
+    public HttpURLConnection openConnection(final String address) throws IOException {
+        URL url = new URL(address);
+        HttpURLConnection connection;
+        if (proxy != null) {
+            connection = (HttpURLConnection) url.openConnection(proxy);
+        } else {
+            connection = (HttpURLConnection) url.openConnection();
+        }
+        return configure(connection);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see HttpTransport#configure(java.net.HttpURLConnection)
+     */
+    @Override
+    public HttpURLConnection configure(final HttpURLConnection connection) {
+        if (connectTimeout > 0) {
+            connection.setConnectTimeout(connectTimeout);
+        }
+        connection.setReadTimeout(readTimeout);
+        connection.setRequestProperty("Connection", "keep-alive");
+        return connection;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see HttpTransport#acceptCompression(java.net.HttpURLConnection)
+     */
+    @Override
+    public HttpURLConnection acceptCompression(final HttpURLConnection connection) {
+        if (compressedResponses) {
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+        }
+        return connection;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see HttpTransport#getInputStream(java.net.HttpURLConnection)
+     */
+    @Override
+    public InputStream getInputStream(final HttpURLConnection connection) throws IOException {
+        InputStream inputStream = transferStatistics.countReceived(connection.getInputStream());
+        if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+        return transferStatistics.countReceivedContent(inputStream);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see HttpTransport#getOutputStream(java.net.HttpURLConnection)
+     */
+    @Override
+    public OutputStream getOutputStream(final HttpURLConnection connection) throws IOException {
+        if (compressedUploads) {
+            connection.setRequestProperty("Content-Encoding", "gzip");
+        }
+        OutputStream outputStream = transferStatistics.countSent(connection.getOutputStream());
+        if (compressedUploads) {
+            outputStream = new GZIPOutputStream(outputStream);
+        }
+        return transferStatistics.countSentContent(outputStream);
+    }
+
+    /**
+     * Release the connection after the response code has been read. The response is drained when at most
+     * <code>MAX_DRAIN_LENGTH</code> bytes remain, longer responses and failed connections are disconnected.
+     *
+     * @param connection the connection whose response code has been read.
+     */
+    @Override
+    public void release(final HttpURLConnection connection) {
+        try {
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                // there's no response body to drain.
+                return;
+            }
+            InputStream inputStream;
+            if (responseCode < HttpURLConnection.HTTP_BAD_REQUEST) {
+                inputStream = connection.getInputStream();
+            } else {
+                inputStream = connection.getErrorStream();
+            }
+            if (inputStream != null) {
+                boolean drained = false;
+                try {
+                    drained = drain(inputStream);
+                } finally {
+                    // disconnect first, closing the stream may read the remaining response and keep the socket.
+                    if (!drained) {
+                        connection.disconnect();
+                    }
+                    inputStream.close();
+                }
+            }
+        } catch (IOException e) {
+            connection.disconnect();
+        }
+    }
+
+    private static boolean drain(final InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[4096];
+        int remaining = MAX_DRAIN_LENGTH;
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            remaining -= read;
+            if (remaining < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.http;
+
+import com.google.inject.Singleton;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte counts of the requests and responses going through the http transport. The transferred bytes are the bytes on
+ * the wire, the content bytes are the bytes before compression of a request and after decompression of a response.
+ * The difference between both is the saving of the gzip encoding.
+ */
+@Singleton
+public class TransferStatistics {
+
+    private final AtomicLong receivedBytes = new AtomicLong();
+
+    private final AtomicLong receivedContentBytes = new AtomicLong();
+
+    private final AtomicLong sentBytes = new AtomicLong();
+
+    private final AtomicLong sentContentBytes = new AtomicLong();
+
+    /**
+     * Get the number of response bytes received from the server.
+     *
+     * @return the number of received bytes.
+     */
+    public long getReceivedBytes() {
+        return receivedBytes.get();
+    }
+
+    /**
+     * Get the number of response bytes after decompression.
+     *
+     * @return the number of received content bytes.
+     */
+    public long getReceivedContentBytes() {
+        return receivedContentBytes.get();
+    }
+
+    /**
+     * Get the number of request bytes sent to the server.
+     *
+     * @return the number of sent bytes.
+     */
+    public long getSentBytes() {
+        return sentBytes.get();
+    }
+
+    /**
+     * Get the number of request bytes before compression.
+     *
+     * @return the number of sent content bytes.
+     */
+    public long getSentContentBytes() {
+        return sentContentBytes.get();
+    }
+
+    /**
+     * Reset all byte counts to zero.
+     */
+    public void reset() {
+        receivedBytes.set(0);
+        receivedContentBytes.set(0);
+        sentBytes.set(0);
+        sentContentBytes.set(0);
+    }
+
+    InputStream countReceived(final InputStream inputStream) {
+        return new CountingInputStream(inputStream, receivedBytes);
+    }
+
+    InputStream countReceivedContent(final InputStream inputStream) {
+        return new CountingInputStream(inputStream, receivedContentBytes);
+    }
+
+    OutputStream countSent(final OutputStream outputStream) {
+        return new CountingOutputStream(outputStream, sentBytes);
+    }
+
+    OutputStream countSentContent(final OutputStream outputStream) {
+        return new CountingOutputStream(outputStream, sentContentBytes);
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        private CountingInputStream(final InputStream inputStream, final AtomicLong count) {
+            super(inputStream);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                count.incrementAndGet();
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count.addAndGet(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long length) throws IOException {
+            long skipped = super.skip(length);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private final AtomicLong count;
+
+        private CountingOutputStream(final OutputStream outputStream, final AtomicLong count) {
+            super(outputStream);
+            this.count = count;
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            out.write(value);
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+            out.write(buffer, offset, length);
+            count.addAndGet(length);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.http;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.Properties;
+
+/**
+ * Validators of the resources downloaded with conditional requests: the <code>ETag</code> and
+ * <code>Last-Modified</code> headers of the last response, stored in a file next to the lucene repository holding
+ * the downloaded objects. A conditional request sends the validators back to the server, which responds with
+ * <code>304 Not Modified</code> when the resource didn't change.
+ *
+ * The resolver configures the connection and the download reads the response on the same thread, so the conditional
+ * request is kept per thread until the download takes its response.
+ */
+@Singleton
+public class ValidatorStore {
+
+    /**
+     * Name of the validator file in the lucene repository directory.
+     */
+    public static final String FILE_NAME = "validators.properties";
+
+    private static final String ENTITY_TAG = ".etag";
+
+    private static final String LAST_MODIFIED = ".lastModified";
+
+    private final Logger logger = LoggerFactory.getLogger(ValidatorStore.class.getSimpleName());
+
+    @Inject(optional = true)
+    @Named(Constants.LUCENE_DIRECTORY_PATH)
+    private String repositoryPath;
+
+    private final ThreadLocal<HttpURLConnection> conditionalRequest = new ThreadLocal<HttpURLConnection>();
+
+    private Properties validators;
+
+    /**
+     * Send the stored validators of the resource with the request. The connection is kept as the conditional request
+     * of the current thread, <code>takeResponse</code> then tells whether the resource was modified.
+     *
+     * @param connection the connection, not connected yet.
+     * @return the connection sending the validators of the resource.
+     */
+    public HttpURLConnection conditional(final HttpURLConnection connection) {
+        String address = connection.getURL().toString();
+        synchronized (this) {
+            Properties properties = getValidators();
+            String entityTag = properties.getProperty(address + ENTITY_TAG);
+            if (!StringUtil.isEmpty(entityTag)) {
+                connection.setRequestProperty("If-None-Match", entityTag);
+            }
+            String lastModified = properties.getProperty(address + LAST_MODIFIED);
+            if (!StringUtil.isEmpty(lastModified)) {
+                connection.setIfModifiedSince(Long.parseLong(lastModified));
+            }
+        }
+        conditionalRequest.set(connection);
+        return connection;
+    }
+
+    /**
+     * Forget the conditional request of the current thread, call this before starting a new conditional download.
+     */
+    public void clearResponse() {
+        conditionalRequest.remove();
+    }
+
+    /**
+     * Take the response of the conditional request of the current thread. The validators of the response are not
+     * stored yet, pass the response to <code>record</code> once the downloaded object has been saved.
+     *
+     * @return the response, or null when no conditional request got a response on the current thread.
+     */
+    public ConditionalResponse takeResponse() {
+        HttpURLConnection connection = conditionalRequest.get();
+        if (connection == null) {
+            return null;
+        }
+        conditionalRequest.remove();
+        int responseCode;
+        try {
+            responseCode = connection.getResponseCode();
+        } catch (IOException e) {
+            // the request failed, the caller gets the failure of the download.
+            return null;
+        }
+        if (responseCode != HttpURLConnection.HTTP_OK && responseCode != HttpURLConnection.HTTP_NOT_MODIFIED) {
+            return null;
+        }
+        return new ConditionalResponse(connection.getURL().toString(),
+                responseCode == HttpURLConnection.HTTP_NOT_MODIFIED, connection.getHeaderField("ETag"),
+                connection.getLastModified());
+    }
+
+    /**
+     * Get the stored entity tag of the resource.
+     *
+     * @param address the address of the resource.
+     * @return the entity tag, or null when there's none.
+     */
+    public synchronized String getEntityTag(final String address) {
+        return getValidators().getProperty(address + ENTITY_TAG);
+    }
+
+    /**
+     * Get the stored last modified time of the resource.
+     *
+     * @param address the address of the resource.
+     * @return the last modified time in milliseconds, or 0 when there's none.
+     */
+    public synchronized long getLastModified(final String address) {
+        String lastModified = getValidators().getProperty(address + LAST_MODIFIED);
+        return StringUtil.isEmpty(lastModified) ? 0 : Long.parseLong(lastModified);
+    }
+
+    /**
+     * Store the validators of the response, or remove the validators of the resource when the response has none.
+     * Call this only once the object downloaded with the response has been saved, a not saved object must be
+     * downloaded again.
+     *
+     * @param response the response of a successful conditional request.
+     */
+    public synchronized void record(final ConditionalResponse response) {
+        Properties properties = getValidators();
+        String address = response.getAddress();
+        long lastModified = response.getLastModified();
+        String lastModifiedValue = lastModified > 0 ? String.valueOf(lastModified) : null;
+        boolean changed = update(properties, address + ENTITY_TAG, response.getEntityTag());
+        changed |= update(properties, address + LAST_MODIFIED, lastModifiedValue);
+        if (changed) {
+            save(properties);
+        }
+    }
+
+    /**
+     * Remove the validators of the resource, the next request of the resource will download the full resource.
+     *
+     * @param address the address of the resource.
+     */
+    public synchronized void remove(final String address) {
+        Properties properties = getValidators();
+        boolean changed = update(properties, address + ENTITY_TAG, null);
+        changed |= update(properties, address + LAST_MODIFIED, null);
+        if (changed) {
+            save(properties);
+        }
+    }
+
+    private static boolean update(final Properties properties, final String key, final String value) {
+        if (StringUtil.isEmpty(value)) {
+            return properties.remove(key) != null;
+        }
+        return !value.equals(properties.setProperty(key, value));
+    }
+
+    private File getFile() {
+        return StringUtil.isEmpty(repositoryPath) ? null : new File(repositoryPath, FILE_NAME);
+    }
+
+    private Properties getValidators() {
+        if (validators == null) {
+            validators = new Properties();
+            File file = getFile();
+            if (file != null && file.exists()) {
+                try {
+                    InputStream inputStream = new FileInputStream(file);
+                    try {
+                        validators.load(inputStream);
+                    } finally {
+                        inputStream.close();
+                    }
+                } catch (IOException e) {
+                    logger.error("Unable to read the validators, all resources will be downloaded again.", e);
+                    validators.clear();
+                }
+            }
+        }
+        return validators;
+    }
+
+    private void save(final Properties properties) {
+        File file = getFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            File directory = file.getParentFile();
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Unable to create the directory: " + directory);
+            }
+            // write a temporary file first, so a failed write doesn't leave a truncated validator file.
+            File temporaryFile = new File(directory, FILE_NAME + ".tmp");
+            OutputStream outputStream = new FileOutputStream(temporaryFile);
+            try {
+                properties.store(outputStream, null);
+            } finally {
+                outputStream.close();
+            }
+            if (!temporaryFile.renameTo(file)) {
+                if (!file.delete() || !temporaryFile.renameTo(file)) {
+                    throw new IOException("Unable to replace the validator file: " + file);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Unable to save the validators.", e);
+        }
+    }
+}
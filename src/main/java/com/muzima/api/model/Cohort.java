@@ -8,16 +8,23 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
 /**
  * Cohort is a structure to hold collection of patients. Cohort will have a one to one connection with a Member object
  * where we can find the uuid of patients in the cohort.
  */
+@JsonDocument
 public class Cohort extends OpenmrsSearchable {
 
+    @JsonField("dynamic")
     private boolean dynamic;
 
+    @JsonField("voided")
     private boolean voided;
 
+    @JsonField("name")
     private String name;
 
     /**
@@ -8,6 +8,8 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.Constants;
 
@@ -17,6 +19,7 @@ import java.util.List;
 /**
  * TODO: Write brief description about the class here.
  */
+@JsonDocument
 public class Concept extends OpenmrsSearchable implements Comparable<Concept> {
 
     public static final String NUMERIC_TYPE = "Numeric";
@@ -27,12 +30,16 @@ public class Concept extends OpenmrsSearchable implements Comparable<Concept> {
 
     public static final String DATE_TYPE = "Date";
 
+    @JsonField("units")
     private String unit;
 
+    @JsonField("precise")
     private boolean precise;
 
+    @JsonField("datatype")
     private ConceptType conceptType;
 
+    @JsonField("names")
     private List<ConceptName> conceptNames;
 
     public String getUnit() {
@@ -8,13 +8,19 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
 /**
  * TODO: Write brief description about the class here.
  */
+@JsonDocument
 public class ConceptName extends OpenmrsSearchable {
 
+    @JsonField("name")
     private String name;
 
+    @JsonField("localePreferred")
     private boolean preferred;
 
     public String getName() {
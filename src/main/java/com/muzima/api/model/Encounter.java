@@ -8,25 +8,36 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
 import java.util.Date;
 
 /**
  * TODO: Write brief description about the class here.
  */
+@JsonDocument
 public class Encounter extends OpenmrsSearchable {
 
+    @JsonField("patient")
     private Patient patient;
 
+    @JsonField("provider")
     private Person provider;
 
+    @JsonField("location")
     private Location location;
 
+    @JsonField("encounterType")
     private EncounterType encounterType;
 
+    @JsonField("encounterDatetime")
     private Date encounterDatetime;
 
+    @JsonField("formDataUuid")
     private String formDataUuid;
 
+    @JsonField("voided")
     private boolean voided;
 
     public String getFormDataUuid() {
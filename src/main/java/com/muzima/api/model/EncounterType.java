@@ -8,11 +8,16 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
 /**
  * TODO: Write brief description about the class here.
  */
+@JsonDocument
 public class EncounterType extends OpenmrsSearchable {
 
+    @JsonField("name")
     private String name;
 
     /**
@@ -8,6 +8,8 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
 import com.muzima.search.api.model.object.Searchable;
 
 import java.util.Date;
@@ -17,26 +19,37 @@ import java.util.Date;
  * incomplete or sent. The class also hold reference to the FormTemplate from which the FormData originate, User who
  * fill the form and Patient to whom the form is associated with.
  */
+@JsonDocument
 public class FormData implements Searchable {
 
+    @JsonField("uuid")
     private String uuid;
 
+    @JsonField("status")
     private String status;
 
+    @JsonField("discriminator")
     private String discriminator;
 
+    @JsonField("xmlPayload")
     private String xmlPayload;
 
+    @JsonField("jsonPayload")
     private String jsonPayload;
 
+    @JsonField("patient.uuid")
     private String patientUuid;
 
+    @JsonField("user.uuid")
     private String userUuid;
 
+    @JsonField("template.uuid")
     private String templateUuid;
 
+    @JsonField("formSaveTime")
     private Date saveTime;
 
+    @JsonField(value = "encounterDate", date = true)
     private Date encounterDate;
 
     /**
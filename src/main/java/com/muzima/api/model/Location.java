@@ -8,15 +8,21 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
 import java.util.List;
 
 /**
  * TODO: Write brief description about the class here.
  */
+@JsonDocument
 public class Location extends OpenmrsSearchable implements Comparable<Location> {
 
+    @JsonField("id")
     private int id;
 
+    @JsonField("name")
     private String name;
 
     public int getId() {
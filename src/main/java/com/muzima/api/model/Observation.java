@@ -8,29 +8,41 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
 import com.muzima.search.api.util.StringUtil;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+@JsonDocument
 public class Observation extends OpenmrsSearchable {
 
+    @JsonField("person")
     private Person person;
 
+    @JsonField("encounter")
     private Encounter encounter;
 
+    @JsonField("concept")
     private Concept concept;
 
+    @JsonField("valueCoded")
     private Concept valueCoded;
 
+    @JsonField("valueDatetime")
     private Date valueDatetime;
 
+    @JsonField("valueNumeric")
     private Double valueNumeric;
 
+    @JsonField("valueText")
     private String valueText;
 
+    @JsonField("obsDatetime")
     private Date observationDatetime;
 
+    @JsonField("voided")
     private boolean voided;
 
     public Person getPerson() {
@@ -8,6 +8,7 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonField;
 import com.muzima.search.api.model.object.Searchable;
 
 import java.io.Serializable;
@@ -19,6 +20,7 @@ public abstract class OpenmrsSearchable implements Searchable, Serializable {
 
     private String uri;
 
+    @JsonField("uuid")
     private String uuid;
 
     /**
@@ -8,15 +8,20 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
 import com.muzima.search.api.util.StringUtil;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+@JsonDocument
 public class Patient extends Person implements Comparable<Patient> {
 
+    @JsonField("identifiers")
     private List<PatientIdentifier> identifiers;
+    @JsonField(value = "attributes", getter = "getAtributes")
     private List<PersonAttribute> attributes;
 
     public void addIdentifier(final PatientIdentifier identifier) {
@@ -8,12 +8,19 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
+@JsonDocument
 public class PatientIdentifier extends OpenmrsSearchable {
 
+    @JsonField("preferred")
     private boolean preferred;
 
+    @JsonField("identifier")
     private String identifier;
 
+    @JsonField("identifierType")
     private PatientIdentifierType identifierType;
 
     public boolean isPreferred() {
@@ -8,6 +8,8 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
 import com.muzima.search.api.util.StringUtil;
 
 import java.util.ArrayList;
@@ -17,16 +19,21 @@ import java.util.List;
 /**
  * TODO: Write brief description about the class here.
  */
+@JsonDocument
 public class Person extends OpenmrsSearchable {
 
     public static final String DISPLAY_NAME_FOR_ENCOUNTER_FOR_OBSERVATIONS_WITH_NULL_UUID = "";
 
+    @JsonField("gender")
     private String gender;
 
+    @JsonField(value = "birthdate", date = true)
     private Date birthdate;
 
+    @JsonField("names")
     private List<PersonName> names;
 
+    @JsonField("voided")
     private boolean voided;
 
     /**
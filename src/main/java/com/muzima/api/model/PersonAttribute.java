@@ -7,10 +7,16 @@
  */
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
+@JsonDocument
 public class PersonAttribute extends OpenmrsSearchable {
 
+    @JsonField("hydratedObject")
     private String attribute;
 
+    @JsonField("attributeType")
     private PersonAttributeType attributeType;
 
     /* get the patient attribute
@@ -7,8 +7,13 @@
  */
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
+@JsonDocument
 public class PersonAttributeType extends OpenmrsSearchable {
 
+    @JsonField("name")
     private String name;
 
     /**
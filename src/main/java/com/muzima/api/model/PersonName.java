@@ -8,17 +8,25 @@
 
 package com.muzima.api.model;
 
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
 /**
  * TODO: Write brief description about the class here.
  */
+@JsonDocument
 public class PersonName extends OpenmrsSearchable {
 
+    @JsonField("preferred")
     private boolean preferred;
 
+    @JsonField("givenName")
     private String givenName;
 
+    @JsonField("middleName")
     private String middleName;
 
+    @JsonField("familyName")
     private String familyName;
 
     public boolean isPreferred() {
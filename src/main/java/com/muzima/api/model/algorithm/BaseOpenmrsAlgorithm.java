@@ -8,9 +8,67 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.model.serialization.Algorithm;
+import com.muzima.util.JsonUtils;
+
+import java.io.IOException;
+import java.io.StringWriter;
 
 /**
+ * Base algorithm for the OpenMRS objects. The json representation is parsed only once, the actual algorithm reads
+ * all values from the parsed document and passes the parsed sub documents to the algorithms of the nested objects.
+ * Serializing writes into a single json generator, the algorithms of the nested objects write into the same
+ * generator instead of creating their own json string.
  */
 public abstract class BaseOpenmrsAlgorithm implements Algorithm {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Parse the json representation and create the object from the parsed document.
+     *
+     * @param serialized the json representation
+     * @return the concrete object
+     */
+    @Override
+    public Searchable deserialize(final String serialized) throws IOException {
+        return deserialize(JsonUtils.parse(serialized));
+    }
+
+    /**
+     * Implementation of this method will define how the object will be created from the parsed json document.
+     *
+     * @param document the parsed json document, or null when the json representation doesn't contain the object.
+     * @return the concrete object
+     */
+    public abstract Searchable deserialize(final Object document) throws IOException;
+
+    /**
+     * Write the object into a json generator and return the json representation.
+     *
+     * @param object the object
+     * @return the string representation
+     */
+    @Override
+    public String serialize(final Searchable object) throws IOException {
+        StringWriter writer = new StringWriter();
+        JsonGenerator generator = jsonFactory.createGenerator(writer);
+        try {
+            serialize(object, generator);
+        } finally {
+            generator.close();
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Implementation of this method will define how the object will be written as a json object into the generator.
+     *
+     * @param object    the object
+     * @param generator the json generator, positioned where the json object of the object should be written.
+     */
+    public abstract void serialize(final Searchable object, final JsonGenerator generator) throws IOException;
 }
@@ -8,10 +8,10 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Cohort;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -22,33 +22,33 @@ public class CohortAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Cohort cohort = new Cohort();
-        cohort.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        cohort.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
-        cohort.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        cohort.setDynamic(JsonUtils.readAsBoolean(serialized, "$['dynamic']"));
+        cohort.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        cohort.setVoided(JsonUtils.readAsBoolean(document, "$['voided']"));
+        cohort.setName(JsonUtils.readAsString(document, "$['name']"));
+        cohort.setDynamic(JsonUtils.readAsBoolean(document, "$['dynamic']"));
         return cohort;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Cohort cohort = (Cohort) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", cohort.getUuid());
-        JsonUtils.writeAsBoolean(jsonObject, "voided", cohort.isVoided());
-        JsonUtils.writeAsString(jsonObject, "name", cohort.getName());
-        JsonUtils.writeAsBoolean(jsonObject, "dynamic", cohort.isDynamic());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", cohort.getUuid());
+        JsonUtils.writeAsBoolean(generator, "voided", cohort.isVoided());
+        JsonUtils.writeAsString(generator, "name", cohort.getName());
+        JsonUtils.writeAsBoolean(generator, "dynamic", cohort.isDynamic());
+        generator.writeEndObject();
     }
 }
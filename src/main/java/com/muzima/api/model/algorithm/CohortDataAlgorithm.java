@@ -7,14 +7,15 @@
  */
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
 import com.muzima.api.model.Patient;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.JsonPathCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,17 +46,17 @@ public class CohortDataAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         CohortData cohortData = new CohortData();
         try {
-            processStaticCohortDataObject(cohortData, serialized);
+            processStaticCohortDataObject(cohortData, document);
         } catch (InvalidPathException invalidStaticCohortException) {
             try {
-                processDynamicCohortDataObject(cohortData, serialized);
+                processDynamicCohortDataObject(cohortData, document);
             } catch (InvalidPathException invalidDynamicCohortException) {
                 logger.error("Unable to tell if the data is dynamic or static cohort!", invalidDynamicCohortException);
             }
@@ -63,11 +64,11 @@ public class CohortDataAlgorithm extends BaseOpenmrsAlgorithm {
         return cohortData;
     }
 
-    private void processStaticCohortDataObject(final CohortData cohortData, final String serialized) throws IOException {
+    private void processStaticCohortDataObject(final CohortData cohortData, final Object document) throws IOException {
         Cohort cohort = new Cohort();
-        List<Object> cohortObjects = JsonPath.read(serialized, "$['results'][*]['cohort']");
+        List<Object> cohortObjects = JsonPathCache.read(document, "$['results'][*]['cohort']");
         for (Object cohortObject : cohortObjects) {
-            cohort = (Cohort) cohortAlgorithm.deserialize(String.valueOf(cohortObject));
+            cohort = (Cohort) cohortAlgorithm.deserialize(cohortObject);
             if (!StringUtil.isEmpty(cohort.getUuid()) && !StringUtil.isEmpty(cohort.getName())) {
                 break;
             }
@@ -75,36 +76,36 @@ public class CohortDataAlgorithm extends BaseOpenmrsAlgorithm {
         cohort.setDynamic(false);
         cohortData.setCohort(cohort);
 
-        List<Object> patientObjects = JsonPath.read(serialized, "$['results'][*]['patient']");
+        List<Object> patientObjects = JsonPathCache.read(document, "$['results'][*]['patient']");
         for (Object patientObject : patientObjects) {
-            Patient patient = (Patient) patientAlgorithm.deserialize(String.valueOf(patientObject));
+            Patient patient = (Patient) patientAlgorithm.deserialize(patientObject);
             cohortData.addCohortMember(new CohortMember(cohort, patient));
             cohortData.addPatient(patient);
         }
     }
 
-    private void processDynamicCohortDataObject(final CohortData cohortData, final String serialized) throws IOException {
-        Object definitionObject = JsonPath.read(serialized, "$['definition']");
-        Cohort cohort = (Cohort) cohortAlgorithm.deserialize(String.valueOf(definitionObject));
+    private void processDynamicCohortDataObject(final CohortData cohortData, final Object document) throws IOException {
+        Object definitionObject = JsonPathCache.read(document, "$['definition']");
+        Cohort cohort = (Cohort) cohortAlgorithm.deserialize(definitionObject);
         cohort.setDynamic(true);
         cohortData.setCohort(cohort);
 
-        List<Object> patientObjects = JsonPath.read(serialized, "$['members']");
+        List<Object> patientObjects = JsonPathCache.read(document, "$['members']");
         for (Object patientObject : patientObjects) {
-            Patient patient = (Patient) patientAlgorithm.deserialize(String.valueOf(patientObject));
+            Patient patient = (Patient) patientAlgorithm.deserialize(patientObject);
             cohortData.addCohortMember(new CohortMember(cohort, patient));
             cohortData.addPatient(patient);
         }
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         throw new IOException("Serializing the cohort data object is not supported right now!");
     }
 }
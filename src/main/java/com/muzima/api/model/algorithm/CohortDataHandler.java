@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Cohort;
+import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Patient;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receive the patients and the members of a cohort in batches while the cohort data is being read.
+ */
+public interface CohortDataHandler {
+
+    /**
+     * Handle a batch of the cohort data. The lists are not reused after the call returns.
+     *
+     * @param cohort   the cohort of the cohort data.
+     * @param patients the patients of the batch.
+     * @param members  the members of the batch, one for each patient.
+     * @throws IOException when the handler is unable to process the batch.
+     */
+    void handle(final Cohort cohort, final List<Patient> patients, final List<CohortMember> members)
+            throws IOException;
+}
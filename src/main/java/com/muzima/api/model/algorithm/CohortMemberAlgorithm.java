@@ -8,13 +8,12 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortMember;
 import com.muzima.api.model.Patient;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -31,33 +30,33 @@ public class CohortMemberAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the patient will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param document the parsed json representation
      * @return the concrete patient object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         CohortMember cohortMember = new CohortMember();
-        Object cohortObject = JsonUtils.readAsObject(serialized, "$['cohort']");
-        cohortMember.setCohort((Cohort) cohortAlgorithm.deserialize(String.valueOf(cohortObject)));
-        Object patientObject = JsonUtils.readAsObject(serialized, "$['patient']");
-        cohortMember.setPatient((Patient) patientAlgorithm.deserialize(String.valueOf(patientObject)));
+        Object cohortObject = JsonUtils.readAsObject(document, "$['cohort']");
+        cohortMember.setCohort((Cohort) cohortAlgorithm.deserialize(cohortObject));
+        Object patientObject = JsonUtils.readAsObject(document, "$['patient']");
+        cohortMember.setPatient((Patient) patientAlgorithm.deserialize(patientObject));
         return cohortMember;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         CohortMember cohortMember = (CohortMember) object;
-        JSONObject jsonObject = new JSONObject();
-        String cohort = cohortAlgorithm.serialize(cohortMember.getCohort());
-        jsonObject.put("cohort", JsonPath.read(cohort, "$"));
-        String patient = patientAlgorithm.serialize(cohortMember.getPatient());
-        jsonObject.put("patient", JsonPath.read(patient, "$"));
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        generator.writeFieldName("cohort");
+        cohortAlgorithm.serialize(cohortMember.getCohort(), generator);
+        generator.writeFieldName("patient");
+        patientAlgorithm.serialize(cohortMember.getPatient(), generator);
+        generator.writeEndObject();
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.model.serialization.Algorithm;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Algorithm writing the compact document encoding of a resource, selected with <code>"algorithm.encoding":
+ * "compact"</code> in the resource configuration. The document is still json, but fields with a null value are left
+ * out, which makes the stored documents smaller and faster to parse. Fields named in the json paths of the
+ * searchable fields are always written, so indexing the document doesn't change.
+ *
+ * Reading is delegated to the actual algorithm unchanged, missing fields are read the same way as null fields. Both
+ * the documents stored before the encoding was selected and the documents from the server are read as before, a
+ * document is stored in the compact encoding the next time it is saved.
+ */
+public class CompactDocumentAlgorithm implements Algorithm {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("\\['([^']*)'\\]");
+
+    private final BaseOpenmrsAlgorithm algorithm;
+
+    private final Set<String> retainedNames;
+
+    /**
+     * Create the compact encoding for the algorithm of a resource.
+     *
+     * @param algorithm   the actual algorithm of the resource.
+     * @param expressions the json paths of the searchable fields of the resource.
+     */
+    public CompactDocumentAlgorithm(final BaseOpenmrsAlgorithm algorithm, final Collection<String> expressions) {
+        this.algorithm = algorithm;
+        Set<String> names = new HashSet<String>();
+        for (String expression : expressions) {
+            Matcher matcher = NAME_PATTERN.matcher(expression);
+            while (matcher.find()) {
+                names.add(matcher.group(1));
+            }
+        }
+        this.retainedNames = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Get the actual algorithm of the resource.
+     *
+     * @return the actual algorithm.
+     */
+    public BaseOpenmrsAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Create the object from the json representation with the actual algorithm.
+     *
+     * @param serialized the json representation, in the compact encoding or not.
+     * @return the concrete object
+     */
+    @Override
+    public Searchable deserialize(final String serialized) throws IOException {
+        return algorithm.deserialize(serialized);
+    }
+
+    /**
+     * Write the object with the actual algorithm, leaving out the null fields which are not used by the searchable
+     * fields.
+     *
+     * @param object the object
+     * @return the compact json representation
+     */
+    @Override
+    public String serialize(final Searchable object) throws IOException {
+        StringWriter writer = new StringWriter();
+        JsonGenerator generator = new NullSkippingJsonGenerator(jsonFactory.createGenerator(writer), retainedNames);
+        try {
+            algorithm.serialize(object, generator);
+        } finally {
+            generator.close();
+        }
+        return writer.toString();
+    }
+}
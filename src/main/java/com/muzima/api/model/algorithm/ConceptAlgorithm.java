@@ -8,14 +8,12 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Concept;
 import com.muzima.api.model.ConceptName;
 import com.muzima.api.model.ConceptType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 import java.util.List;
@@ -46,45 +44,44 @@ public class ConceptAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Concept concept = new Concept();
-        concept.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        concept.setUnit(JsonUtils.readAsString(serialized, "$['units']"));
-        concept.setPrecise(JsonUtils.readAsBoolean(serialized, "$['precise']"));
-        Object conceptTypeObject = JsonUtils.readAsObject(serialized, "$['datatype']");
-        concept.setConceptType((ConceptType) conceptTypeAlgorithm.deserialize(String.valueOf(conceptTypeObject)));
-        List<Object> conceptNameObjects = JsonUtils.readAsObjectList(serialized, "$['names']");
+        concept.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        concept.setUnit(JsonUtils.readAsString(document, "$['units']"));
+        concept.setPrecise(JsonUtils.readAsBoolean(document, "$['precise']"));
+        Object conceptTypeObject = JsonUtils.readAsObject(document, "$['datatype']");
+        concept.setConceptType((ConceptType) conceptTypeAlgorithm.deserialize(conceptTypeObject));
+        List<Object> conceptNameObjects = JsonUtils.readAsObjectList(document, "$['names']");
         for (Object conceptNameObject : conceptNameObjects) {
-            concept.addName((ConceptName) conceptNameAlgorithm.deserialize(String.valueOf(conceptNameObject)));
+            concept.addName((ConceptName) conceptNameAlgorithm.deserialize(conceptNameObject));
         }
         return concept;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Concept concept = (Concept) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", concept.getUuid());
-        JsonUtils.writeAsString(jsonObject, "units", concept.getUnit());
-        JsonUtils.writeAsBoolean(jsonObject, "precise", concept.isPrecise());
-        String conceptType = conceptTypeAlgorithm.serialize(concept.getConceptType());
-        jsonObject.put("datatype", JsonPath.read(conceptType, "$"));
-        JSONArray jsonArray = new JSONArray();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", concept.getUuid());
+        JsonUtils.writeAsString(generator, "units", concept.getUnit());
+        JsonUtils.writeAsBoolean(generator, "precise", concept.isPrecise());
+        generator.writeFieldName("datatype");
+        conceptTypeAlgorithm.serialize(concept.getConceptType(), generator);
+        generator.writeArrayFieldStart("names");
         for (ConceptName conceptName : concept.getConceptNames()) {
-            String name = conceptNameAlgorithm.serialize(conceptName);
-            jsonArray.add(JsonPath.read(name, "$"));
+            conceptNameAlgorithm.serialize(conceptName, generator);
         }
-        jsonObject.put("names", jsonArray);
-        return jsonObject.toJSONString();
+        generator.writeEndArray();
+        generator.writeEndObject();
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Concept;
+import com.muzima.search.api.util.StringUtil;
+import com.muzima.util.JsonUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Share a single concept object between all observations referring to the same concept. A download of observations
+ * usually refers to a few dozen concepts only, so creating the concept and its names for every observation is
+ * wasted work.
+ *
+ * Interning is scoped to a batch: the dao opens a batch on the current thread before downloading observations and
+ * closes it afterwards, the concepts are released with the batch. Threads downloading pages or chunks of the same
+ * download intern into the same batch by running their tasks with <code>wrap</code>. The interned concepts are shared
+ * by the observations of the download, so they must be treated as read only.
+ */
+public class ConceptInterner {
+
+    private static final ThreadLocal<ConceptInterner> batchInterner = new ThreadLocal<ConceptInterner>();
+
+    private final ConcurrentMap<String, Concept> concepts = new ConcurrentHashMap<String, Concept>();
+
+    /**
+     * Start interning the concepts read on the current thread, unless a batch is already open on the current thread.
+     *
+     * @return true when a new batch was opened, the caller must close it.
+     */
+    public static boolean openBatch() {
+        if (batchInterner.get() != null) {
+            return false;
+        }
+        batchInterner.set(new ConceptInterner());
+        return true;
+    }
+
+    /**
+     * Stop interning the concepts read on the current thread and release the interned concepts.
+     */
+    public static void closeBatch() {
+        batchInterner.remove();
+    }
+
+    /**
+     * Wrap the task, so the concepts read by the task are interned in the batch of the current thread on any thread.
+     *
+     * @param task the task running on behalf of the current thread.
+     * @return the task interning the concepts in the batch of the current thread.
+     */
+    public static <V> Callable<V> wrap(final Callable<V> task) {
+        final ConceptInterner interner = batchInterner.get();
+        if (interner == null) {
+            return task;
+        }
+        return new Callable<V>() {
+            @Override
+            public V call() throws Exception {
+                ConceptInterner previous = batchInterner.get();
+                batchInterner.set(interner);
+                try {
+                    return task.call();
+                } finally {
+                    if (previous == null) {
+                        batchInterner.remove();
+                    } else {
+                        batchInterner.set(previous);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Get the interner for the current thread.
+     *
+     * @return the interner of the current batch, or null when concepts are not interned.
+     */
+    static ConceptInterner current() {
+        return batchInterner.get();
+    }
+
+    /**
+     * Get the interned concept for the parsed concept document, creating the concept only when the uuid was not
+     * seen before or when the document holds the names while the interned concept doesn't.
+     *
+     * @param document         the parsed concept document.
+     * @param conceptAlgorithm the algorithm creating the concept.
+     * @return the interned concept.
+     * @throws IOException when the concept can't be created.
+     */
+    Concept intern(final Object document, final ConceptAlgorithm conceptAlgorithm) throws IOException {
+        String uuid = JsonUtils.readAsString(document, "$['uuid']");
+        if (StringUtil.isEmpty(uuid)) {
+            return (Concept) conceptAlgorithm.deserialize(document);
+        }
+        Concept concept = concepts.get(uuid);
+        if (concept == null || (concept.getConceptNames().isEmpty() && hasNames(document))) {
+            concept = (Concept) conceptAlgorithm.deserialize(document);
+            concepts.put(uuid, concept);
+        }
+        return concept;
+    }
+
+    /**
+     * Get the interned concept for a concept which is already created.
+     *
+     * @param concept the concept.
+     * @return the interned concept, or the concept itself when the uuid was not seen before.
+     */
+    Concept intern(final Concept concept) {
+        String uuid = concept.getUuid();
+        if (StringUtil.isEmpty(uuid)) {
+            return concept;
+        }
+        Concept interned = concepts.get(uuid);
+        if (interned == null || (interned.getConceptNames().isEmpty() && !concept.getConceptNames().isEmpty())) {
+            concepts.put(uuid, concept);
+            interned = concept;
+        }
+        return interned;
+    }
+
+    private static boolean hasNames(final Object document) {
+        List<Object> names = JsonUtils.readAsObjectList(document, "$['names']");
+        return !names.isEmpty();
+    }
+}
@@ -8,10 +8,10 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.ConceptName;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -25,31 +25,31 @@ public class ConceptNameAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         ConceptName conceptName = new ConceptName();
-        conceptName.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        conceptName.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        conceptName.setPreferred(JsonUtils.readAsBoolean(serialized, "$['localePreferred']"));
+        conceptName.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        conceptName.setName(JsonUtils.readAsString(document, "$['name']"));
+        conceptName.setPreferred(JsonUtils.readAsBoolean(document, "$['localePreferred']"));
         return conceptName;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         ConceptName conceptName = (ConceptName) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", conceptName.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", conceptName.getName());
-        JsonUtils.writeAsBoolean(jsonObject, "localePreferred", conceptName.isPreferred());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", conceptName.getUuid());
+        JsonUtils.writeAsString(generator, "name", conceptName.getName());
+        JsonUtils.writeAsBoolean(generator, "localePreferred", conceptName.isPreferred());
+        generator.writeEndObject();
     }
 }
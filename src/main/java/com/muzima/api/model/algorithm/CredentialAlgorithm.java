@@ -12,6 +12,7 @@ import com.jayway.jsonpath.JsonPath;
 import com.muzima.api.model.Credential;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.model.serialization.Algorithm;
+import com.muzima.util.JsonPathCache;
 import net.minidev.json.JSONObject;
 
 import java.io.IOException;
@@ -30,19 +31,19 @@ public class CredentialAlgorithm implements Algorithm {
 
         Object jsonObject = JsonPath.read(json, "$");
 
-        String uuid = JsonPath.read(jsonObject, "$['uuid']");
+        String uuid = JsonPathCache.read(jsonObject, "$['uuid']");
         user.setUuid(uuid);
 
-        String userUuid = JsonPath.read(jsonObject, "$['user.uuid']");
+        String userUuid = JsonPathCache.read(jsonObject, "$['user.uuid']");
         user.setUserUuid(userUuid);
 
-        String username = JsonPath.read(jsonObject, "$['username']");
+        String username = JsonPathCache.read(jsonObject, "$['username']");
         user.setUsername(username);
 
-        String password = JsonPath.read(jsonObject, "$['password']");
+        String password = JsonPathCache.read(jsonObject, "$['password']");
         user.setPassword(password);
 
-        String seed = JsonPath.read(jsonObject, "$['salt']");
+        String seed = JsonPathCache.read(jsonObject, "$['salt']");
         user.setSalt(seed);
 
         return user;
@@ -8,12 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Form;
 import com.muzima.api.model.Tag;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -26,26 +25,25 @@ public class FormAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param document the parsed json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
 
 
         Form form = new Form();
-        form.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        form.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        form.setRetired(JsonUtils.readAsBoolean(serialized, "$['retired']"));
-        form.setDescription(JsonUtils.readAsString(serialized, "$['description']"));
-        form.setDiscriminator(JsonUtils.readAsString(serialized, "$['discriminator']"));
-        List<Object> objects = JsonUtils.readAsObjectList(serialized, "$['tags']");
+        form.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        form.setName(JsonUtils.readAsString(document, "$['name']"));
+        form.setRetired(JsonUtils.readAsBoolean(document, "$['retired']"));
+        form.setDescription(JsonUtils.readAsString(document, "$['description']"));
+        form.setDiscriminator(JsonUtils.readAsString(document, "$['discriminator']"));
+        List<Object> objects = JsonUtils.readAsObjectList(document, "$['tags']");
         List<Tag> formTags = new ArrayList<Tag>();
         for (Object tagObject : objects) {
             Tag formTag = new Tag();
-            String tagString = String.valueOf(tagObject);
-            formTag.setName(JsonUtils.readAsString(tagString, "name"));
-            formTag.setUuid(JsonUtils.readAsString(tagString, "uuid"));
+            formTag.setName(JsonUtils.readAsString(tagObject, "$['name']"));
+            formTag.setUuid(JsonUtils.readAsString(tagObject, "$['uuid']"));
             formTags.add(formTag);
         }
         form.setTags(formTags.toArray(new Tag[formTags.size()]));
@@ -54,35 +52,30 @@ public class FormAlgorithm extends BaseOpenmrsAlgorithm {
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         // serialize the minimum needed to identify an object for deletion purposes.
         Form form = (Form) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", form.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", form.getName());
-        JsonUtils.writeAsBoolean(jsonObject, "retired", form.isRetired());
-        JsonUtils.writeAsString(jsonObject, "description", form.getDescription());
-        JsonUtils.writeAsString(jsonObject, "discriminator", form.getDiscriminator());
-        JsonUtils.writeAsString(jsonObject, "version", form.getVersion());
-        jsonObject.put("tags", readTagsToJsonArray(form));
-        return jsonObject.toJSONString();
-    }
-
-    private JSONArray readTagsToJsonArray(Form form) {
-        JSONArray jsonArray = new JSONArray();
-        Tag[] tags = form.getTags();
-        for (Tag tag : tags) {
-            JSONObject jsonObject = new JSONObject();
-            JsonUtils.writeAsString(jsonObject, "name", tag.getName());
-            JsonUtils.writeAsString(jsonObject, "uuid", tag.getUuid());
-            jsonArray.add(jsonObject);
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", form.getUuid());
+        JsonUtils.writeAsString(generator, "name", form.getName());
+        JsonUtils.writeAsBoolean(generator, "retired", form.isRetired());
+        JsonUtils.writeAsString(generator, "description", form.getDescription());
+        JsonUtils.writeAsString(generator, "discriminator", form.getDiscriminator());
+        JsonUtils.writeAsString(generator, "version", form.getVersion());
+        generator.writeArrayFieldStart("tags");
+        for (Tag tag : form.getTags()) {
+            generator.writeStartObject();
+            JsonUtils.writeAsString(generator, "name", tag.getName());
+            JsonUtils.writeAsString(generator, "uuid", tag.getUuid());
+            generator.writeEndObject();
         }
-        return jsonArray;
+        generator.writeEndArray();
+        generator.writeEndObject();
     }
 }
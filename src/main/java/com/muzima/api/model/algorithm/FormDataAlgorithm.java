@@ -12,6 +12,7 @@ import com.jayway.jsonpath.JsonPath;
 import com.muzima.api.model.FormData;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.model.serialization.Algorithm;
+import com.muzima.util.JsonPathCache;
 import com.muzima.util.JsonUtils;
 import net.minidev.json.JSONObject;
 
@@ -32,34 +33,34 @@ public class FormDataAlgorithm implements Algorithm {
 
         Object jsonObject = JsonPath.read(json, "$");
 
-        String uuid = JsonPath.read(jsonObject, "$['uuid']");
+        String uuid = JsonPathCache.read(jsonObject, "$['uuid']");
         formData.setUuid(uuid);
 
-        String status = JsonPath.read(jsonObject, "$['status']");
+        String status = JsonPathCache.read(jsonObject, "$['status']");
         formData.setStatus(status);
 
-        String discriminator = JsonPath.read(jsonObject, "$['discriminator']");
+        String discriminator = JsonPathCache.read(jsonObject, "$['discriminator']");
         formData.setDiscriminator(discriminator);
 
-        String jsonPayload = JsonPath.read(jsonObject, "$['jsonPayload']");
+        String jsonPayload = JsonPathCache.read(jsonObject, "$['jsonPayload']");
         formData.setJsonPayload(jsonPayload);
 
-        String xmlPayload = JsonPath.read(jsonObject, "$['xmlPayload']");
+        String xmlPayload = JsonPathCache.read(jsonObject, "$['xmlPayload']");
         formData.setXmlPayload(xmlPayload);
 
-        String templateUuid = JsonPath.read(jsonObject, "$['template.uuid']");
+        String templateUuid = JsonPathCache.read(jsonObject, "$['template.uuid']");
         formData.setTemplateUuid(templateUuid);
 
-        String patientUuid = JsonPath.read(jsonObject, "$['patient.uuid']");
+        String patientUuid = JsonPathCache.read(jsonObject, "$['patient.uuid']");
         formData.setPatientUuid(patientUuid);
 
-        String userUuid = JsonPath.read(jsonObject, "$['user.uuid']");
+        String userUuid = JsonPathCache.read(jsonObject, "$['user.uuid']");
         formData.setUserUuid(userUuid);
 
-        Date saveTime = JsonUtils.readAsDateTime(json, "$['formSaveTime']");
+        Date saveTime = JsonUtils.readAsDateTime(jsonObject, "$['formSaveTime']");
         formData.setSaveTime(saveTime);
 
-        Date encounterDate = JsonUtils.readAsDate(json, "$['encounterDate']");
+        Date encounterDate = JsonUtils.readAsDate(jsonObject, "$['encounterDate']");
         formData.setEncounterDate(encounterDate);
 
         return formData;
@@ -8,10 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.FormTemplate;
 import com.muzima.search.api.model.object.Searchable;
-import net.minidev.json.JSONObject;
+import com.muzima.util.JsonPathCache;
+import com.muzima.util.JsonUtils;
 
 import java.io.IOException;
 
@@ -20,48 +21,46 @@ public class FormTemplateAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param json the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String json) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         FormTemplate formTemplate = new FormTemplate();
 
-        Object jsonObject = JsonPath.read(json, "$");
-
-        String html = JsonPath.read(jsonObject, "$['html']");
+        String html = JsonPathCache.read(document, "$['html']");
         formTemplate.setHtml(html);
 
-        String metaJson = JsonPath.read(jsonObject, "$['metaJson']");
+        String metaJson = JsonPathCache.read(document, "$['metaJson']");
         formTemplate.setMetaJson(metaJson);
 
-        String modelXml = JsonPath.read(jsonObject, "$['modelXml']");
+        String modelXml = JsonPathCache.read(document, "$['modelXml']");
         formTemplate.setModelXml(modelXml);
 
-        String modelJson = JsonPath.read(jsonObject, "$['modelJson']");
+        String modelJson = JsonPathCache.read(document, "$['modelJson']");
         formTemplate.setModelJson(modelJson);
 
-        String uuid = JsonPath.read(jsonObject, "$['uuid']");
+        String uuid = JsonPathCache.read(document, "$['uuid']");
         formTemplate.setUuid(uuid);
 
         return formTemplate;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         FormTemplate formTemplate = (FormTemplate) object;
-        JSONObject jsonObject = new JSONObject();
-        jsonObject.put("html", formTemplate.getHtml());
-        jsonObject.put("metaJson", formTemplate.getMetaJson());
-        jsonObject.put("modelXml", formTemplate.getModelXml());
-        jsonObject.put("modelJson", formTemplate.getModelJson());
-        jsonObject.put("uuid", formTemplate.getUuid());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "html", formTemplate.getHtml());
+        JsonUtils.writeAsString(generator, "metaJson", formTemplate.getMetaJson());
+        JsonUtils.writeAsString(generator, "modelXml", formTemplate.getModelXml());
+        JsonUtils.writeAsString(generator, "modelJson", formTemplate.getModelJson());
+        JsonUtils.writeAsString(generator, "uuid", formTemplate.getUuid());
+        generator.writeEndObject();
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Read the json values directly from the json tokens without building the json document in memory. The objects are
+ * read by the generated algorithms of the annotated model classes, which use these methods for the single values.
+ *
+ * Each read method expects the parser to be positioned on the value token, and leaves the parser positioned on the
+ * last token of the value.
+ */
+final class JsonStreamReader {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private JsonStreamReader() {
+    }
+
+    /**
+     * Create a parser for the json representation, positioned on the first token.
+     *
+     * @param serialized the json representation.
+     * @return the parser positioned on the first token.
+     * @throws IOException when the json representation can't be read.
+     */
+    static JsonParser createParser(final String serialized) throws IOException {
+        JsonParser parser = jsonFactory.createParser(serialized);
+        parser.nextToken();
+        return parser;
+    }
+
+    /**
+     * Create a parser for the json stream, positioned on the first token.
+     *
+     * @param inputStream the json stream.
+     * @return the parser positioned on the first token.
+     * @throws IOException when the json stream can't be read.
+     */
+    static JsonParser createParser(final InputStream inputStream) throws IOException {
+        JsonParser parser = jsonFactory.createParser(inputStream);
+        parser.nextToken();
+        return parser;
+    }
+
+    /**
+     * Check whether the current token starts an object. Any other value is skipped, which makes the read methods
+     * return an empty object for null or unexpected values.
+     */
+    static boolean startObject(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    static boolean startArray(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_ARRAY) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    static String readString(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    static boolean readBoolean(final JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        parser.skipChildren();
+        return token == JsonToken.VALUE_TRUE;
+    }
+
+    static double readNumeric(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken().isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        parser.skipChildren();
+        return 0;
+    }
+
+    static int readInteger(final JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return 0;
+    }
+}
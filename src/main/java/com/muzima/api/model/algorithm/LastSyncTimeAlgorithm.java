@@ -7,10 +7,10 @@
  */
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.LastSyncTime;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -21,23 +21,29 @@ public class LastSyncTimeAlgorithm extends BaseOpenmrsAlgorithm {
     public static final String STANDARD_LAST_SYNC_TIME_REPRESENTATION = "(uuid,apiName,paramSignature,lastSyncDate)";
 
     @Override
-    public Searchable deserialize(String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         LastSyncTime lastSyncTime = new LastSyncTime();
-        lastSyncTime.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        lastSyncTime.setApiName(getAPIName(JsonUtils.readAsString(serialized, "$['apiName']")));
-        lastSyncTime.setParamSignature(JsonUtils.readAsString(serialized, "$['paramSignature']"));
-        lastSyncTime.setLastSyncDate(JsonUtils.readAsDateTime(serialized, "$['lastSyncDate']"));
+        lastSyncTime.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        lastSyncTime.setApiName(getAPIName(JsonUtils.readAsString(document, "$['apiName']")));
+        lastSyncTime.setParamSignature(JsonUtils.readAsString(document, "$['paramSignature']"));
+        lastSyncTime.setLastSyncDate(JsonUtils.readAsDateTime(document, "$['lastSyncDate']"));
         return lastSyncTime;
     }
 
+    /**
+     * Implementation of this method will define how the object will be written as a json object into the generator.
+     *
+     * @param object    the object
+     * @param generator the json generator
+     */
     @Override
-    public String serialize(Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         LastSyncTime lastSyncTime = (LastSyncTime) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", lastSyncTime.getUuid());
-        JsonUtils.writeAsString(jsonObject, "apiName", lastSyncTime.getApiName().toString());
-        JsonUtils.writeAsString(jsonObject, "paramSignature", lastSyncTime.getParamSignature());
-        JsonUtils.writeAsDateTime(jsonObject, "lastSyncDate", lastSyncTime.getLastSyncDate());
-        return jsonObject.toString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", lastSyncTime.getUuid());
+        JsonUtils.writeAsString(generator, "apiName", lastSyncTime.getApiName().toString());
+        JsonUtils.writeAsString(generator, "paramSignature", lastSyncTime.getParamSignature());
+        JsonUtils.writeAsDateTime(generator, "lastSyncDate", lastSyncTime.getLastSyncDate());
+        generator.writeEndObject();
     }
 }
@@ -8,10 +8,10 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Location;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -25,31 +25,31 @@ public class LocationAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Location location = new Location();
-        location.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        location.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        location.setId(JsonUtils.readAsInteger(serialized, "$['id']"));
+        location.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        location.setName(JsonUtils.readAsString(document, "$['name']"));
+        location.setId(JsonUtils.readAsInteger(document, "$['id']"));
         return location;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Location location = (Location) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", location.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", location.getName());
-        JsonUtils.writeAsInteger(jsonObject, "id", location.getId());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", location.getUuid());
+        JsonUtils.writeAsString(generator, "name", location.getName());
+        JsonUtils.writeAsInteger(generator, "id", location.getId());
+        generator.writeEndObject();
     }
 }
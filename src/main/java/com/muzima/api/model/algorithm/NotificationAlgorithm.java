@@ -8,13 +8,12 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Notification;
 import com.muzima.api.model.Patient;
 import com.muzima.api.model.Person;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -38,55 +37,55 @@ public class NotificationAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param document the parsed json representation
      * @return the concrete observation object
      */
     @Override
-    public Notification deserialize(final String serialized) throws IOException {
+    public Notification deserialize(final Object document) throws IOException {
         Notification notification = new Notification();
-        notification.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        notification.setSubject(JsonUtils.readAsString(serialized, "$['subject']"));
-        notification.setDateCreated(JsonUtils.readAsDate(serialized, "$['dateCreated']"));
-        notification.setSource(JsonUtils.readAsString(serialized, "$['source']"));
-        notification.setStatus(JsonUtils.readAsString(serialized, "$['status']"));
-        notification.setPayload(JsonUtils.readAsString(serialized, "$['payload']"));
+        notification.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        notification.setSubject(JsonUtils.readAsString(document, "$['subject']"));
+        notification.setDateCreated(JsonUtils.readAsDate(document, "$['dateCreated']"));
+        notification.setSource(JsonUtils.readAsString(document, "$['source']"));
+        notification.setStatus(JsonUtils.readAsString(document, "$['status']"));
+        notification.setPayload(JsonUtils.readAsString(document, "$['payload']"));
 
-        Object patientObject = JsonUtils.readAsObject(serialized, "$['patient']");
-        notification.setPatient((Patient) patientAlgorithm.deserialize(String.valueOf(patientObject)));
+        Object patientObject = JsonUtils.readAsObject(document, "$['patient']");
+        notification.setPatient((Patient) patientAlgorithm.deserialize(patientObject));
 
-        Object senderObject = JsonUtils.readAsObject(serialized, "$['sender']");
-        notification.setSender((Person) personAlgorithm.deserialize(String.valueOf(senderObject)));
+        Object senderObject = JsonUtils.readAsObject(document, "$['sender']");
+        notification.setSender((Person) personAlgorithm.deserialize(senderObject));
 
-        Object receiverObject = JsonUtils.readAsObject(serialized, "$['receiver']");
-        notification.setReceiver((Person) personAlgorithm.deserialize(String.valueOf(receiverObject)));
+        Object receiverObject = JsonUtils.readAsObject(document, "$['receiver']");
+        notification.setReceiver((Person) personAlgorithm.deserialize(receiverObject));
         return notification;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Notification notification = (Notification) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", notification.getUuid());
-        JsonUtils.writeAsString(jsonObject, "subject", notification.getSubject());
-        JsonUtils.writeAsDate(jsonObject, "dateCreated", notification.getDateCreated());
-        JsonUtils.writeAsString(jsonObject, "source", notification.getSource());
-        JsonUtils.writeAsString(jsonObject, "status", notification.getStatus());
-        JsonUtils.writeAsString(jsonObject, "payload", notification.getPayload());
-
-        String patient = patientAlgorithm.serialize(notification.getPatient());
-        jsonObject.put("patient", JsonPath.read(patient, "$"));
-
-        String sender = personAlgorithm.serialize(notification.getSender());
-        jsonObject.put("sender", JsonPath.read(sender, "$"));
-
-        String receiver = personAlgorithm.serialize(notification.getReceiver());
-        jsonObject.put("receiver", JsonPath.read(receiver, "$"));
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", notification.getUuid());
+        JsonUtils.writeAsString(generator, "subject", notification.getSubject());
+        JsonUtils.writeAsDate(generator, "dateCreated", notification.getDateCreated());
+        JsonUtils.writeAsString(generator, "source", notification.getSource());
+        JsonUtils.writeAsString(generator, "status", notification.getStatus());
+        JsonUtils.writeAsString(generator, "payload", notification.getPayload());
+
+        generator.writeFieldName("patient");
+        patientAlgorithm.serialize(notification.getPatient(), generator);
+
+        generator.writeFieldName("sender");
+        personAlgorithm.serialize(notification.getSender(), generator);
+
+        generator.writeFieldName("receiver");
+        personAlgorithm.serialize(notification.getReceiver(), generator);
+        generator.writeEndObject();
     }
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Set;
+
+/**
+ * Json generator which leaves out the fields with a null value. The field name is held back until the value is
+ * written, and both are dropped when the value is null. Fields with one of the retained names are always written,
+ * so the json paths of the searchable fields still find them.
+ */
+class NullSkippingJsonGenerator extends JsonGeneratorDelegate {
+
+    private final Set<String> retainedNames;
+
+    private String pendingName;
+
+    NullSkippingJsonGenerator(final JsonGenerator generator, final Set<String> retainedNames) {
+        super(generator, false);
+        this.retainedNames = retainedNames;
+    }
+
+    private void writePendingName() throws IOException {
+        if (pendingName != null) {
+            String name = pendingName;
+            pendingName = null;
+            delegate.writeFieldName(name);
+        }
+    }
+
+    @Override
+    public void writeFieldName(final String name) throws IOException {
+        writePendingName();
+        if (retainedNames.contains(name)) {
+            delegate.writeFieldName(name);
+        } else {
+            pendingName = name;
+        }
+    }
+
+    @Override
+    public void writeFieldName(final SerializableString name) throws IOException {
+        writeFieldName(name.getValue());
+    }
+
+    @Override
+    public void writeStringField(final String fieldName, final String value) throws IOException {
+        writeFieldName(fieldName);
+        writeString(value);
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        if (pendingName != null) {
+            pendingName = null;
+            return;
+        }
+        delegate.writeNull();
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+        writePendingName();
+        delegate.writeStartArray();
+    }
+
+    @Override
+    public void writeStartArray(final int size) throws IOException {
+        writePendingName();
+        delegate.writeStartArray(size);
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        writePendingName();
+        delegate.writeStartObject();
+    }
+
+    @Override
+    public void writeString(final String text) throws IOException {
+        if (text == null) {
+            writeNull();
+            return;
+        }
+        writePendingName();
+        delegate.writeString(text);
+    }
+
+    @Override
+    public void writeString(final char[] text, final int offset, final int len) throws IOException {
+        writePendingName();
+        delegate.writeString(text, offset, len);
+    }
+
+    @Override
+    public void writeString(final SerializableString text) throws IOException {
+        writePendingName();
+        delegate.writeString(text);
+    }
+
+    @Override
+    public void writeRawUTF8String(final byte[] text, final int offset, final int length) throws IOException {
+        writePendingName();
+        delegate.writeRawUTF8String(text, offset, length);
+    }
+
+    @Override
+    public void writeUTF8String(final byte[] text, final int offset, final int length) throws IOException {
+        writePendingName();
+        delegate.writeUTF8String(text, offset, length);
+    }
+
+    @Override
+    public void writeRawValue(final String text) throws IOException {
+        writePendingName();
+        delegate.writeRawValue(text);
+    }
+
+    @Override
+    public void writeRawValue(final String text, final int offset, final int len) throws IOException {
+        writePendingName();
+        delegate.writeRawValue(text, offset, len);
+    }
+
+    @Override
+    public void writeRawValue(final char[] text, final int offset, final int len) throws IOException {
+        writePendingName();
+        delegate.writeRawValue(text, offset, len);
+    }
+
+    @Override
+    public void writeBinary(final Base64Variant b64variant, final byte[] data, final int offset, final int len)
+            throws IOException {
+        writePendingName();
+        delegate.writeBinary(b64variant, data, offset, len);
+    }
+
+    @Override
+    public int writeBinary(final Base64Variant b64variant, final InputStream data, final int dataLength)
+            throws IOException {
+        writePendingName();
+        return delegate.writeBinary(b64variant, data, dataLength);
+    }
+
+    @Override
+    public void writeNumber(final short v) throws IOException {
+        writePendingName();
+        delegate.writeNumber(v);
+    }
+
+    @Override
+    public void writeNumber(final int v) throws IOException {
+        writePendingName();
+        delegate.writeNumber(v);
+    }
+
+    @Override
+    public void writeNumber(final long v) throws IOException {
+        writePendingName();
+        delegate.writeNumber(v);
+    }
+
+    @Override
+    public void writeNumber(final BigInteger v) throws IOException {
+        if (v == null) {
+            writeNull();
+            return;
+        }
+        writePendingName();
+        delegate.writeNumber(v);
+    }
+
+    @Override
+    public void writeNumber(final double v) throws IOException {
+        writePendingName();
+        delegate.writeNumber(v);
+    }
+
+    @Override
+    public void writeNumber(final float v) throws IOException {
+        writePendingName();
+        delegate.writeNumber(v);
+    }
+
+    @Override
+    public void writeNumber(final BigDecimal v) throws IOException {
+        if (v == null) {
+            writeNull();
+            return;
+        }
+        writePendingName();
+        delegate.writeNumber(v);
+    }
+
+    @Override
+    public void writeNumber(final String encodedValue) throws IOException {
+        if (encodedValue == null) {
+            writeNull();
+            return;
+        }
+        writePendingName();
+        delegate.writeNumber(encodedValue);
+    }
+
+    @Override
+    public void writeBoolean(final boolean state) throws IOException {
+        writePendingName();
+        delegate.writeBoolean(state);
+    }
+
+    @Override
+    public void writeObject(final Object pojo) throws IOException {
+        if (pojo == null) {
+            writeNull();
+            return;
+        }
+        writePendingName();
+        delegate.writeObject(pojo);
+    }
+
+    @Override
+    public void writeTree(final TreeNode rootNode) throws IOException {
+        if (rootNode == null) {
+            writeNull();
+            return;
+        }
+        writePendingName();
+        delegate.writeTree(rootNode);
+    }
+}
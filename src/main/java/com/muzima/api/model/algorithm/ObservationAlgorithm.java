@@ -8,14 +8,13 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Concept;
 import com.muzima.api.model.Encounter;
 import com.muzima.api.model.Observation;
 import com.muzima.api.model.Person;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,56 +48,71 @@ public class ObservationAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param document the parsed json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Observation observation = new Observation();
-        observation.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        observation.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
-        observation.setObservationDatetime(JsonUtils.readAsDateTime(serialized, "$['obsDatetime']"));
+        observation.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        observation.setVoided(JsonUtils.readAsBoolean(document, "$['voided']"));
+        observation.setObservationDatetime(JsonUtils.readAsDateTime(document, "$['obsDatetime']"));
         // values, ignored when they are not exists in the resource
-        observation.setValueText(JsonUtils.readAsString(serialized, "$['valueText']"));
-        observation.setValueNumeric(JsonUtils.readAsNumeric(serialized, "$['valueNumeric']"));
-        observation.setValueDatetime(JsonUtils.readAsDateTime(serialized, "$['valueDatetime']"));
+        observation.setValueText(JsonUtils.readAsString(document, "$['valueText']"));
+        observation.setValueNumeric(JsonUtils.readAsNumeric(document, "$['valueNumeric']"));
+        observation.setValueDatetime(JsonUtils.readAsDateTime(document, "$['valueDatetime']"));
         // value coded need to be handled separately because we can't create the custom structure of value coded!
-        Object valueCodedObject = JsonUtils.readAsObject(serialized, "$['valueCoded']");
-        observation.setValueCoded((Concept) conceptAlgorithm.deserialize(String.valueOf(valueCodedObject)));
+        Object valueCodedObject = JsonUtils.readAsObject(document, "$['valueCoded']");
+        observation.setValueCoded(deserializeConcept(valueCodedObject));
         // some observation might not have the encounter associated with it!
-        Object encounterObject = JsonUtils.readAsObject(serialized, "$['encounter']");
-        observation.setEncounter((Encounter) encounterAlgorithm.deserialize(String.valueOf(encounterObject)));
-        Object conceptObject = JsonUtils.readAsObject(serialized, "$['concept']");
-        observation.setConcept((Concept) conceptAlgorithm.deserialize(String.valueOf(conceptObject)));
-        Object personObject = JsonUtils.readAsObject(serialized, "$['person']");
-        observation.setPerson((Person) personAlgorithm.deserialize(String.valueOf(personObject)));
+        Object encounterObject = JsonUtils.readAsObject(document, "$['encounter']");
+        observation.setEncounter((Encounter) encounterAlgorithm.deserialize(encounterObject));
+        Object conceptObject = JsonUtils.readAsObject(document, "$['concept']");
+        observation.setConcept(deserializeConcept(conceptObject));
+        Object personObject = JsonUtils.readAsObject(document, "$['person']");
+        observation.setPerson((Person) personAlgorithm.deserialize(personObject));
         return observation;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Create the concept from the parsed concept document, reusing the concept interned for the current batch when
+     * the same concept was already read.
      *
-     * @param object the object
-     * @return the string representation
+     * @param document the parsed concept document.
+     * @return the concept.
+     */
+    private Concept deserializeConcept(final Object document) throws IOException {
+        ConceptInterner conceptInterner = ConceptInterner.current();
+        if (conceptInterner == null || document == null) {
+            return (Concept) conceptAlgorithm.deserialize(document);
+        }
+        return conceptInterner.intern(document, conceptAlgorithm);
+    }
+
+    /**
+     * Implementation of this method will define how the object will be written as a json object into the generator.
+     *
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Observation observation = (Observation) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsBoolean(jsonObject, "voided", observation.isVoided());
-        JsonUtils.writeAsString(jsonObject, "uuid", observation.getUuid());
-        JsonUtils.writeAsDateTime(jsonObject, "obsDatetime", observation.getObservationDatetime());
-        JsonUtils.writeAsString(jsonObject, "valueText", observation.getValueText());
-        JsonUtils.writeAsNumeric(jsonObject, "valueNumeric", observation.getValueNumeric());
-        JsonUtils.writeAsDateTime(jsonObject, "valueDatetime", observation.getValueDatetime());
-        String valueCoded = conceptAlgorithm.serialize(observation.getValueCoded());
-        jsonObject.put("valueCoded", JsonPath.read(valueCoded, "$"));
-        String encounter = encounterAlgorithm.serialize(observation.getEncounter());
-        jsonObject.put("encounter", JsonPath.read(encounter, "$"));
-        String concept = conceptAlgorithm.serialize(observation.getConcept());
-        jsonObject.put("concept", JsonPath.read(concept, "$"));
-        String person = personAlgorithm.serialize(observation.getPerson());
-        jsonObject.put("person", JsonPath.read(person, "$"));
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsBoolean(generator, "voided", observation.isVoided());
+        JsonUtils.writeAsString(generator, "uuid", observation.getUuid());
+        JsonUtils.writeAsDateTime(generator, "obsDatetime", observation.getObservationDatetime());
+        JsonUtils.writeAsString(generator, "valueText", observation.getValueText());
+        JsonUtils.writeAsNumeric(generator, "valueNumeric", observation.getValueNumeric());
+        JsonUtils.writeAsDateTime(generator, "valueDatetime", observation.getValueDatetime());
+        generator.writeFieldName("valueCoded");
+        conceptAlgorithm.serialize(observation.getValueCoded(), generator);
+        generator.writeFieldName("encounter");
+        encounterAlgorithm.serialize(observation.getEncounter(), generator);
+        generator.writeFieldName("concept");
+        conceptAlgorithm.serialize(observation.getConcept(), generator);
+        generator.writeFieldName("person");
+        personAlgorithm.serialize(observation.getPerson(), generator);
+        generator.writeEndObject();
     }
 }
@@ -8,15 +8,13 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Patient;
 import com.muzima.api.model.PatientIdentifier;
 import com.muzima.api.model.PersonAttribute;
 import com.muzima.api.model.PersonName;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 import java.util.List;
@@ -42,65 +40,62 @@ public class PatientAlgorithm extends BaseOpenmrsAlgorithm {
     /*
     * Implementation of this method will define how the observation will be serialized from the JSON representation.
     *
-    * @param serialized the json representation
+    * @param document the parsed json representation
     * @return the concrete observation object
     */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Patient patient = new Patient();
-        patient.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        patient.setVoided(JsonUtils.readAsBoolean(serialized, "$['voided']"));
-        patient.setGender(JsonUtils.readAsString(serialized, "$['gender']"));
-        patient.setBirthdate(JsonUtils.readAsDate(serialized, "$['birthdate']"));
-        List<Object> personNameObjects = JsonUtils.readAsObjectList(serialized, "$['names']");
+        patient.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        patient.setVoided(JsonUtils.readAsBoolean(document, "$['voided']"));
+        patient.setGender(JsonUtils.readAsString(document, "$['gender']"));
+        patient.setBirthdate(JsonUtils.readAsDate(document, "$['birthdate']"));
+        List<Object> personNameObjects = JsonUtils.readAsObjectList(document, "$['names']");
         for (Object personNameObject : personNameObjects) {
-            patient.addName((PersonName) personNameAlgorithm.deserialize(String.valueOf(personNameObject)));
+            patient.addName((PersonName) personNameAlgorithm.deserialize(personNameObject));
         }
-        List<Object> identifierObjects = JsonUtils.readAsObjectList(serialized, "$['identifiers']");
+        List<Object> identifierObjects = JsonUtils.readAsObjectList(document, "$['identifiers']");
         for (Object identifierObject : identifierObjects) {
             patient.addIdentifier(
-                    (PatientIdentifier) patientIdentifierAlgorithm.deserialize(String.valueOf(identifierObject)));
+                    (PatientIdentifier) patientIdentifierAlgorithm.deserialize(identifierObject));
         }
-        List<Object> attributesObjects = JsonUtils.readAsObjectList(serialized, "$['attributes']");
+        List<Object> attributesObjects = JsonUtils.readAsObjectList(document, "$['attributes']");
         for (Object attributeObject : attributesObjects) {
             patient.addattribute(
-                    (PersonAttribute) personAttributeAlgorithm.deserialize(String.valueOf(attributeObject)));
+                    (PersonAttribute) personAttributeAlgorithm.deserialize(attributeObject));
         }
         return patient;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Patient patient = (Patient) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", patient.getUuid());
-        JsonUtils.writeAsBoolean(jsonObject, "voided", patient.isVoided());
-        JsonUtils.writeAsString(jsonObject, "gender", patient.getGender());
-        JsonUtils.writeAsDate(jsonObject, "birthdate", patient.getBirthdate());
-        JSONArray nameArray = new JSONArray();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", patient.getUuid());
+        JsonUtils.writeAsBoolean(generator, "voided", patient.isVoided());
+        JsonUtils.writeAsString(generator, "gender", patient.getGender());
+        JsonUtils.writeAsDate(generator, "birthdate", patient.getBirthdate());
+        generator.writeArrayFieldStart("names");
         for (PersonName personName : patient.getNames()) {
-            String name = personNameAlgorithm.serialize(personName);
-            nameArray.add(JsonPath.read(name, "$"));
+            personNameAlgorithm.serialize(personName, generator);
         }
-        jsonObject.put("names", nameArray);
-        JSONArray identifierArray = new JSONArray();
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("identifiers");
         for (PatientIdentifier identifier : patient.getIdentifiers()) {
-            String name = patientIdentifierAlgorithm.serialize(identifier);
-            identifierArray.add(JsonPath.read(name, "$"));
+            patientIdentifierAlgorithm.serialize(identifier, generator);
         }
-        jsonObject.put("identifiers", identifierArray);
-        JSONArray attributeArray = new JSONArray();
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("attributes");
         for (PersonAttribute attribute : patient.getAtributes()) {
-            String name = personAttributeAlgorithm.serialize(attribute);
-            attributeArray.add(JsonPath.read(name, "$"));
+            personAttributeAlgorithm.serialize(attribute, generator);
         }
-        jsonObject.put("attributes", attributeArray);
-        return jsonObject.toJSONString();
+        generator.writeEndArray();
+        generator.writeEndObject();
     }
 }
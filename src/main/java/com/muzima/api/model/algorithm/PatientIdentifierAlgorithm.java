@@ -8,12 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.PatientIdentifier;
 import com.muzima.api.model.PatientIdentifierType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -31,37 +30,37 @@ public class PatientIdentifierAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param document the parsed json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         PatientIdentifier patientIdentifier = new PatientIdentifier();
-        patientIdentifier.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        patientIdentifier.setIdentifier(JsonUtils.readAsString(serialized, "$['identifier']"));
-        patientIdentifier.setPreferred(JsonUtils.readAsBoolean(serialized, "$['preferred']"));
-        Object identifierTypeObject = JsonUtils.readAsObject(serialized, "$['identifierType']");
+        patientIdentifier.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        patientIdentifier.setIdentifier(JsonUtils.readAsString(document, "$['identifier']"));
+        patientIdentifier.setPreferred(JsonUtils.readAsBoolean(document, "$['preferred']"));
+        Object identifierTypeObject = JsonUtils.readAsObject(document, "$['identifierType']");
         PatientIdentifierType identifierType =
-                (PatientIdentifierType) patientIdentifierTypeAlgorithm.deserialize(String.valueOf(identifierTypeObject));
+                (PatientIdentifierType) patientIdentifierTypeAlgorithm.deserialize(identifierTypeObject);
         patientIdentifier.setIdentifierType(identifierType);
         return patientIdentifier;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         PatientIdentifier patientIdentifier = (PatientIdentifier) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", patientIdentifier.getUuid());
-        JsonUtils.writeAsString(jsonObject, "identifier", patientIdentifier.getIdentifier());
-        JsonUtils.writeAsBoolean(jsonObject, "preferred", patientIdentifier.isPreferred());
-        String identifierType = patientIdentifierTypeAlgorithm.serialize(patientIdentifier.getIdentifierType());
-        jsonObject.put("identifierType", JsonPath.read(identifierType, "$"));
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", patientIdentifier.getUuid());
+        JsonUtils.writeAsString(generator, "identifier", patientIdentifier.getIdentifier());
+        JsonUtils.writeAsBoolean(generator, "preferred", patientIdentifier.isPreferred());
+        generator.writeFieldName("identifierType");
+        patientIdentifierTypeAlgorithm.serialize(patientIdentifier.getIdentifierType(), generator);
+        generator.writeEndObject();
     }
 }
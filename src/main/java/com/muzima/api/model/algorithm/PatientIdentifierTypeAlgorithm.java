@@ -8,10 +8,10 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.PatientIdentifierType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -25,29 +25,29 @@ public class PatientIdentifierTypeAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         PatientIdentifierType identifierType = new PatientIdentifierType();
-        identifierType.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        identifierType.setName(JsonUtils.readAsString(serialized, "$['name']"));
+        identifierType.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        identifierType.setName(JsonUtils.readAsString(document, "$['name']"));
         return identifierType;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         PatientIdentifierType identifierType = (PatientIdentifierType) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", identifierType.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", identifierType.getName());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", identifierType.getUuid());
+        JsonUtils.writeAsString(generator, "name", identifierType.getName());
+        generator.writeEndObject();
     }
 }
@@ -8,13 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Person;
 import com.muzima.api.model.PersonName;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 import java.util.List;
@@ -33,41 +31,40 @@ public class PersonAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param document the parsed json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Person person = new Person();
-        person.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        person.setGender(JsonUtils.readAsString(serialized, "$['gender']"));
-        person.setBirthdate(JsonUtils.readAsDate(serialized, "$['birthdate']"));
-        List<Object> personNameObjects = JsonUtils.readAsObjectList(serialized, "$['names']");
+        person.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        person.setGender(JsonUtils.readAsString(document, "$['gender']"));
+        person.setBirthdate(JsonUtils.readAsDate(document, "$['birthdate']"));
+        List<Object> personNameObjects = JsonUtils.readAsObjectList(document, "$['names']");
         for (Object personNameObject : personNameObjects) {
-            person.addName((PersonName) personNameAlgorithm.deserialize(String.valueOf(personNameObject)));
+            person.addName((PersonName) personNameAlgorithm.deserialize(personNameObject));
         }
         return person;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Person person = (Person) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", person.getUuid());
-        JsonUtils.writeAsString(jsonObject, "gender", person.getGender());
-        JsonUtils.writeAsDate(jsonObject, "birthdate", person.getBirthdate());
-        JSONArray nameArray = new JSONArray();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", person.getUuid());
+        JsonUtils.writeAsString(generator, "gender", person.getGender());
+        JsonUtils.writeAsDate(generator, "birthdate", person.getBirthdate());
+        generator.writeArrayFieldStart("names");
         for (PersonName personName : person.getNames()) {
-            String name = personNameAlgorithm.serialize(personName);
-            nameArray.add(JsonPath.read(name, "$"));
+            personNameAlgorithm.serialize(personName, generator);
         }
-        jsonObject.put("names", nameArray);
-        return jsonObject.toJSONString();
+        generator.writeEndArray();
+        generator.writeEndObject();
     }
 }
@@ -7,12 +7,11 @@
  */
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.PersonAttribute;
 import com.muzima.api.model.PersonAttributeType;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -29,35 +28,35 @@ public class PersonAttributeAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the observation will be serialized from the JSON representation.
      *
-     * @param serialized the json representation
+     * @param document the parsed json representation
      * @return the concrete observation object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         PersonAttribute personAttribute = new PersonAttribute();
-        personAttribute.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        personAttribute.setAttribute(JsonUtils.readAsString(serialized, "$['hydratedObject']"));
-        Object attributeTypeObject = JsonUtils.readAsObject(serialized, "$['attributeType']");
+        personAttribute.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        personAttribute.setAttribute(JsonUtils.readAsString(document, "$['hydratedObject']"));
+        Object attributeTypeObject = JsonUtils.readAsObject(document, "$['attributeType']");
         PersonAttributeType attributeType =
-                (PersonAttributeType) personAttributeTypeAlgorithm.deserialize(String.valueOf(attributeTypeObject));
+                (PersonAttributeType) personAttributeTypeAlgorithm.deserialize(attributeTypeObject);
         personAttribute.setAttributeType(attributeType);
         return personAttribute;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         PersonAttribute personAttribute = (PersonAttribute) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", personAttribute.getUuid());
-        JsonUtils.writeAsString(jsonObject, "hydratedObject", personAttribute.getAttribute());
-        String identifierType = personAttributeTypeAlgorithm.serialize(personAttribute.getAttributeType());
-        jsonObject.put("attributeType", JsonPath.read(identifierType, "$"));
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", personAttribute.getUuid());
+        JsonUtils.writeAsString(generator, "hydratedObject", personAttribute.getAttribute());
+        generator.writeFieldName("attributeType");
+        personAttributeTypeAlgorithm.serialize(personAttribute.getAttributeType(), generator);
+        generator.writeEndObject();
     }
 }
@@ -8,10 +8,10 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.PersonName;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -25,35 +25,35 @@ public class PersonNameAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         PersonName personName = new PersonName();
-        personName.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        personName.setGivenName(JsonUtils.readAsString(serialized, "$['givenName']"));
-        personName.setMiddleName(JsonUtils.readAsString(serialized, "$['middleName']"));
-        personName.setFamilyName(JsonUtils.readAsString(serialized, "$['familyName']"));
-        personName.setPreferred(JsonUtils.readAsBoolean(serialized, "$['preferred']"));
+        personName.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        personName.setGivenName(JsonUtils.readAsString(document, "$['givenName']"));
+        personName.setMiddleName(JsonUtils.readAsString(document, "$['middleName']"));
+        personName.setFamilyName(JsonUtils.readAsString(document, "$['familyName']"));
+        personName.setPreferred(JsonUtils.readAsBoolean(document, "$['preferred']"));
         return personName;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         PersonName personName = (PersonName) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", personName.getUuid());
-        JsonUtils.writeAsString(jsonObject, "givenName", personName.getGivenName());
-        JsonUtils.writeAsString(jsonObject, "middleName", personName.getMiddleName());
-        JsonUtils.writeAsString(jsonObject, "familyName", personName.getFamilyName());
-        JsonUtils.writeAsBoolean(jsonObject, "preferred", personName.isPreferred());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", personName.getUuid());
+        JsonUtils.writeAsString(generator, "givenName", personName.getGivenName());
+        JsonUtils.writeAsString(generator, "middleName", personName.getMiddleName());
+        JsonUtils.writeAsString(generator, "familyName", personName.getFamilyName());
+        JsonUtils.writeAsBoolean(generator, "preferred", personName.isPreferred());
+        generator.writeEndObject();
     }
 }
@@ -8,10 +8,10 @@
 
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Privilege;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -22,29 +22,29 @@ public class PrivilegeAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Privilege privilege = new Privilege();
-        privilege.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        privilege.setName(JsonUtils.readAsString(serialized, "$['name']"));
+        privilege.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        privilege.setName(JsonUtils.readAsString(document, "$['name']"));
         return privilege;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Privilege privilege = (Privilege) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", privilege.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", privilege.getUuid());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", privilege.getUuid());
+        JsonUtils.writeAsString(generator, "name", privilege.getUuid());
+        generator.writeEndObject();
     }
 }
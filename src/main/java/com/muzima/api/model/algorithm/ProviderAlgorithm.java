@@ -1,9 +1,9 @@
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Provider;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -13,23 +13,29 @@ public class ProviderAlgorithm extends BaseOpenmrsAlgorithm {
     public static final String PROVIDER_STANDARD_REPRESENTATION = "(uuid,name,id,identifier)";
 
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Provider provider = new Provider();
-        provider.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        provider.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        provider.setId(JsonUtils.readAsInteger(serialized, "$['id']"));
-        provider.setIdentifier(JsonUtils.readAsString(serialized, "$['identifier']"));
+        provider.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        provider.setName(JsonUtils.readAsString(document, "$['name']"));
+        provider.setId(JsonUtils.readAsInteger(document, "$['id']"));
+        provider.setIdentifier(JsonUtils.readAsString(document, "$['identifier']"));
         return provider;
     }
 
+    /**
+     * Implementation of this method will define how the object will be written as a json object into the generator.
+     *
+     * @param object    the object
+     * @param generator the json generator
+     */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Provider provider = (Provider) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", provider.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", provider.getName());
-        JsonUtils.writeAsInteger(jsonObject, "id", provider.getId());
-        JsonUtils.writeAsString(jsonObject, "identifier", provider.getIdentifier());
-        return jsonObject.toString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", provider.getUuid());
+        JsonUtils.writeAsString(generator, "name", provider.getName());
+        JsonUtils.writeAsInteger(generator, "id", provider.getId());
+        JsonUtils.writeAsString(generator, "identifier", provider.getIdentifier());
+        generator.writeEndObject();
     }
 }
@@ -8,13 +8,11 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Privilege;
 import com.muzima.api.model.Role;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 import java.util.List;
@@ -32,39 +30,38 @@ public class RoleAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param serialized the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         Role role = new Role();
-        role.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        role.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        List<Object> privilegeObjectArray = JsonUtils.readAsObjectList(serialized, "$['privileges']");
+        role.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        role.setName(JsonUtils.readAsString(document, "$['name']"));
+        List<Object> privilegeObjectArray = JsonUtils.readAsObjectList(document, "$['privileges']");
         for (Object privilegeObject : privilegeObjectArray) {
-            role.add((Privilege) privilegeAlgorithm.deserialize(String.valueOf(privilegeObject)));
+            role.add((Privilege) privilegeAlgorithm.deserialize(privilegeObject));
         }
         return role;
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         Role role = (Role) object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", role.getUuid());
-        JsonUtils.writeAsString(jsonObject, "name", role.getName());
-        JSONArray privilegeArray = new JSONArray();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", role.getUuid());
+        JsonUtils.writeAsString(generator, "name", role.getName());
+        generator.writeArrayFieldStart("privileges");
         for (Privilege privilege : role.getPrivileges()) {
-            String privilegeString = privilegeAlgorithm.serialize(privilege);
-            privilegeArray.add(JsonPath.read(privilegeString, "$"));
+            privilegeAlgorithm.serialize(privilege, generator);
         }
-        jsonObject.put("privileges", privilegeArray);
-        return jsonObject.toJSONString();
+        generator.writeEndArray();
+        generator.writeEndObject();
     }
 }
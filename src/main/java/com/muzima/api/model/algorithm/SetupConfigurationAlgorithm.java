@@ -1,9 +1,9 @@
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.SetupConfiguration;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -12,24 +12,30 @@ public class SetupConfigurationAlgorithm  extends BaseOpenmrsAlgorithm {
     public static final String SETUP_CONFIGURATION_STANDARD_REPRESENTATION = "(uuid,name,description,retired)";
 
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         SetupConfiguration configuration = new SetupConfiguration();
-        configuration.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        configuration.setName(JsonUtils.readAsString(serialized, "$['name']"));
-        configuration.setDescription(JsonUtils.readAsString(serialized, "$['description']"));
-        configuration.setRetired(JsonUtils.readAsBoolean(serialized, "$['retired']"));
+        configuration.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        configuration.setName(JsonUtils.readAsString(document, "$['name']"));
+        configuration.setDescription(JsonUtils.readAsString(document, "$['description']"));
+        configuration.setRetired(JsonUtils.readAsBoolean(document, "$['retired']"));
         return configuration;
     }
 
+    /**
+     * Implementation of this method will define how the object will be written as a json object into the generator.
+     *
+     * @param object    the object
+     * @param generator the json generator
+     */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         SetupConfiguration setupConfiguration = (SetupConfiguration)object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", setupConfiguration.getUuid());
-        JsonUtils.writeAsBoolean(jsonObject, "retired", setupConfiguration.isRetired());
-        JsonUtils.writeAsString(jsonObject, "name", setupConfiguration.getName());
-        JsonUtils.writeAsString(jsonObject, "description", setupConfiguration.getDescription());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", setupConfiguration.getUuid());
+        JsonUtils.writeAsBoolean(generator, "retired", setupConfiguration.isRetired());
+        JsonUtils.writeAsString(generator, "name", setupConfiguration.getName());
+        JsonUtils.writeAsString(generator, "description", setupConfiguration.getDescription());
+        generator.writeEndObject();
     }
 
 }
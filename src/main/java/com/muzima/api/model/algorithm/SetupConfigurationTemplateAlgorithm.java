@@ -1,9 +1,9 @@
 package com.muzima.api.model.algorithm;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.SetupConfigurationTemplate;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 
@@ -12,19 +12,25 @@ public class SetupConfigurationTemplateAlgorithm  extends BaseOpenmrsAlgorithm {
     public static final String SETUP_CONFIGURATION_TEMPLATE_STANDARD_REPRESENTATION = "(uuid,configJson)";
 
     @Override
-    public Searchable deserialize(final String serialized) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         SetupConfigurationTemplate setupConfigurationTemplate = new SetupConfigurationTemplate();
-        setupConfigurationTemplate.setUuid(JsonUtils.readAsString(serialized, "$['uuid']"));
-        setupConfigurationTemplate.setConfigJson(JsonUtils.readAsString(serialized, "$['configJson']"));
+        setupConfigurationTemplate.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
+        setupConfigurationTemplate.setConfigJson(JsonUtils.readAsString(document, "$['configJson']"));
         return setupConfigurationTemplate;
     }
 
+    /**
+     * Implementation of this method will define how the object will be written as a json object into the generator.
+     *
+     * @param object    the object
+     * @param generator the json generator
+     */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         SetupConfigurationTemplate setupConfigurationTemplate = (SetupConfigurationTemplate)object;
-        JSONObject jsonObject = new JSONObject();
-        JsonUtils.writeAsString(jsonObject, "uuid", setupConfigurationTemplate.getUuid());
-        JsonUtils.writeAsString(jsonObject, "configJson", setupConfigurationTemplate.getConfigJson());
-        return jsonObject.toJSONString();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", setupConfigurationTemplate.getUuid());
+        JsonUtils.writeAsString(generator, "configJson", setupConfigurationTemplate.getConfigJson());
+        generator.writeEndObject();
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.muzima.api.model.Cohort;
+import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Patient;
+import com.muzima.search.api.util.StringUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read the static or dynamic cohort data from a json stream and pass the patients to a handler in batches, so the
+ * whole cohort is never held in memory. The shape of the cohort data is detected from the field names: the static
+ * cohort data holds a "results" array of cohort and patient pairs, the dynamic cohort data holds the cohort
+ * "definition" and the "members" array of patients.
+ */
+public class StreamingCohortDataReader {
+
+    private final int batchSize;
+
+    public StreamingCohortDataReader(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Read the cohort data and pass the patients and the members to the handler. The cohort information found in the
+     * json is copied into the cohort passed to this method, so members handled before the cohort information is read
+     * still reference the same cohort object.
+     *
+     * @param inputStream the json stream of the cohort data.
+     * @param cohort      the cohort being downloaded, holding at least the uuid and the dynamic flag.
+     * @param handler     the handler receiving the batches.
+     * @return the number of patients read from the cohort data.
+     * @throws IOException when the json stream can't be read or the handler fails.
+     */
+    public int read(final InputStream inputStream, final Cohort cohort, final CohortDataHandler handler)
+            throws IOException {
+        JsonParser parser = JsonStreamReader.createParser(inputStream);
+        try {
+            if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unable to read the cohort data, expecting a json object!");
+            }
+            Batch batch = new Batch(cohort, handler);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if ("results".equals(fieldName) && parser.getCurrentToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        readResult(parser, batch);
+                    }
+                } else if ("definition".equals(fieldName)) {
+                    copyCohort(GeneratedCohortAlgorithm.read(parser), cohort);
+                } else if ("members".equals(fieldName) && parser.getCurrentToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        batch.add(GeneratedPatientAlgorithm.read(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            batch.flush();
+            return batch.count;
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * Read a single cohort and patient pair of the static cohort data.
+     */
+    private void readResult(final JsonParser parser, final Batch batch) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if ("cohort".equals(fieldName)) {
+                Cohort cohort = GeneratedCohortAlgorithm.read(parser);
+                if (!StringUtil.isEmpty(cohort.getUuid()) && !StringUtil.isEmpty(cohort.getName())) {
+                    copyCohort(cohort, batch.cohort);
+                }
+            } else if ("patient".equals(fieldName)) {
+                batch.add(GeneratedPatientAlgorithm.read(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void copyCohort(final Cohort source, final Cohort target) {
+        if (!StringUtil.isEmpty(source.getUuid())) {
+            target.setUuid(source.getUuid());
+        }
+        target.setName(source.getName());
+        target.setVoided(source.isVoided());
+    }
+
+    private class Batch {
+
+        private final Cohort cohort;
+
+        private final CohortDataHandler handler;
+
+        private List<Patient> patients;
+
+        private List<CohortMember> members;
+
+        private int count;
+
+        private Batch(final Cohort cohort, final CohortDataHandler handler) {
+            this.cohort = cohort;
+            this.handler = handler;
+            this.patients = new ArrayList<Patient>(batchSize);
+            this.members = new ArrayList<CohortMember>(batchSize);
+        }
+
+        private void add(final Patient patient) throws IOException {
+            patients.add(patient);
+            members.add(new CohortMember(cohort, patient));
+            count++;
+            if (patients.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            if (!patients.isEmpty()) {
+                handler.handle(cohort, patients, members);
+                patients = new ArrayList<Patient>(batchSize);
+                members = new ArrayList<CohortMember>(batchSize);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.muzima.search.api.model.object.Searchable;
+
+import java.io.IOException;
+
+/**
+ * Encounter algorithm which reads the json representation token by token instead of parsing the whole document and
+ * evaluating a json path for each property. Use it by setting the "algorithm.class" of the encounter resources in the
+ * j2l configuration to this class.
+ */
+public class StreamingEncounterAlgorithm extends EncounterAlgorithm {
+
+    /**
+     * Implementation of this method will define how the encounter will be serialized from the JSON representation.
+     *
+     * @param serialized the json representation
+     * @return the concrete encounter object
+     */
+    @Override
+    public Searchable deserialize(final String serialized) throws IOException {
+        JsonParser parser = JsonStreamReader.createParser(serialized);
+        try {
+            return GeneratedEncounterAlgorithm.read(parser);
+        } finally {
+            parser.close();
+        }
+    }
+}
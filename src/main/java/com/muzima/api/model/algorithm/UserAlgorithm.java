@@ -8,7 +8,7 @@
 
 package com.muzima.api.model.algorithm;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.muzima.api.model.Person;
 import com.muzima.api.model.Privilege;
 import com.muzima.api.model.Role;
@@ -16,8 +16,6 @@ import com.muzima.api.model.User;
 import com.muzima.search.api.model.object.Searchable;
 import com.muzima.search.api.util.StringUtil;
 import com.muzima.util.JsonUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -42,35 +40,39 @@ public class UserAlgorithm extends BaseOpenmrsAlgorithm {
     /**
      * Implementation of this method will define how the object will be serialized from the String representation.
      *
-     * @param json the string representation
+     * @param document the parsed json representation
      * @return the concrete object
      */
     @Override
-    public Searchable deserialize(final String json) throws IOException {
+    public Searchable deserialize(final Object document) throws IOException {
         User user = new User();
-        user.setUuid(JsonUtils.readAsString(json, "$['uuid']"));
+        user.setUuid(JsonUtils.readAsString(document, "$['uuid']"));
         // read the person object
-        Object personObject = JsonUtils.readAsObject(json, "$['person']");
-        user.setPerson((Person) personAlgorithm.deserialize(String.valueOf(personObject)));
+        Object personObject = JsonUtils.readAsObject(document, "$['person']");
+        // the local copy of the user holds the person as json string instead of json object.
+        if (personObject instanceof String) {
+            personObject = JsonUtils.parse((String) personObject);
+        }
+        user.setPerson((Person) personAlgorithm.deserialize(personObject));
 
         String username;
-        username = JsonUtils.readAsString(json, "$['username']");
+        username = JsonUtils.readAsString(document, "$['username']");
         user.setUsername(username);
 
-        String systemId = JsonUtils.readAsString(json, "$['systemId']");
+        String systemId = JsonUtils.readAsString(document, "$['systemId']");
         user.setSystemId(systemId);
 
-        List<Object> privilegeObjectArray = JsonUtils.readAsObjectList(json, "$['privileges']");
+        List<Object> privilegeObjectArray = JsonUtils.readAsObjectList(document, "$['privileges']");
         List<Privilege> privileges = new ArrayList<Privilege>();
         for (Object privilegeObject : privilegeObjectArray) {
-            privileges.add((Privilege) privilegeAlgorithm.deserialize(String.valueOf(privilegeObject)));
+            privileges.add((Privilege) privilegeAlgorithm.deserialize(privilegeObject));
         }
         user.setPrivileges(privileges);
 
-        List<Object> roleObjectArray = JsonUtils.readAsObjectList(json, "$['roles']");
+        List<Object> roleObjectArray = JsonUtils.readAsObjectList(document, "$['roles']");
         List<Role> roles = new ArrayList<Role>();
         for (Object roleObject : roleObjectArray) {
-            roles.add((Role) roleAlgorithm.deserialize(String.valueOf(roleObject)));
+            roles.add((Role) roleAlgorithm.deserialize(roleObject));
         }
         user.setRoles(roles);
 
@@ -78,38 +80,36 @@ public class UserAlgorithm extends BaseOpenmrsAlgorithm {
     }
 
     /**
-     * Implementation of this method will define how the object will be de-serialized into the String representation.
+     * Implementation of this method will define how the object will be written as a json object into the generator.
      *
-     * @param object the object
-     * @return the string representation
+     * @param object    the object
+     * @param generator the json generator
      */
     @Override
-    public String serialize(final Searchable object) throws IOException {
+    public void serialize(final Searchable object, final JsonGenerator generator) throws IOException {
         User user = (User) object;
-        JSONObject jsonObject = new JSONObject();
-        jsonObject.put("uuid", user.getUuid());
-        jsonObject.put("person.personName.givenName", user.getGivenName());
-        jsonObject.put("person.personName.middleName", user.getMiddleName());
-        jsonObject.put("person.personName.familyName", user.getFamilyName());
-        jsonObject.put("username", user.getUsername());
-        jsonObject.put("systemId", user.getSystemId());
-
-        JSONArray privilegeArray = new JSONArray();
+        generator.writeStartObject();
+        JsonUtils.writeAsString(generator, "uuid", user.getUuid());
+        JsonUtils.writeAsString(generator, "person.personName.givenName", user.getGivenName());
+        JsonUtils.writeAsString(generator, "person.personName.middleName", user.getMiddleName());
+        JsonUtils.writeAsString(generator, "person.personName.familyName", user.getFamilyName());
+        JsonUtils.writeAsString(generator, "username", user.getUsername());
+        JsonUtils.writeAsString(generator, "systemId", user.getSystemId());
+
+        generator.writeArrayFieldStart("privileges");
         for (Privilege privilege : user.getPrivileges()) {
-            String privilegeString = privilegeAlgorithm.serialize(privilege);
-            privilegeArray.add(JsonPath.read(privilegeString, "$"));
+            privilegeAlgorithm.serialize(privilege, generator);
         }
-        jsonObject.put("privileges", privilegeArray);
+        generator.writeEndArray();
 
-        JSONArray roleArray = new JSONArray();
+        generator.writeArrayFieldStart("roles");
         for (Role role : user.getRoles()) {
-            String roleString = roleAlgorithm.serialize(role);
-            roleArray.add(JsonPath.read(roleString, "$"));
+            roleAlgorithm.serialize(role, generator);
         }
-        jsonObject.put("roles", roleArray);
-
-        jsonObject.put("person", personAlgorithm.serialize(user.getPerson()));
+        generator.writeEndArray();
 
-        return jsonObject.toJSONString();
+        // the person is kept as json string, the user algorithm parses it back when reading the user.
+        JsonUtils.writeAsString(generator, "person", personAlgorithm.serialize(user.getPerson()));
+        generator.writeEndObject();
     }
 }
@@ -9,32 +9,84 @@
 package com.muzima.api.model.resolver;
 
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.muzima.api.config.Configuration;
-import com.muzima.search.api.internal.http.CustomKeyStore;
+import com.muzima.api.config.ConfigurationSnapshot;
+import com.muzima.api.config.SslConfiguration;
+import com.muzima.api.http.HttpTransport;
+import com.muzima.api.http.ValidatorStore;
 import com.muzima.search.api.model.resolver.Resolver;
-import org.apache.commons.codec.binary.Base64;
 
-import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSession;
 import java.net.HttpURLConnection;
 
 public abstract class BaseOpenmrsResolver implements Resolver {
 
     @Inject
-    private Configuration configuration;
+    private Provider<Configuration> configurationProvider;
 
     @Inject
-    private CustomKeyStore customKeyStore;
+    private SslConfiguration sslConfiguration;
+
+    @Inject
+    private HttpTransport httpTransport;
+
+    @Inject
+    private ValidatorStore validatorStore;
+
+    private final ThreadLocal<RequestSnapshot> requestSnapshots = new ThreadLocal<RequestSnapshot>();
 
     /**
-     * Get the default openmrs configuration for this resolver.
+     * Get the openmrs configuration of the current session for this resolver.
      *
-     * @return the default openmrs configuration for this resolver.
+     * @return the openmrs configuration of the current session for this resolver.
      */
     protected Configuration getConfiguration() {
-        return configuration;
+        return configurationProvider.get();
+    }
+
+    /**
+     * Take the configuration snapshot of a new request on the current thread. A download resolves the uri,
+     * authenticates the connection and sets the custom request properties of a request in separate calls, the
+     * snapshot taken while resolving the uri is used by the other calls of the same request, so a request never
+     * combines the server of one snapshot with the credentials of another.
+     *
+     * @return the configuration snapshot of the request.
+     */
+    protected ConfigurationSnapshot takeSnapshot() {
+        Configuration configuration = getConfiguration();
+        RequestSnapshot requestSnapshot = new RequestSnapshot(configuration, configuration.getSnapshot());
+        requestSnapshots.set(requestSnapshot);
+        return requestSnapshot.snapshot;
+    }
+
+    /**
+     * Get the configuration snapshot taken when the uri of the current request was resolved. A snapshot of the
+     * current configuration is used when the current thread didn't resolve a uri with the configuration of its
+     * session, or when the configuration changed since, so a request never sends outdated credentials.
+     *
+     * @return the configuration snapshot of the current request.
+     */
+    protected ConfigurationSnapshot getRequestSnapshot() {
+        Configuration configuration = getConfiguration();
+        ConfigurationSnapshot snapshot = configuration.getSnapshot();
+        RequestSnapshot requestSnapshot = requestSnapshots.get();
+        if (requestSnapshot == null || requestSnapshot.configuration != configuration
+                || requestSnapshot.snapshot.getVersion() != snapshot.getVersion()) {
+            return snapshot;
+        }
+        return requestSnapshot.snapshot;
+    }
+
+    /**
+     * Whether the resource is downloaded with conditional requests. The server responds with
+     * <code>304 Not Modified</code> when the resource didn't change since the last download, the object in the local
+     * repository is then used instead.
+     *
+     * @return true when the resource is downloaded with conditional requests.
+     */
+    protected boolean isConditional() {
+        return false;
     }
 
     /**
@@ -45,37 +97,77 @@ public abstract class BaseOpenmrsResolver implements Resolver {
      */
     @Override
     public HttpURLConnection authenticate(final HttpURLConnection connection) {
+        return authenticate(connection, getRequestSnapshot());
+    }
+
+    /**
+     * Add authentication information from the configuration snapshot to the http url connection. Use this method
+     * when the same snapshot must be used for the whole request.
+     *
+     * @param connection the original connection without authentication information.
+     * @param snapshot   the configuration snapshot of the request.
+     * @return the connection with authentication information when applicable.
+     */
+    public HttpURLConnection authenticate(final HttpURLConnection connection, final ConfigurationSnapshot snapshot) {
         if (connection instanceof HttpsURLConnection) {
             HttpsURLConnection httpsURLConnection = (HttpsURLConnection) connection;
-            if (customKeyStore != null) {
-                SSLContext sslContext = customKeyStore.createContext();
-                if (sslContext != null) {
-                    httpsURLConnection.setSSLSocketFactory(sslContext.getSocketFactory());
-                    HostnameVerifier hostnameVerifier = new HostnameVerifier() {
-                        @Override
-                        public boolean verify(String hostname, SSLSession session) {
-                            return (hostname.endsWith("ampath.or.ke"));
-                        }
-                    };
-                    httpsURLConnection.setHostnameVerifier(hostnameVerifier);
-                }
-            }
-
-            String userPassword = getConfiguration().getUsername() + ":" + getConfiguration().getPassword();
-            String basicAuth = "Basic " + new String(new Base64().encode(userPassword.getBytes()));
-            httpsURLConnection.setRequestProperty("Authorization", basicAuth);
+            sslConfiguration.configure(httpsURLConnection);
+
+            httpsURLConnection.setRequestProperty("Authorization", snapshot.getAuthorizationHeader());
             return httpsURLConnection;
         } else {
-            String userPassword = getConfiguration().getUsername() + ":" + getConfiguration().getPassword();
-            String basicAuth = "Basic " + new String(new Base64().encode(userPassword.getBytes()));
-            connection.setRequestProperty("Authorization", basicAuth);
+            connection.setRequestProperty("Authorization", snapshot.getAuthorizationHeader());
             return connection;
         }
     }
 
+    /**
+     * Add the custom request properties to the http url connection. This is the last call of a request, the
+     * configuration snapshot of the request is released afterwards.
+     *
+     * @param connection the http url connection.
+     * @return the connection with the custom request properties.
+     */
     @Override
-    public HttpURLConnection setCustomRequestProperties(final HttpURLConnection connection){
-        connection.setRequestProperty("Accept-Language", configuration.getPreferredLocale());
-        return connection;
+    public HttpURLConnection setCustomRequestProperties(final HttpURLConnection connection) {
+        try {
+            return setCustomRequestProperties(connection, getRequestSnapshot());
+        } finally {
+            requestSnapshots.remove();
+        }
+    }
+
+    /**
+     * Add the custom request properties from the configuration snapshot to the http url connection. The timeouts and
+     * keep-alive settings of the http transport are applied as well, in case the connection was opened outside of it.
+     * The connection of a conditional resource sends the validators of the last download.
+     *
+     * @param connection the http url connection.
+     * @param snapshot   the configuration snapshot of the request.
+     * @return the connection with the custom request properties.
+     */
+    public HttpURLConnection setCustomRequestProperties(final HttpURLConnection connection,
+                                                        final ConfigurationSnapshot snapshot) {
+        connection.setRequestProperty("Accept-Language", snapshot.getPreferredLocale());
+        HttpURLConnection configuredConnection = httpTransport.configure(connection);
+        if (isConditional()) {
+            return validatorStore.conditional(configuredConnection);
+        }
+        return configuredConnection;
+    }
+
+    /**
+     * The configuration snapshot of a request and the configuration of the session it was taken from.
+     */
+    private static final class RequestSnapshot {
+
+        private final Configuration configuration;
+
+        private final ConfigurationSnapshot snapshot;
+
+        private RequestSnapshot(final Configuration configuration, final ConfigurationSnapshot snapshot) {
+            this.configuration = configuration;
+            this.snapshot = snapshot;
+        }
     }
 }
@@ -32,7 +32,7 @@ public class DynamicCohortDataResolver extends BaseOpenmrsResolver {
         if (StringUtil.isEmpty(uuid)) {
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/reportingrest/cohort/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer() + "/ws/rest/v1/reportingrest/cohort/" + uuid + REPRESENTATION;
     }
 
 
@@ -30,6 +30,6 @@ public class ReceiverNotificationResolver extends BaseOpenmrsResolver {
         for (String key : resourceParams.keySet()) {
             paramBuilder.append("&").append(key).append("=").append(URLEncoder.encode(resourceParams.get(key), "UTF-8"));
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/notificationdata" + REPRESENTATION + paramBuilder.toString();
+        return takeSnapshot().getServer() + "/ws/rest/v1/muzima/notificationdata" + REPRESENTATION + paramBuilder.toString();
     }
 }
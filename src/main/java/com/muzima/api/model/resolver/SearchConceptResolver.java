@@ -34,6 +34,6 @@ public class SearchConceptResolver extends BaseOpenmrsResolver {
         for (String key : resourceParams.keySet()) {
             paramBuilder.append("&").append(key).append("=").append(URLEncoder.encode(resourceParams.get(key), "UTF-8"));
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/concept" + REPRESENTATION + paramBuilder.toString();
+        return takeSnapshot().getServer() + "/ws/rest/v1/muzima/concept" + REPRESENTATION + paramBuilder.toString();
     }
 }
@@ -32,6 +32,6 @@ public class SearchLocationResolver extends BaseOpenmrsResolver{
         for (String key : resourceParams.keySet()) {
             paramBuilder.append("&").append(key).append("=").append(URLEncoder.encode(resourceParams.get(key), "UTF-8"));
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/location" + REPRESENTATION + paramBuilder.toString();
+        return takeSnapshot().getServer() + "/ws/rest/v1/location" + REPRESENTATION + paramBuilder.toString();
     }
 }
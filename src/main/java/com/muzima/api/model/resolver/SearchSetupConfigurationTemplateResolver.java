@@ -16,6 +16,6 @@ public class SearchSetupConfigurationTemplateResolver extends BaseOpenmrsResolve
         for (String key : resourceParams.keySet()) {
             paramBuilder.append("&").append(key).append("=").append(URLEncoder.encode(resourceParams.get(key), "UTF-8"));
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/config" + REPRESENTATION + paramBuilder.toString();
+        return takeSnapshot().getServer() + "/ws/rest/v1/muzima/config" + REPRESENTATION + paramBuilder.toString();
     }
 }
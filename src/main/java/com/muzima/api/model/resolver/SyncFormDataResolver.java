@@ -8,6 +8,8 @@
 
 package com.muzima.api.model.resolver;
 
+import com.muzima.api.config.ConfigurationSnapshot;
+
 import java.io.IOException;
 import java.util.Map;
 
@@ -24,6 +26,16 @@ public class SyncFormDataResolver extends BaseOpenmrsResolver {
      */
     @Override
     public String resolve(final Map<String, String> resourceParams) throws IOException {
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/queuedata";
+        return resolve(takeSnapshot());
+    }
+
+    /**
+     * Return the full REST resource using the server of the configuration snapshot.
+     *
+     * @param snapshot the configuration snapshot of the request.
+     * @return full uri to the REST resource.
+     */
+    public String resolve(final ConfigurationSnapshot snapshot) {
+        return snapshot.getServer() + "/ws/rest/v1/muzima/queuedata";
     }
 }
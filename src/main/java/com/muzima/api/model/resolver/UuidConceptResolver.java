@@ -30,6 +30,16 @@ public class UuidConceptResolver extends BaseOpenmrsResolver {
         if (StringUtil.isEmpty(uuid)) {
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/concept/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer() + "/ws/rest/v1/muzima/concept/" + uuid + REPRESENTATION;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see BaseOpenmrsResolver#isConditional()
+     */
+    @Override
+    protected boolean isConditional() {
+        return true;
     }
 }
@@ -32,6 +32,6 @@ public class UuidDynamicCohortResolver extends BaseOpenmrsResolver {
         if (StringUtil.isEmpty(uuid)) {
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/reportingrest/cohortDefinition/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer() + "/ws/rest/v1/reportingrest/cohortDefinition/" + uuid + REPRESENTATION;
     }
 }
@@ -30,6 +30,6 @@ public class UuidEncounterResolver extends BaseOpenmrsResolver {
         if (StringUtil.isEmpty(uuid)) {
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/encounter/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer() + "/ws/rest/v1/muzima/encounter/" + uuid + REPRESENTATION;
     }
 }
@@ -29,6 +29,16 @@ public class UuidFormResolver extends BaseOpenmrsResolver {
         if (StringUtil.isEmpty(uuid)) {
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/form/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer() + "/ws/rest/v1/muzima/form/" + uuid + REPRESENTATION;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see BaseOpenmrsResolver#isConditional()
+     */
+    @Override
+    protected boolean isConditional() {
+        return true;
     }
 }
@@ -32,6 +32,6 @@ public class UuidLastSyncTimeResolver extends BaseOpenmrsResolver {
 
 
 
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/form/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer() + "/ws/rest/v1/muzima/form/" + uuid + REPRESENTATION;
     }
 }
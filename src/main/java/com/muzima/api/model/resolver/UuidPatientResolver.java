@@ -31,6 +31,6 @@ public class UuidPatientResolver extends BaseOpenmrsResolver {
         if (StringUtil.isEmpty(uuid)) {
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/patient/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer() + "/ws/rest/v1/patient/" + uuid + REPRESENTATION;
     }
 }
@@ -19,6 +19,16 @@ public class UuidProviderResolver extends BaseOpenmrsResolver {
         if(StringUtil.isEmpty(uuid)){
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        return getConfiguration().getServer()+"/ws/rest/v1/provider/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer()+"/ws/rest/v1/provider/" + uuid + REPRESENTATION;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see BaseOpenmrsResolver#isConditional()
+     */
+    @Override
+    protected boolean isConditional() {
+        return true;
     }
 }
@@ -29,6 +29,6 @@ public class UuidRoleResolver extends BaseOpenmrsResolver {
         if (StringUtil.isEmpty(uuid)) {
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        return getConfiguration().getServer() + "/ws/rest/v1/form/" + uuid + REPRESENTATION;
+        return takeSnapshot().getServer() + "/ws/rest/v1/form/" + uuid + REPRESENTATION;
     }
 }
@@ -21,7 +21,17 @@ public class UuidSetupConfigurationTemplateResolver extends BaseOpenmrsResolver{
         if (StringUtil.isEmpty(uuid)) {
             throw new IOException("Resolver unable to find required parameter uuid!");
         }
-        System.out.println("Config resolver: "+getConfiguration().getServer() + "/ws/rest/v1/muzima/config/" + uuid + REPRESENTATION);
-        return getConfiguration().getServer() + "/ws/rest/v1/muzima/config/" + uuid + REPRESENTATION;
+        String server = takeSnapshot().getServer();
+        return server + "/ws/rest/v1/muzima/config/" + uuid + REPRESENTATION;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see BaseOpenmrsResolver#isConditional()
+     */
+    @Override
+    protected boolean isConditional() {
+        return true;
     }
 }
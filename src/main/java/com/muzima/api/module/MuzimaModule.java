@@ -11,6 +11,7 @@ package com.muzima.api.module;
 import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
 import com.muzima.api.config.Configuration;
+import com.muzima.api.config.SessionConfigurationProvider;
 import com.muzima.util.Constants;
 
 public class MuzimaModule extends AbstractModule {
@@ -92,7 +93,9 @@ public class MuzimaModule extends AbstractModule {
                 .annotatedWith(Names.named(Constants.LUCENE_DEFAULT_FIELD))
                 .toInstance(documentKey);
 
-        bind(Configuration.class).toInstance(configuration);
+        SessionConfigurationProvider configurationProvider = new SessionConfigurationProvider(configuration);
+        bind(SessionConfigurationProvider.class).toInstance(configurationProvider);
+        bind(Configuration.class).toProvider(configurationProvider);
 
         bind(String.class)
                 .annotatedWith(Names.named("configuration.lucene.encryption"))
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.processor;
+
+import com.muzima.api.annotation.JsonDocument;
+import com.muzima.api.annotation.JsonField;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generate the streaming algorithm of every class annotated with <code>{@link JsonDocument}</code>. The generated
+ * algorithm reads the json tokens straight into the fields annotated with <code>{@link JsonField}</code> and writes
+ * them back in the declaration order, without reflection and without evaluating any json path.
+ *
+ * The generated algorithms create the same objects as the hand written algorithms: missing or null nested objects
+ * are created as empty objects, missing numbers are read as zero, other missing values are left at the default of the
+ * class and unknown fields are skipped.
+ *
+ * The processor is compiled before the rest of the api, see the maven-compiler-plugin configuration in the pom.
+ */
+@SupportedAnnotationTypes("com.muzima.api.annotation.JsonDocument")
+public class AlgorithmProcessor extends AbstractProcessor {
+
+    /**
+     * Package of the generated algorithms.
+     */
+    public static final String ALGORITHM_PACKAGE = "com.muzima.api.model.algorithm";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(JsonDocument.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "Only classes can be annotated with @JsonDocument.");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<MappedField> fields = collectFields(type);
+            if (fields == null) {
+                continue;
+            }
+            try {
+                writeAlgorithm(type, fields);
+            } catch (IOException e) {
+                error(type, "Unable to write the generated algorithm: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the simple name of the generated algorithm of the document class.
+     *
+     * @param qualifiedName the qualified name of the document class.
+     * @return the simple name of the generated algorithm.
+     */
+    static String getAlgorithmName(final String qualifiedName) {
+        return "Generated" + qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1) + "Algorithm";
+    }
+
+    /**
+     * Collect the annotated fields of the class and its super classes, the fields of the super classes first.
+     *
+     * @return the mapped fields, or null when one of the fields can't be mapped.
+     */
+    private List<MappedField> collectFields(final TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<TypeElement>();
+        TypeElement current = type;
+        while (current != null) {
+            hierarchy.add(0, current);
+            TypeMirror superclass = current.getSuperclass();
+            if (superclass.getKind() == TypeKind.DECLARED) {
+                current = (TypeElement) ((DeclaredType) superclass).asElement();
+            } else {
+                current = null;
+            }
+        }
+
+        Set<String> methods = new HashSet<String>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            methods.add(method.getSimpleName().toString());
+        }
+
+        boolean valid = true;
+        List<MappedField> fields = new ArrayList<MappedField>();
+        for (TypeElement element : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+                JsonField jsonField = field.getAnnotation(JsonField.class);
+                if (jsonField != null) {
+                    MappedField mappedField = mapField(field, jsonField, methods);
+                    if (mappedField == null) {
+                        valid = false;
+                    } else {
+                        fields.add(mappedField);
+                    }
+                }
+            }
+        }
+        return valid ? fields : null;
+    }
+
+    private MappedField mapField(final VariableElement field, final JsonField jsonField, final Set<String> methods) {
+        TypeMirror fieldType = field.asType();
+        MappedField.Kind kind = null;
+        String typeName = null;
+        if (fieldType.getKind() == TypeKind.BOOLEAN) {
+            kind = MappedField.Kind.BOOLEAN;
+        } else if (fieldType.getKind() == TypeKind.INT) {
+            kind = MappedField.Kind.INTEGER;
+        } else if (fieldType.getKind() == TypeKind.DOUBLE) {
+            kind = MappedField.Kind.DOUBLE;
+        } else if (fieldType.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) fieldType;
+            TypeElement typeElement = (TypeElement) declaredType.asElement();
+            String qualifiedName = typeElement.getQualifiedName().toString();
+            if ("java.lang.String".equals(qualifiedName)) {
+                kind = MappedField.Kind.STRING;
+            } else if ("java.lang.Boolean".equals(qualifiedName)) {
+                kind = MappedField.Kind.BOOLEAN_OBJECT;
+            } else if ("java.lang.Integer".equals(qualifiedName)) {
+                kind = MappedField.Kind.INTEGER;
+                typeName = qualifiedName;
+            } else if ("java.lang.Double".equals(qualifiedName)) {
+                kind = MappedField.Kind.DOUBLE;
+                typeName = qualifiedName;
+            } else if ("java.util.Date".equals(qualifiedName)) {
+                kind = MappedField.Kind.DATE;
+            } else if (typeElement.getAnnotation(JsonDocument.class) != null) {
+                kind = MappedField.Kind.DOCUMENT;
+                typeName = qualifiedName;
+            } else if ("java.util.List".equals(qualifiedName) && declaredType.getTypeArguments().size() == 1) {
+                TypeMirror elementType = declaredType.getTypeArguments().get(0);
+                if (elementType.getKind() == TypeKind.DECLARED) {
+                    TypeElement elementTypeElement = (TypeElement) ((DeclaredType) elementType).asElement();
+                    if (elementTypeElement.getAnnotation(JsonDocument.class) != null) {
+                        kind = MappedField.Kind.LIST;
+                        typeName = elementTypeElement.getQualifiedName().toString();
+                    }
+                }
+            }
+        }
+        if (kind == null) {
+            error(field, "Unsupported type of @JsonField: " + fieldType);
+            return null;
+        }
+
+        String capitalized = capitalize(field.getSimpleName().toString());
+        String getter = jsonField.getter();
+        if (getter.length() == 0) {
+            getter = (kind == MappedField.Kind.BOOLEAN ? "is" : "get") + capitalized;
+        }
+        String setter = jsonField.setter();
+        if (setter.length() == 0) {
+            setter = "set" + capitalized;
+        }
+        if (!methods.contains(getter) || !methods.contains(setter)) {
+            error(field, "Unable to find the getter " + getter + " or the setter " + setter + " of the @JsonField.");
+            return null;
+        }
+        return new MappedField(jsonField.value(), kind, typeName, getter, setter, jsonField.date());
+    }
+
+    private void writeAlgorithm(final TypeElement type, final List<MappedField> fields) throws IOException {
+        String typeName = type.getQualifiedName().toString();
+        String algorithmName = getAlgorithmName(typeName);
+        JavaFileObject sourceFile =
+                processingEnv.getFiler().createSourceFile(ALGORITHM_PACKAGE + "." + algorithmName, type);
+        PrintWriter out = new PrintWriter(sourceFile.openWriter());
+        try {
+            out.println("package " + ALGORITHM_PACKAGE + ";");
+            out.println();
+            out.println("import com.fasterxml.jackson.core.JsonGenerator;");
+            out.println("import com.fasterxml.jackson.core.JsonParser;");
+            out.println("import com.fasterxml.jackson.core.JsonToken;");
+            out.println("import com.muzima.search.api.model.object.Searchable;");
+            out.println("import com.muzima.util.JsonUtils;");
+            out.println();
+            out.println("import java.io.IOException;");
+            out.println();
+            out.println("/**");
+            out.println(" * Streaming algorithm for {@link " + typeName + "}, generated by the algorithm processor from the");
+            out.println(" * annotated fields of the class. Do not edit.");
+            out.println(" */");
+            out.println("public class " + algorithmName + " extends BaseOpenmrsAlgorithm {");
+            out.println();
+            writeDeserialize(out);
+            writeRead(out, typeName, fields);
+            writeSerialize(out, typeName);
+            writeWrite(out, typeName, fields);
+            out.println("}");
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeDeserialize(final PrintWriter out) {
+        out.println("    @Override");
+        out.println("    public Searchable deserialize(final String serialized) throws IOException {");
+        out.println("        JsonParser parser = JsonStreamReader.createParser(serialized);");
+        out.println("        try {");
+        out.println("            return read(parser);");
+        out.println("        } finally {");
+        out.println("            parser.close();");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public Searchable deserialize(final Object document) throws IOException {");
+        out.println("        if (document == null) {");
+        out.println("            return read(null);");
+        out.println("        }");
+        out.println("        return deserialize(String.valueOf(document));");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeRead(final PrintWriter out, final String typeName, final List<MappedField> fields) {
+        out.println("    /**");
+        out.println("     * Read the object from the parser positioned on the value token of the object. A null parser or a");
+        out.println("     * value other than an object creates an empty object.");
+        out.println("     */");
+        out.println("    static " + typeName + " read(final JsonParser parser) throws IOException {");
+        out.println("        " + typeName + " object = new " + typeName + "();");
+        out.println("        if (parser != null && JsonStreamReader.startObject(parser)) {");
+        out.println("            while (parser.nextToken() == JsonToken.FIELD_NAME) {");
+        out.println("                String fieldName = parser.getCurrentName();");
+        out.println("                parser.nextToken();");
+        String prefix = "                if";
+        for (MappedField field : fields) {
+            out.println(prefix + " (\"" + field.getJsonName() + "\".equals(fieldName)) {");
+            writeReadStatement(out, field);
+            prefix = "                } else if";
+        }
+        if (fields.isEmpty()) {
+            out.println("                parser.skipChildren();");
+        } else {
+            out.println("                } else {");
+            out.println("                    parser.skipChildren();");
+            out.println("                }");
+        }
+        out.println("            }");
+        out.println("        }");
+        for (MappedField field : fields) {
+            if (field.getKind() == MappedField.Kind.DOCUMENT) {
+                out.println("        if (object." + field.getGetter() + "() == null) {");
+                out.println("            object." + field.getSetter() + "("
+                        + getAlgorithmName(field.getTypeName()) + ".read(null));");
+                out.println("        }");
+            } else if (field.getKind() == MappedField.Kind.DOUBLE && field.getTypeName() != null) {
+                out.println("        if (object." + field.getGetter() + "() == null) {");
+                out.println("            object." + field.getSetter() + "(0d);");
+                out.println("        }");
+            } else if (field.getKind() == MappedField.Kind.INTEGER && field.getTypeName() != null) {
+                out.println("        if (object." + field.getGetter() + "() == null) {");
+                out.println("            object." + field.getSetter() + "(0);");
+                out.println("        }");
+            }
+        }
+        out.println("        return object;");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeReadStatement(final PrintWriter out, final MappedField field) {
+        String set = "                    object." + field.getSetter() + "(";
+        switch (field.getKind()) {
+            case STRING:
+                out.println(set + "JsonStreamReader.readString(parser));");
+                break;
+            case BOOLEAN:
+            case BOOLEAN_OBJECT:
+                out.println(set + "JsonStreamReader.readBoolean(parser));");
+                break;
+            case INTEGER:
+                out.println(set + "JsonStreamReader.readInteger(parser));");
+                break;
+            case DOUBLE:
+                out.println(set + "JsonStreamReader.readNumeric(parser));");
+                break;
+            case DATE:
+                String parse = field.isDateOnly() ? "parseDate" : "parseDateTime";
+                out.println(set + "JsonUtils." + parse + "(JsonStreamReader.readString(parser)));");
+                break;
+            case DOCUMENT:
+                out.println(set + getAlgorithmName(field.getTypeName()) + ".read(parser));");
+                break;
+            case LIST:
+                String listType = "java.util.List<" + field.getTypeName() + ">";
+                out.println("                    " + listType + " list = new java.util.ArrayList<"
+                        + field.getTypeName() + ">();");
+                out.println("                    if (JsonStreamReader.startArray(parser)) {");
+                out.println("                        while (parser.nextToken() != JsonToken.END_ARRAY) {");
+                out.println("                            list.add(" + getAlgorithmName(field.getTypeName())
+                        + ".read(parser));");
+                out.println("                        }");
+                out.println("                    }");
+                out.println(set + "list);");
+                break;
+            default:
+                throw new IllegalStateException("Unknown kind of field: " + field.getKind());
+        }
+    }
+
+    private void writeSerialize(final PrintWriter out, final String typeName) {
+        out.println("    @Override");
+        out.println("    public void serialize(final Searchable object, final JsonGenerator generator)"
+                + " throws IOException {");
+        out.println("        write((" + typeName + ") object, generator);");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeWrite(final PrintWriter out, final String typeName, final List<MappedField> fields) {
+        out.println("    /**");
+        out.println("     * Write the object as json object into the generator, or a null value when the object is null.");
+        out.println("     */");
+        out.println("    static void write(final " + typeName + " object, final JsonGenerator generator)"
+                + " throws IOException {");
+        out.println("        if (object == null) {");
+        out.println("            generator.writeNull();");
+        out.println("            return;");
+        out.println("        }");
+        out.println("        generator.writeStartObject();");
+        for (MappedField field : fields) {
+            writeWriteStatement(out, field);
+        }
+        out.println("        generator.writeEndObject();");
+        out.println("    }");
+    }
+
+    private void writeWriteStatement(final PrintWriter out, final MappedField field) {
+        String name = "\"" + field.getJsonName() + "\"";
+        String value = "object." + field.getGetter() + "()";
+        switch (field.getKind()) {
+            case STRING:
+                out.println("        JsonUtils.writeAsString(generator, " + name + ", " + value + ");");
+                break;
+            case BOOLEAN:
+                out.println("        JsonUtils.writeAsBoolean(generator, " + name + ", " + value + ");");
+                break;
+            case BOOLEAN_OBJECT:
+                out.println("        JsonUtils.writeAsBoolean(generator, " + name + ", Boolean.TRUE.equals("
+                        + value + "));");
+                break;
+            case INTEGER:
+                out.println("        JsonUtils.writeAsInteger(generator, " + name + ", " + value + ");");
+                break;
+            case DOUBLE:
+                out.println("        JsonUtils.writeAsNumeric(generator, " + name + ", " + value + ");");
+                break;
+            case DATE:
+                String write = field.isDateOnly() ? "writeAsDate" : "writeAsDateTime";
+                out.println("        JsonUtils." + write + "(generator, " + name + ", " + value + ");");
+                break;
+            case DOCUMENT:
+                out.println("        generator.writeFieldName(" + name + ");");
+                out.println("        " + getAlgorithmName(field.getTypeName()) + ".write(" + value + ", generator);");
+                break;
+            case LIST:
+                out.println("        generator.writeArrayFieldStart(" + name + ");");
+                out.println("        if (" + value + " != null) {");
+                out.println("            for (" + field.getTypeName() + " element : " + value + ") {");
+                out.println("                " + getAlgorithmName(field.getTypeName()) + ".write(element, generator);");
+                out.println("            }");
+                out.println("        }");
+                out.println("        generator.writeEndArray();");
+                break;
+            default:
+                throw new IllegalStateException("Unknown kind of field: " + field.getKind());
+        }
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.processor;
+
+/**
+ * Description of a single field annotated with <code>JsonField</code>, as needed to generate the read and write
+ * statements of the field.
+ */
+class MappedField {
+
+    /**
+     * The kind of value the field holds, which decides how the value is read and written.
+     */
+    enum Kind {
+        STRING, BOOLEAN, BOOLEAN_OBJECT, INTEGER, DOUBLE, DATE, DOCUMENT, LIST
+    }
+
+    private final String jsonName;
+
+    private final Kind kind;
+
+    private final String typeName;
+
+    private final String getter;
+
+    private final String setter;
+
+    private final boolean dateOnly;
+
+    MappedField(final String jsonName, final Kind kind, final String typeName,
+                final String getter, final String setter, final boolean dateOnly) {
+        this.jsonName = jsonName;
+        this.kind = kind;
+        this.typeName = typeName;
+        this.getter = getter;
+        this.setter = setter;
+        this.dateOnly = dateOnly;
+    }
+
+    String getJsonName() {
+        return jsonName;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Get the qualified name of the document class, of the list element class for lists, or of the boxed number
+     * class for boxed numbers. Primitive and other values don't have a type name.
+     */
+    String getTypeName() {
+        return typeName;
+    }
+
+    String getGetter() {
+        return getter;
+    }
+
+    String getSetter() {
+        return setter;
+    }
+
+    boolean isDateOnly() {
+        return dateOnly;
+    }
+}
@@ -12,6 +12,7 @@ import com.google.inject.ImplementedBy;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.algorithm.CohortDataHandler;
 import com.muzima.api.service.impl.CohortServiceImpl;
 
 import java.io.IOException;
@@ -228,6 +229,36 @@ public interface CohortService extends MuzimaInterface {
 
     CohortData downloadCohortDataAndSyncDate(Cohort cohort, Date syncDate) throws IOException;
 
+    /**
+     * Download data for the cohort identified by the uuid of the cohort and pass the patients and the members to the
+     * handler in batches while the data is being downloaded. Use this method for large cohorts, the cohort data is
+     * never held in memory as a whole.
+     *
+     * @param uuid     the uuid of the cohort or the cohort definition.
+     * @param dynamic  flag whether to use reporting module or static cohort resource.
+     * @param syncDate the date of the last download, or null to download all members.
+     * @param handler  the handler receiving the batches of patients and members.
+     * @return the number of patients downloaded.
+     * @throws IOException when the cohort data can't be downloaded or the handler fails.
+     * @should pass patients and members of the cohort to the handler in batches.
+     */
+    int downloadCohortData(final String uuid, final boolean dynamic, final Date syncDate,
+                           final CohortDataHandler handler) throws IOException;
+
+    /**
+     * Download data for the cohort identified by the uuid of the cohort and save the patients and the members to
+     * the local lucene repository in batches while the data is being downloaded. Patients which already exist in the
+     * local repository are updated, members which already exist are skipped.
+     *
+     * @param uuid     the uuid of the cohort or the cohort definition.
+     * @param dynamic  flag whether to use reporting module or static cohort resource.
+     * @param syncDate the date of the last download, or null to download all members.
+     * @return the number of patients downloaded.
+     * @throws IOException when the cohort data can't be downloaded or saved.
+     * @should save patients and members of the cohort in batches.
+     */
+    int downloadAndSaveCohortData(final String uuid, final boolean dynamic, final Date syncDate) throws IOException;
+
     /**
      * Save the cohort member object to the local lucene directory.
      *
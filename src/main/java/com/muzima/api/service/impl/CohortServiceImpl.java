@@ -9,13 +9,17 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.annotation.Authorization;
 import com.muzima.api.dao.CohortDao;
 import com.muzima.api.dao.CohortDataDao;
 import com.muzima.api.dao.MemberDao;
+import com.muzima.api.dao.PatientDao;
 import com.muzima.api.model.Cohort;
 import com.muzima.api.model.CohortData;
 import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Patient;
+import com.muzima.api.model.algorithm.CohortDataHandler;
 import com.muzima.api.service.CohortService;
 import com.muzima.search.api.util.CollectionUtil;
 import com.muzima.util.Constants;
@@ -25,9 +29,13 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+@Singleton
 public class CohortServiceImpl implements CohortService {
 
     @Inject
@@ -39,6 +47,9 @@ public class CohortServiceImpl implements CohortService {
     @Inject
     private CohortDataDao cohortDataDao;
 
+    @Inject
+    private PatientDao patientDao;
+
     protected CohortServiceImpl() {
     }
 
@@ -354,6 +365,95 @@ public class CohortServiceImpl implements CohortService {
         return downloadCohortData(cohort.getUuid(), cohort.isDynamic());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see CohortService#downloadCohortData(String, boolean, java.util.Date,
+     *      com.muzima.api.model.algorithm.CohortDataHandler)
+     */
+    @Override
+    public int downloadCohortData(final String uuid, final boolean dynamic, final Date syncDate,
+                                  final CohortDataHandler handler) throws IOException {
+        String resourceName = Constants.STATIC_COHORT_DATA_RESOURCE;
+        if (dynamic) {
+            resourceName = Constants.DYNAMIC_COHORT_DATA_RESOURCE;
+        }
+        Map<String, String> parameter = new HashMap<String, String>() {{
+            put("uuid", uuid);
+        }};
+        if (syncDate != null) {
+            parameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
+        }
+        Cohort cohort = new Cohort();
+        cohort.setUuid(uuid);
+        cohort.setDynamic(dynamic);
+        return cohortDataDao.download(parameter, resourceName, cohort, handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see CohortService#downloadAndSaveCohortData(String, boolean, java.util.Date)
+     */
+    @Override
+    public int downloadAndSaveCohortData(final String uuid, final boolean dynamic, final Date syncDate)
+            throws IOException {
+        final Set<String> memberPatientUuids = new HashSet<String>();
+        for (CohortMember member : memberDao.getByCohortUuid(uuid)) {
+            memberPatientUuids.add(member.getPatientUuid());
+        }
+        return downloadCohortData(uuid, dynamic, syncDate, new CohortDataHandler() {
+            @Override
+            public void handle(final Cohort cohort, final List<Patient> patients, final List<CohortMember> members)
+                    throws IOException {
+                savePatientBatch(patients);
+                List<CohortMember> newMembers = new ArrayList<CohortMember>();
+                for (CohortMember member : members) {
+                    if (memberPatientUuids.add(member.getPatientUuid())) {
+                        newMembers.add(member);
+                    }
+                }
+                if (!newMembers.isEmpty()) {
+                    memberDao.save(newMembers, Constants.LOCAL_COHORT_MEMBER_RESOURCE);
+                }
+            }
+        });
+    }
+
+    /**
+     * Save the new patients of the batch and update the patients which already exist in the local repository. The
+     * existing patients of the batch are looked up with a single query.
+     *
+     * @param patients the batch of downloaded patients.
+     * @throws IOException when the patients can't be saved or updated.
+     */
+    private void savePatientBatch(final List<Patient> patients) throws IOException {
+        Set<String> batchUuids = new HashSet<String>();
+        for (Patient patient : patients) {
+            batchUuids.add(patient.getUuid());
+        }
+        Set<String> existingUuids = new HashSet<String>();
+        for (Patient existingPatient : patientDao.getByUuids(batchUuids)) {
+            existingUuids.add(existingPatient.getUuid());
+        }
+        Map<String, Patient> newPatients = new LinkedHashMap<String, Patient>();
+        Map<String, Patient> existingPatients = new LinkedHashMap<String, Patient>();
+        for (Patient patient : patients) {
+            String patientUuid = patient.getUuid();
+            if (existingPatients.containsKey(patientUuid) || existingUuids.contains(patientUuid)) {
+                existingPatients.put(patientUuid, patient);
+            } else {
+                newPatients.put(patientUuid, patient);
+            }
+        }
+        if (!newPatients.isEmpty()) {
+            patientDao.save(new ArrayList<Patient>(newPatients.values()), Constants.UUID_PATIENT_RESOURCE);
+        }
+        if (!existingPatients.isEmpty()) {
+            patientDao.update(new ArrayList<Patient>(existingPatients.values()), Constants.UUID_PATIENT_RESOURCE);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -9,6 +9,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.ConceptDao;
 import com.muzima.api.model.Concept;
 import com.muzima.api.service.ConceptService;
@@ -25,6 +26,7 @@ import java.util.Map;
 /**
  * TODO: Write brief description about the class here.
  */
+@Singleton
 public class ConceptServiceImpl implements ConceptService {
 
     @Inject
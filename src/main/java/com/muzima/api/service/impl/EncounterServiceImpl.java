@@ -9,6 +9,8 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.muzima.api.config.DownloadConfiguration;
 import com.muzima.api.dao.EncounterDao;
 import com.muzima.api.dao.PatientDao;
 import com.muzima.api.model.Encounter;
@@ -29,6 +31,7 @@ import java.util.Map;
 /**
  * TODO: Write brief description about the class here.
  */
+@Singleton
 public class EncounterServiceImpl implements EncounterService {
 
     @Inject
@@ -37,6 +40,9 @@ public class EncounterServiceImpl implements EncounterService {
     @Inject
     private EncounterDao encounterDao;
 
+    @Inject
+    private DownloadConfiguration downloadConfiguration;
+
     protected EncounterServiceImpl() {
     }
 
@@ -138,20 +144,11 @@ public class EncounterServiceImpl implements EncounterService {
      */
     @Override
     public List<Encounter> downloadEncountersByPatientsAndSyncDate(final List<Patient> patients, final Date syncDate) throws IOException {
-        final StringBuilder patientBuilder = new StringBuilder();
+        List<String> patientUuids = new ArrayList<String>();
         for (Patient patient : patients) {
-            if (patientBuilder.length() > 0) {
-                patientBuilder.append(",");
-            }
-            patientBuilder.append(patient.getUuid());
-        }
-        Map<String, String> parameter = new HashMap<String, String>() {{
-            put("patient", patientBuilder.toString());
-        }};
-        if (syncDate != null) {
-            parameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
+            patientUuids.add(patient.getUuid());
         }
-        return encounterDao.download(parameter, Constants.SEARCH_ENCOUNTER_RESOURCE);
+        return downloadEncountersByPatientUuidsAndSyncDate(patientUuids, syncDate);
     }
 
     /**
@@ -171,20 +168,13 @@ public class EncounterServiceImpl implements EncounterService {
      */
     @Override
     public List<Encounter> downloadEncountersByPatientUuidsAndSyncDate(final List<String> patientUuids, final Date syncDate) throws IOException {
-        final StringBuilder patientBuilder = new StringBuilder();
-        for (String patientUuid : patientUuids) {
-            if (patientBuilder.length() > 0) {
-                patientBuilder.append(",");
-            }
-            patientBuilder.append(patientUuid);
-        }
-        Map<String, String> parameter = new HashMap<String, String>() {{
-            put("patient", patientBuilder.toString());
-        }};
+        Map<String, String> parameter = new HashMap<String, String>();
         if (syncDate != null) {
             parameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
         }
-        return encounterDao.download(parameter, Constants.SEARCH_ENCOUNTER_RESOURCE);
+        List<Map<String, String>> parameters = UuidRequestPlanner.plan("patient", patientUuids, parameter,
+                downloadConfiguration.getMaxUuidParameterLength());
+        return encounterDao.download(parameters, Constants.SEARCH_ENCOUNTER_RESOURCE);
     }
 
     /**
@@ -9,6 +9,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.FormDao;
 import com.muzima.api.dao.FormDataDao;
 import com.muzima.api.dao.FormTemplateDao;
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+@Singleton
 public class FormServiceImpl implements FormService {
 
     @Inject
@@ -8,6 +8,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.LastSyncTimeDao;
 import com.muzima.api.model.APIName;
 import com.muzima.api.model.LastSyncTime;
@@ -20,6 +21,7 @@ import java.util.Date;
 
 import static com.muzima.util.Constants.UUID_TYPE_SEPARATOR;
 
+@Singleton
 public class LastSyncTimeServiceImpl implements LastSyncTimeService {
 
     @Inject
@@ -9,6 +9,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.LocationDao;
 import com.muzima.api.model.Location;
 import com.muzima.api.service.LocationService;
@@ -24,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+@Singleton
 public class LocationServiceImpl implements LocationService {
 
     @Inject
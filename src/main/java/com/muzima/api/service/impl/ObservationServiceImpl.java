@@ -9,6 +9,8 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.muzima.api.config.DownloadConfiguration;
 import com.muzima.api.dao.ConceptDao;
 import com.muzima.api.dao.ObservationDao;
 import com.muzima.api.model.Concept;
@@ -26,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+@Singleton
 public class ObservationServiceImpl implements ObservationService {
 
     @Inject
@@ -34,6 +37,9 @@ public class ObservationServiceImpl implements ObservationService {
     @Inject
     private ObservationDao observationDao;
 
+    @Inject
+    private DownloadConfiguration downloadConfiguration;
+
     protected ObservationServiceImpl() {
     }
 
@@ -120,57 +126,20 @@ public class ObservationServiceImpl implements ObservationService {
     @Override
     public List<Observation> downloadObsByObjects(final List<Patient> patients, final List<Concept> concepts,
                                                   final Date syncDate) throws IOException {
-        final StringBuilder personBuilder = new StringBuilder();
+        List<String> patientUuids = new ArrayList<String>();
         for (Patient patient : patients) {
-            if (personBuilder.length() > 0) {
-                personBuilder.append(",");
-            }
-            personBuilder.append(patient.getUuid());
+            patientUuids.add(patient.getUuid());
         }
-        final StringBuilder codedBuilder = new StringBuilder();
-        final StringBuilder nonCodedBuilder = new StringBuilder();
+        List<String> codedUuids = new ArrayList<String>();
+        List<String> nonCodedUuids = new ArrayList<String>();
         for (Concept concept : concepts) {
             if (concept.isCoded()) {
-                if (codedBuilder.length() > 0) {
-                    codedBuilder.append(",");
-                }
-                codedBuilder.append(concept.getUuid());
+                codedUuids.add(concept.getUuid());
             } else {
-                if (nonCodedBuilder.length() > 0) {
-                    nonCodedBuilder.append(",");
-                }
-                nonCodedBuilder.append(concept.getUuid());
-            }
-        }
-
-        List<Observation> observations = new ArrayList<Observation>();
-        if (codedBuilder.length() > 0) {
-            Map<String, String> codedParameter = new HashMap<String, String>() {{
-                put("person", personBuilder.toString());
-                put("concept", codedBuilder.toString());
-            }};
-            if (syncDate != null) {
-                codedParameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
-            }
-            List<Observation> codedObservations = observationDao.download(codedParameter,
-                    Constants.SEARCH_OBSERVATION_CODED_RESOURCE);
-            observations.addAll(codedObservations);
-        }
-
-        if (nonCodedBuilder.length() > 0) {
-            Map<String, String> nonCodedParameter = new HashMap<String, String>() {{
-                put("person", personBuilder.toString());
-                put("concept", nonCodedBuilder.toString());
-            }};
-            if (syncDate != null) {
-                nonCodedParameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
+                nonCodedUuids.add(concept.getUuid());
             }
-            List<Observation> nonCodedObservations = observationDao.download(nonCodedParameter,
-                    Constants.SEARCH_OBSERVATION_NON_CODED_RESOURCE);
-            observations.addAll(nonCodedObservations);
         }
-
-        return observations;
+        return downloadObservations(patientUuids, codedUuids, nonCodedUuids, syncDate);
     }
 
     /**
@@ -191,55 +160,43 @@ public class ObservationServiceImpl implements ObservationService {
     @Override
     public List<Observation> downloadObservations(final List<String> patientUuids, final List<String> conceptUuids,
                                                   final Date syncDate) throws IOException {
-        final StringBuilder personBuilder = new StringBuilder();
-        for (String patientUuid : patientUuids) {
-            if (personBuilder.length() > 0) {
-                personBuilder.append(",");
-            }
-            personBuilder.append(patientUuid);
-        }
-        final StringBuilder codedBuilder = new StringBuilder();
-        final StringBuilder nonCodedBuilder = new StringBuilder();
+        List<String> codedUuids = new ArrayList<String>();
+        List<String> nonCodedUuids = new ArrayList<String>();
         for (String conceptUuid : conceptUuids) {
             Concept concept = conceptDao.getByUuid(conceptUuid);
             if (concept.isCoded()) {
-                if (codedBuilder.length() > 0) {
-                    codedBuilder.append(",");
-                }
-                codedBuilder.append(concept.getUuid());
+                codedUuids.add(concept.getUuid());
             } else {
-                if (nonCodedBuilder.length() > 0) {
-                    nonCodedBuilder.append(",");
-                }
-                nonCodedBuilder.append(concept.getUuid());
+                nonCodedUuids.add(concept.getUuid());
             }
         }
+        return downloadObservations(patientUuids, codedUuids, nonCodedUuids, syncDate);
+    }
 
-        List<Observation> observations = new ArrayList<Observation>();
-        if (codedBuilder.length() > 0) {
-            Map<String, String> codedParameter = new HashMap<String, String>() {{
-                put("person", personBuilder.toString());
-                put("concept", codedBuilder.toString());
-            }};
-            if (syncDate != null) {
-                codedParameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
-            }
-            List<Observation> codedObservations = observationDao.download(codedParameter,
-                    Constants.SEARCH_OBSERVATION_CODED_RESOURCE);
-            observations.addAll(codedObservations);
+    /**
+     * Download the observations of the patients for the coded and non coded concepts. Long lists of patient and concept
+     * uuids are split into several search calls, see <code>{@link UuidRequestPlanner}</code>.
+     */
+    private List<Observation> downloadObservations(final List<String> patientUuids, final List<String> codedUuids,
+                                                   final List<String> nonCodedUuids, final Date syncDate)
+            throws IOException {
+        Map<String, String> parameter = new HashMap<String, String>();
+        if (syncDate != null) {
+            parameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
         }
+        int maxLength = downloadConfiguration.getMaxUuidParameterLength();
 
-        if (nonCodedBuilder.length() > 0) {
-            Map<String, String> nonCodedParameter = new HashMap<String, String>() {{
-                put("person", personBuilder.toString());
-                put("concept", nonCodedBuilder.toString());
-            }};
-            if (syncDate != null) {
-                nonCodedParameter.put("syncDate", DateUtils.getUtcTimeInIso8601(syncDate));
-            }
-            List<Observation> nonCodedObservations = observationDao.download(nonCodedParameter,
-                    Constants.SEARCH_OBSERVATION_NON_CODED_RESOURCE);
-            observations.addAll(nonCodedObservations);
+        List<Observation> observations = new ArrayList<Observation>();
+        if (!codedUuids.isEmpty()) {
+            List<Map<String, String>> codedParameters =
+                    UuidRequestPlanner.plan("person", patientUuids, "concept", codedUuids, parameter, maxLength);
+            observations.addAll(observationDao.download(codedParameters, Constants.SEARCH_OBSERVATION_CODED_RESOURCE));
+        }
+        if (!nonCodedUuids.isEmpty()) {
+            List<Map<String, String>> nonCodedParameters =
+                    UuidRequestPlanner.plan("person", patientUuids, "concept", nonCodedUuids, parameter, maxLength);
+            observations.addAll(observationDao.download(nonCodedParameters,
+                    Constants.SEARCH_OBSERVATION_NON_CODED_RESOURCE));
         }
         return observations;
     }
@@ -9,6 +9,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.MemberDao;
 import com.muzima.api.dao.PatientDao;
 import com.muzima.api.model.CohortMember;
@@ -26,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+@Singleton
 public class PatientServiceImpl implements PatientService {
 
     @Inject
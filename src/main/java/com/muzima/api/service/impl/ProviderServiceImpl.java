@@ -1,6 +1,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.ProviderDao;
 import com.muzima.api.model.Provider;
 import com.muzima.api.service.ProviderService;
@@ -15,6 +16,7 @@ import java.util.*;
 /**
  * Created by vikas on 11/03/15.
  */
+@Singleton
 public class ProviderServiceImpl implements ProviderService {
     @Inject
     private ProviderDao providerDao;
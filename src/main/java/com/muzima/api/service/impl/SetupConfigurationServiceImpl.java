@@ -1,6 +1,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.SetupConfigurationDao;
 import com.muzima.api.dao.SetupConfigurationTemplateDao;
 import com.muzima.api.model.SetupConfiguration;
@@ -16,6 +17,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+@Singleton
 public class SetupConfigurationServiceImpl implements SetupConfigurationService {
     @Inject
     private SetupConfigurationDao setupConfigurationDao;
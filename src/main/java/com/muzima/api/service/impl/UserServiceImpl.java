@@ -9,6 +9,7 @@
 package com.muzima.api.service.impl;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.muzima.api.dao.CredentialDao;
 import com.muzima.api.dao.PrivilegeDao;
 import com.muzima.api.dao.RoleDao;
@@ -27,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+@Singleton
 public class UserServiceImpl implements UserService {
 
     @Inject
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.service.impl;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Split downloads by long lists of uuids into search calls with a bounded url length. The uuids are sent as a comma
+ * separated parameter of the search call, the planner splits the list into chunks whose url encoded length stays
+ * under the maximum length and creates the parameter set of every search call.
+ */
+final class UuidRequestPlanner {
+
+    private static final String SEPARATOR = ",";
+
+    private static final int ENCODED_SEPARATOR_LENGTH = encodedLength(SEPARATOR);
+
+    private UuidRequestPlanner() {
+    }
+
+    /**
+     * Split the uuids into comma separated chunks. Every chunk contains at least one uuid, a single uuid longer than
+     * the maximum length is sent in a chunk of its own. An empty list of uuids gives a single empty chunk, so the
+     * search call is sent the same way as before the split.
+     *
+     * @param uuids     the uuids.
+     * @param maxLength the maximum url encoded length of a chunk.
+     * @return the comma separated chunks, in uuid order.
+     */
+    static List<String> split(final List<String> uuids, final int maxLength) {
+        List<String> chunks = new ArrayList<String>();
+        StringBuilder chunk = new StringBuilder();
+        int chunkLength = 0;
+        for (String uuid : uuids) {
+            int uuidLength = encodedLength(String.valueOf(uuid));
+            if (chunk.length() > 0 && chunkLength + ENCODED_SEPARATOR_LENGTH + uuidLength > maxLength) {
+                chunks.add(chunk.toString());
+                chunk.setLength(0);
+                chunkLength = 0;
+            }
+            if (chunk.length() > 0) {
+                chunk.append(SEPARATOR);
+                chunkLength += ENCODED_SEPARATOR_LENGTH;
+            }
+            chunk.append(uuid);
+            chunkLength += uuidLength;
+        }
+        if (chunk.length() > 0 || chunks.isEmpty()) {
+            chunks.add(chunk.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Create the parameter sets of a download by a list of uuids.
+     *
+     * @param parameter  the name of the uuid parameter.
+     * @param uuids      the uuids.
+     * @param parameters the other parameters of every search call.
+     * @param maxLength  the maximum url encoded length of the uuid parameter.
+     * @return the parameter sets, one for each search call.
+     */
+    static List<Map<String, String>> plan(final String parameter, final List<String> uuids,
+                                          final Map<String, String> parameters, final int maxLength) {
+        List<Map<String, String>> plan = new ArrayList<Map<String, String>>();
+        for (String chunk : split(uuids, maxLength)) {
+            Map<String, String> chunkParameters = new HashMap<String, String>(parameters);
+            chunkParameters.put(parameter, chunk);
+            plan.add(chunkParameters);
+        }
+        return plan;
+    }
+
+    /**
+     * Create the parameter sets of a download by two lists of uuids, every chunk of the first list is combined with
+     * every chunk of the second list. The second list gets at most half of the maximum length, the first list gets
+     * what's left by the longest chunk of the second list.
+     *
+     * @param firstParameter  the name of the first uuid parameter.
+     * @param firstUuids      the uuids of the first parameter.
+     * @param secondParameter the name of the second uuid parameter.
+     * @param secondUuids     the uuids of the second parameter.
+     * @param parameters      the other parameters of every search call.
+     * @param maxLength       the maximum url encoded length of both uuid parameters together.
+     * @return the parameter sets, one for each search call.
+     */
+    static List<Map<String, String>> plan(final String firstParameter, final List<String> firstUuids,
+                                          final String secondParameter, final List<String> secondUuids,
+                                          final Map<String, String> parameters, final int maxLength) {
+        List<String> secondChunks = split(secondUuids, Math.max(1, maxLength / 2));
+        int secondLength = 0;
+        for (String secondChunk : secondChunks) {
+            secondLength = Math.max(secondLength, encodedLength(secondChunk));
+        }
+        List<String> firstChunks = split(firstUuids, Math.max(1, maxLength - secondLength));
+
+        List<Map<String, String>> plan = new ArrayList<Map<String, String>>();
+        for (String firstChunk : firstChunks) {
+            for (String secondChunk : secondChunks) {
+                Map<String, String> chunkParameters = new HashMap<String, String>(parameters);
+                chunkParameters.put(firstParameter, firstChunk);
+                chunkParameters.put(secondParameter, secondChunk);
+                plan.add(chunkParameters);
+            }
+        }
+        return plan;
+    }
+
+    private static int encodedLength(final String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8").length();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 encoding is not supported.", e);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.util;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.MalformedURLException;
+import java.net.NoRouteToHostException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keep track of the reachability of servers. The reachability of a server is cached for a short time when the
+ * server is reachable, and probed again with exponential backoff when the server is not reachable. Probes run on a
+ * background thread, and successful requests to the server refresh the cached state without probing. Requests which
+ * fail to connect mark the server unreachable. Only one probe of a server runs at a time, callers waiting for the
+ * reachability of a server share the result of the running probe.
+ */
+public class ConnectivityMonitor {
+
+    /**
+     * How long a reachable server is considered reachable without probing it again.
+     */
+    public static final long REACHABLE_TTL = 30 * 1000L;
+
+    /**
+     * The initial delay before probing a server which was not reachable.
+     */
+    public static final long MINIMUM_BACKOFF = 1000L;
+
+    /**
+     * The maximum delay before probing a server which was not reachable.
+     */
+    public static final long MAXIMUM_BACKOFF = 5 * 60 * 1000L;
+
+    private static final ConcurrentMap<String, State> states = new ConcurrentHashMap<String, State>();
+
+    private static ExecutorService executor;
+
+    private ConnectivityMonitor() {
+    }
+
+    /**
+     * Get the last known reachability of the server without waiting for the network. A background probe is
+     * started when the state is unknown or expired.
+     *
+     * @param address the address of the server.
+     * @return true when the server was reachable on the last probe or request.
+     */
+    public static boolean isReachable(final String address) {
+        State state = getState(address);
+        if (state.isExpired()) {
+            probeInBackground(address, state);
+        }
+        return state.reachable;
+    }
+
+    /**
+     * Get the reachability of the server, probing the server and waiting for the result only when the state is
+     * unknown or expired. A server which is known to be unreachable is not probed again before the backoff period
+     * elapsed, so this method returns immediately when the device is known to be offline.
+     *
+     * @param address the address of the server.
+     * @param timeout the connection timeout of the probe.
+     * @return true when the server is reachable.
+     */
+    public static boolean awaitReachable(final String address, final int timeout) {
+        State state = getState(address);
+        if (state.isExpired()) {
+            state.probe(address, timeout);
+        }
+        return state.reachable;
+    }
+
+    /**
+     * Record a successful request to the server.
+     *
+     * @param address the address of the server or any url on the server.
+     */
+    public static void reportReachable(final String address) {
+        getState(address).update(true);
+    }
+
+    /**
+     * Record that the server couldn't be reached.
+     *
+     * @param address the address of the server or any url on the server.
+     */
+    public static void reportUnreachable(final String address) {
+        getState(address).update(false);
+    }
+
+    /**
+     * Record a failed request to the server. The server is marked unreachable when the request failed to connect,
+     * other failures, e.g. an error response of the server, don't change the reachability.
+     *
+     * @param address   the address of the server or any url on the server.
+     * @param exception the failure of the request.
+     */
+    public static void reportFailure(final String address, final IOException exception) {
+        if (isConnectionFailure(exception)) {
+            reportUnreachable(address);
+        }
+    }
+
+    /**
+     * Check whether the failure, or one of its causes, is a failure to connect to the server.
+     *
+     * @param exception the failure of the request.
+     * @return true when the request failed to connect to the server.
+     */
+    static boolean isConnectionFailure(final Throwable exception) {
+        Throwable cause = exception;
+        while (cause != null) {
+            if (cause instanceof ConnectException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+            cause = (cause.getCause() == cause) ? null : cause.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * Forget all cached reachability state.
+     */
+    public static void reset() {
+        states.clear();
+    }
+
+    private static State getState(final String address) {
+        String key = getKey(address);
+        State state = states.get(key);
+        if (state == null) {
+            State newState = new State();
+            state = states.putIfAbsent(key, newState);
+            if (state == null) {
+                state = newState;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Servers are tracked by protocol, host and port, so any url on a server shares the same state.
+     */
+    private static String getKey(final String address) {
+        try {
+            URL url = new URL(address);
+            return url.getProtocol() + "://" + url.getAuthority();
+        } catch (MalformedURLException e) {
+            return String.valueOf(address);
+        }
+    }
+
+    private static void probeInBackground(final String address, final State state) {
+        if (state.probing.compareAndSet(false, true)) {
+            getExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        state.probe(address, Constants.CONNECTION_TIMEOUT);
+                    } finally {
+                        state.probing.set(false);
+                    }
+                }
+            });
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(runnable, "muzima-connectivity-monitor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    private static class State {
+
+        private final AtomicBoolean probing = new AtomicBoolean(false);
+
+        private final Object probeLock = new Object();
+
+        private volatile boolean reachable;
+
+        private volatile long expiryTime;
+
+        private int failures;
+
+        private synchronized void update(final boolean reachable) {
+            long delay;
+            if (reachable) {
+                failures = 0;
+                delay = REACHABLE_TTL;
+            } else {
+                delay = Math.min(MINIMUM_BACKOFF << Math.min(failures, 30), MAXIMUM_BACKOFF);
+                failures++;
+            }
+            this.reachable = reachable;
+            this.expiryTime = System.currentTimeMillis() + delay;
+        }
+
+        /**
+         * Probe the server unless another caller probed it while this caller waited for the running probe.
+         */
+        private void probe(final String address, final int timeout) {
+            synchronized (probeLock) {
+                if (isExpired()) {
+                    update(NetworkUtils.isAddressReachable(address, timeout));
+                }
+            }
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiryTime;
+        }
+    }
+}
@@ -38,6 +38,11 @@ public class Constants {
     public static final String RESOURCE_CONFIGURATION_PATH = "configuration.resource.path";
 
     public static final String RESOURCE_CONFIGURATION_STRING = "configuration.resource.string";
+
+    public static final String RESOURCE_LAZY_REGISTRATION = "configuration.resource.lazy";
+
+    public static final String CONTEXT_WARM_UP = "configuration.context.warmup";
+
     /*
      * OpenMRS server configuration.
      */
@@ -101,6 +106,11 @@ public class Constants {
 
     public static final String DYNAMIC_COHORT_DATA_RESOURCE = "Dynamic Cohort Data Resource";
 
+    /*
+     * Number of patients passed at once to the cohort data handler when streaming the cohort data.
+     */
+    public static final int COHORT_DATA_BATCH_SIZE = 500;
+
     public static final String SEARCH_CONCEPT_RESOURCE = "Search Concept Resource";
 
     public static final String UUID_CONCEPT_RESOURCE = "Uuid Concept Resource";
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.util;
+
+import com.muzima.search.api.util.ISO8601Util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Convert dates from and to the two layouts used by the OpenMRS REST resources: the date time layout
+ * <code>yyyy-MM-dd'T'HH:mm:ss.SSSZ</code> and the date layout <code>yyyy-MM-dd</code>.
+ *
+ * Both layouts are parsed and formatted by hand into epoch milliseconds without creating a formatter or a calendar.
+ * Values not matching the layouts exactly, or outside the years 1600 to 9999, are delegated to
+ * <code>ISO8601Util</code> and <code>SimpleDateFormat</code>, so the results are the same as before.
+ *
+ * The recently converted values are kept in small direct mapped caches, because the same date time values repeat a
+ * lot within a download, e.g. the obsDatetime of all observations of an encounter. The cache entries are immutable
+ * and replaced without locking, a thread reading a stale entry only converts the value again.
+ *
+ * Dates without an offset are converted in the default time zone, which is read when the class is loaded. Call
+ * <code>resetTimeZone</code> after changing the default time zone.
+ */
+public class DateCodec {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    private static final int CACHE_SIZE = 256;
+
+    private static final int CACHE_MASK = CACHE_SIZE - 1;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final int DATE_TIME_LENGTH = 28;
+
+    private static final int DATE_LENGTH = 10;
+
+    private static final int MINIMUM_YEAR = 1600;
+
+    private static final int MAXIMUM_YEAR = 9999;
+
+    private static final Entry[] parsedDateTimes = new Entry[CACHE_SIZE];
+
+    private static final Entry[] parsedDates = new Entry[CACHE_SIZE];
+
+    private static final Entry[] formattedDateTimes = new Entry[CACHE_SIZE];
+
+    private static final Entry[] formattedDates = new Entry[CACHE_SIZE];
+
+    private static volatile TimeZone timeZone = TimeZone.getDefault();
+
+    private DateCodec() {
+    }
+
+    /**
+     * Read the default time zone again and discard the cached values which depend on it.
+     */
+    public static void resetTimeZone() {
+        timeZone = TimeZone.getDefault();
+        clear(parsedDates);
+        clear(formattedDateTimes);
+        clear(formattedDates);
+    }
+
+    /**
+     * Convert the string following the ISO-8601 format into date value.
+     *
+     * @param dateAsString the string following the ISO-8601 format.
+     * @return the date value.
+     * @throws ParseException when the string is not a valid ISO-8601 date time.
+     */
+    public static Date parseDateTime(final String dateAsString) throws ParseException {
+        int index = indexOf(dateAsString.hashCode());
+        Entry entry = parsedDateTimes[index];
+        if (entry == null || !dateAsString.equals(entry.text)) {
+            long millis = parseDateTimeMillis(dateAsString);
+            entry = new Entry(dateAsString, millis);
+            parsedDateTimes[index] = entry;
+        }
+        return new Date(entry.millis);
+    }
+
+    /**
+     * Convert the string of format yyyy-MM-dd into date value at midnight in the default time zone.
+     *
+     * @param dateAsString the string of format yyyy-MM-dd.
+     * @return the date value.
+     * @throws ParseException when the string doesn't start with a valid date.
+     */
+    public static Date parseDate(final String dateAsString) throws ParseException {
+        int index = indexOf(dateAsString.hashCode());
+        Entry entry = parsedDates[index];
+        if (entry == null || !dateAsString.equals(entry.text)) {
+            long millis = parseDateMillis(dateAsString);
+            entry = new Entry(dateAsString, millis);
+            parsedDates[index] = entry;
+        }
+        return new Date(entry.millis);
+    }
+
+    /**
+     * Convert the date value into string following the ISO-8601 format, using the offset of the default time zone.
+     *
+     * @param date the date value.
+     * @return the string of format yyyy-MM-dd'T'HH:mm:ss.SSSZ.
+     */
+    public static String formatDateTime(final Date date) {
+        long millis = date.getTime();
+        int index = indexOf(millis);
+        Entry entry = formattedDateTimes[index];
+        if (entry == null || entry.millis != millis) {
+            entry = new Entry(formatDateTimeMillis(millis), millis);
+            formattedDateTimes[index] = entry;
+        }
+        return entry.text;
+    }
+
+    /**
+     * Convert the date value into string of format yyyy-MM-dd in the default time zone.
+     *
+     * @param date the date value.
+     * @return the string of format yyyy-MM-dd.
+     */
+    public static String formatDate(final Date date) {
+        long millis = date.getTime();
+        int index = indexOf(millis);
+        Entry entry = formattedDates[index];
+        if (entry == null || entry.millis != millis) {
+            entry = new Entry(formatDateMillis(millis), millis);
+            formattedDates[index] = entry;
+        }
+        return entry.text;
+    }
+
+    private static long parseDateTimeMillis(final String value) throws ParseException {
+        if (value.length() == DATE_TIME_LENGTH
+                && value.charAt(4) == '-' && value.charAt(7) == '-' && value.charAt(10) == 'T'
+                && value.charAt(13) == ':' && value.charAt(16) == ':' && value.charAt(19) == '.'
+                && (value.charAt(23) == '+' || value.charAt(23) == '-')) {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 2);
+            int day = digits(value, 8, 2);
+            int hour = digits(value, 11, 2);
+            int minute = digits(value, 14, 2);
+            int second = digits(value, 17, 2);
+            int millisecond = digits(value, 20, 3);
+            int offsetHour = digits(value, 24, 2);
+            int offsetMinute = digits(value, 26, 2);
+            if (isValidDate(year, month, day) && isInRange(hour, 24) && isInRange(minute, 60)
+                    && isInRange(second, 60) && millisecond >= 0 && offsetHour >= 0 && isInRange(offsetMinute, 60)) {
+                long offset = (offsetHour * 60L + offsetMinute) * 60 * 1000;
+                if (value.charAt(23) == '-') {
+                    offset = -offset;
+                }
+                long local = toEpochDay(year, month, day) * MILLIS_PER_DAY
+                        + ((hour * 60L + minute) * 60 + second) * 1000 + millisecond;
+                return local - offset;
+            }
+        }
+        try {
+            return ISO8601Util.toCalendar(value).getTimeInMillis();
+        } catch (RuntimeException e) {
+            throw new ParseException("Unable to parse date time value: " + value, 0);
+        }
+    }
+
+    private static long parseDateMillis(final String value) throws ParseException {
+        if (value.length() >= DATE_LENGTH && value.charAt(4) == '-' && value.charAt(7) == '-'
+                && (value.length() == DATE_LENGTH || !Character.isDigit(value.charAt(DATE_LENGTH)))) {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 2);
+            int day = digits(value, 8, 2);
+            if (isValidDate(year, month, day)) {
+                return toUtc(toEpochDay(year, month, day) * MILLIS_PER_DAY);
+            }
+        }
+        return new SimpleDateFormat(DATE_PATTERN).parse(value).getTime();
+    }
+
+    private static String formatDateTimeMillis(final long millis) {
+        int offset = timeZone.getOffset(millis);
+        long local = millis + offset;
+        long epochDay = floorDiv(local, MILLIS_PER_DAY);
+        int millisOfDay = (int) (local - epochDay * MILLIS_PER_DAY);
+        int date = fromEpochDay(epochDay);
+        if (date / 10000 < MINIMUM_YEAR || date / 10000 > MAXIMUM_YEAR) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(millis);
+            return ISO8601Util.fromCalendar(calendar);
+        }
+        char[] chars = new char[DATE_TIME_LENGTH];
+        writeDate(chars, date);
+        chars[10] = 'T';
+        int seconds = millisOfDay / 1000;
+        write(chars, 11, seconds / 3600, 2);
+        chars[13] = ':';
+        write(chars, 14, seconds / 60 % 60, 2);
+        chars[16] = ':';
+        write(chars, 17, seconds % 60, 2);
+        chars[19] = '.';
+        write(chars, 20, millisOfDay % 1000, 3);
+        int offsetMinutes = offset / (60 * 1000);
+        chars[23] = offsetMinutes < 0 ? '-' : '+';
+        offsetMinutes = Math.abs(offsetMinutes);
+        write(chars, 24, offsetMinutes / 60, 2);
+        write(chars, 26, offsetMinutes % 60, 2);
+        return new String(chars);
+    }
+
+    private static String formatDateMillis(final long millis) {
+        long local = millis + timeZone.getOffset(millis);
+        int date = fromEpochDay(floorDiv(local, MILLIS_PER_DAY));
+        if (date / 10000 < MINIMUM_YEAR || date / 10000 > MAXIMUM_YEAR) {
+            return new SimpleDateFormat(DATE_PATTERN).format(new Date(millis));
+        }
+        char[] chars = new char[DATE_LENGTH];
+        writeDate(chars, date);
+        return new String(chars);
+    }
+
+    /**
+     * Convert the local time in the default time zone into epoch milliseconds. A local time skipped by a daylight
+     * saving transition is moved forward, like a lenient calendar does.
+     */
+    private static long toUtc(final long local) {
+        TimeZone zone = timeZone;
+        int offset = zone.getOffset(local - zone.getRawOffset());
+        long utc = local - offset;
+        int actualOffset = zone.getOffset(utc);
+        if (actualOffset == offset) {
+            return utc;
+        }
+        long otherUtc = local - actualOffset;
+        if (zone.getOffset(otherUtc) == actualOffset) {
+            return otherUtc;
+        }
+        // the local time doesn't exist, use the offset from before the transition.
+        return Math.max(utc, otherUtc);
+    }
+
+    /**
+     * Read the unsigned decimal number, or return -1 when one of the characters is not a digit.
+     */
+    private static int digits(final String value, final int start, final int length) {
+        int number = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            number = number * 10 + digit;
+        }
+        return number;
+    }
+
+    private static void write(final char[] chars, final int start, final int number, final int length) {
+        int remaining = number;
+        for (int i = start + length - 1; i >= start; i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining = remaining / 10;
+        }
+    }
+
+    private static void writeDate(final char[] chars, final int date) {
+        write(chars, 0, date / 10000, 4);
+        chars[4] = '-';
+        write(chars, 5, date / 100 % 100, 2);
+        chars[7] = '-';
+        write(chars, 8, date % 100, 2);
+    }
+
+    private static boolean isInRange(final int number, final int limit) {
+        return number >= 0 && number < limit;
+    }
+
+    private static boolean isValidDate(final int year, final int month, final int day) {
+        return year >= MINIMUM_YEAR && year <= MAXIMUM_YEAR && month >= 1 && month <= 12
+                && day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    private static int daysInMonth(final int year, final int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    /**
+     * Count the days since 1970-01-01 in the proleptic gregorian calendar.
+     */
+    private static long toEpochDay(final int year, final int month, final int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Convert the days since 1970-01-01 into the date of the proleptic gregorian calendar, packed as yyyyMMdd.
+     */
+    private static int fromEpochDay(final long epochDay) {
+        long days = epochDay + 719468;
+        long era = floorDiv(days, 146097);
+        long dayOfEra = days - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static long floorDiv(final long dividend, final long divisor) {
+        long quotient = dividend / divisor;
+        if ((dividend % divisor != 0) && ((dividend < 0) != (divisor < 0))) {
+            quotient--;
+        }
+        return quotient;
+    }
+
+    private static int indexOf(final int hash) {
+        return (hash ^ (hash >>> 16)) & CACHE_MASK;
+    }
+
+    private static int indexOf(final long millis) {
+        return indexOf((int) (millis ^ (millis >>> 32)));
+    }
+
+    private static void clear(final Entry[] entries) {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+    }
+
+    /**
+     * Immutable pair of the string and the epoch milliseconds of a converted value. The final fields make it safe to
+     * publish the entries through the cache arrays without locking.
+     */
+    private static final class Entry {
+
+        private final String text;
+
+        private final long millis;
+
+        private Entry(final String text, final long millis) {
+            this.text = text;
+            this.millis = millis;
+        }
+    }
+}
@@ -7,9 +7,6 @@
  */
 package com.muzima.util;
 
-import com.muzima.search.api.util.ISO8601Util;
-
-import java.util.Calendar;
 import java.util.Date;
 
 /**
@@ -23,8 +20,6 @@ public class DateUtils {
      * @return the equilavent UTC time in ISO8601 format
      */
     public static String getUtcTimeInIso8601(Date syncDate) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(syncDate);
-        return ISO8601Util.fromCalendar(calendar);
+        return DateCodec.formatDateTime(syncDate);
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.util;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keep the compiled json paths, so reading a property doesn't compile the same path again on every call. The
+ * algorithms only use a small, fixed set of paths, so the cache stops adding paths once it is full instead of
+ * evicting them. Paths which don't fit in the cache are compiled on every call.
+ */
+public class JsonPathCache {
+
+    /**
+     * The maximum number of compiled paths kept in the cache.
+     */
+    public static final int MAXIMUM_SIZE = 512;
+
+    private static final ConcurrentMap<String, JsonPath> paths = new ConcurrentHashMap<String, JsonPath>();
+
+    private static final AtomicLong hitCount = new AtomicLong();
+
+    private static final AtomicLong missCount = new AtomicLong();
+
+    private JsonPathCache() {
+    }
+
+    /**
+     * Get the compiled json path for the path expression, compiling it on the first call.
+     *
+     * @param path the json path expression.
+     * @return the compiled json path.
+     */
+    public static JsonPath compile(final String path) {
+        JsonPath jsonPath = paths.get(path);
+        if (jsonPath != null) {
+            hitCount.incrementAndGet();
+            return jsonPath;
+        }
+        missCount.incrementAndGet();
+        jsonPath = JsonPath.compile(path);
+        if (paths.size() < MAXIMUM_SIZE) {
+            JsonPath existing = paths.putIfAbsent(path, jsonPath);
+            if (existing != null) {
+                jsonPath = existing;
+            }
+        }
+        return jsonPath;
+    }
+
+    /**
+     * Read the value of the path from the json string.
+     *
+     * @param json the json string.
+     * @param path the json path expression.
+     * @return the value of the path.
+     */
+    public static <T> T read(final String json, final String path) {
+        return compile(path).read(json);
+    }
+
+    /**
+     * Read the value of the path from the parsed json document.
+     *
+     * @param document the parsed json document.
+     * @param path     the json path expression.
+     * @return the value of the path.
+     */
+    public static <T> T read(final Object document, final String path) {
+        return compile(path).read(document);
+    }
+
+    /**
+     * Get the number of lookups which found the compiled path in the cache.
+     *
+     * @return the number of cache hits.
+     */
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of lookups which had to compile the path.
+     *
+     * @return the number of cache misses.
+     */
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get the ratio of lookups which found the compiled path in the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 when there was no lookup.
+     */
+    public static double getHitRate() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Get the number of compiled paths in the cache.
+     *
+     * @return the number of compiled paths.
+     */
+    public static int getSize() {
+        return paths.size();
+    }
+
+    /**
+     * Remove all compiled paths and reset the hit and miss counters.
+     */
+    public static void clear() {
+        paths.clear();
+        hitCount.set(0);
+        missCount.set(0);
+    }
+}
@@ -8,19 +8,19 @@
 
 package com.muzima.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.jayway.jsonpath.JsonPath;
-import com.muzima.search.api.util.ISO8601Util;
 import com.muzima.search.api.util.StringUtil;
 import net.minidev.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * TODO: Write brief description about the class here.
@@ -28,7 +28,6 @@ import java.util.List;
 public class JsonUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonUtils.class.getSimpleName());
-    private static final String DATE_PATTERN = "yyyy-MM-dd";
 
     /**
      * Write boolean value into the json object. The method will only write the boolean value if the object passed
@@ -55,7 +54,7 @@ public class JsonUtils {
     public static boolean readAsBoolean(final String jsonObject, final String path) {
         boolean returnedBoolean = false;
         try {
-            returnedBoolean = (Boolean) JsonPath.read(jsonObject, path);
+            returnedBoolean = (Boolean) JsonPathCache.read(jsonObject, path);
         } catch (Exception e) {
             logger.error("Unable to read boolean value with path: " + path + " from: " + String.valueOf(jsonObject));
         }
@@ -87,7 +86,7 @@ public class JsonUtils {
     public static double readAsNumeric(final String jsonObject, final String path) {
         double returnedString = 0;
         try {
-            returnedString = (Double) JsonPath.read(jsonObject, path);
+            returnedString = (Double) JsonPathCache.read(jsonObject, path);
         } catch (Exception e) {
             logger.error("Unable to read string value with path: " + path + " from: " + String.valueOf(jsonObject));
         }
@@ -119,7 +118,7 @@ public class JsonUtils {
     public static int readAsInteger(final String jsonObject, final String path) {
         int returnedString = 0;
         try {
-            returnedString = (Integer) JsonPath.read(jsonObject, path);
+            returnedString = (Integer) JsonPathCache.read(jsonObject, path);
         } catch (Exception e) {
             logger.error("Unable to read string value with path: " + path + " from: " + String.valueOf(jsonObject));
         }
@@ -151,7 +150,7 @@ public class JsonUtils {
     public static String readAsString(final String jsonObject, final String path) {
         String returnedString = null;
         try {
-            returnedString = JsonPath.read(jsonObject, path);
+            returnedString = JsonPathCache.read(jsonObject, path);
         } catch (Exception e) {
             logger.error("Unable to read string value with path: " + path + " from: " + String.valueOf(jsonObject));
         }
@@ -173,9 +172,7 @@ public class JsonUtils {
             JSONObject jsonObject = (JSONObject) object;
             String dateValue = null;
             if (value != null) {
-                Calendar calendar = Calendar.getInstance();
-                calendar.setTime(value);
-                dateValue = ISO8601Util.fromCalendar(calendar);
+                dateValue = DateCodec.formatDateTime(value);
             }
             jsonObject.put(path, dateValue);
         }
@@ -191,17 +188,7 @@ public class JsonUtils {
      * @see @link <a href="http://en.wikipedia.org/wiki/ISO_8601">ISO-8601 Wikipedia Page</a>
      */
     public static Date readAsDateTime(final String jsonObject, final String path) {
-        Date returnedDate = null;
-        try {
-            String dateAsString = readAsString(jsonObject, path);
-            Calendar calendar = ISO8601Util.toCalendar(dateAsString);
-            returnedDate = calendar.getTime();
-        } catch (ParseException e) {
-            logger.error("Unable to convert string value from path: " + path + " from: " + String.valueOf(jsonObject));
-        } catch (Exception e) {
-            logger.error("Unable to create date value from path: " + path + " from: " + String.valueOf(jsonObject));
-        }
-        return returnedDate;
+        return parseDateTime(readAsString(jsonObject, path));
     }
 
     /**
@@ -214,7 +201,7 @@ public class JsonUtils {
     public static Object readAsObject(final String jsonObject, final String path) {
         Object object = null;
         try {
-            object = JsonPath.read(jsonObject, path);
+            object = JsonPathCache.read(jsonObject, path);
         } catch (Exception e) {
             logger.error("Unable to read object value with path: " + path + " from: " + String.valueOf(jsonObject));
         }
@@ -231,7 +218,7 @@ public class JsonUtils {
     public static List<Object> readAsObjectList(final String jsonObject, final String path) {
         List<Object> objects = new ArrayList<Object>();
         try {
-            objects = JsonPath.read(jsonObject, path);
+            objects = JsonPathCache.read(jsonObject, path);
         } catch (Exception e) {
             logger.error("Unable to read object value with path: " + path + " from: " + String.valueOf(jsonObject));
         }
@@ -251,7 +238,7 @@ public class JsonUtils {
     public static void writeAsDate(final Object object, final String path, final Date date) {
         if (object instanceof JSONObject && date != null) {
             JSONObject jsonObject = (JSONObject) object;
-            jsonObject.put(path, new SimpleDateFormat(DATE_PATTERN).format(date));
+            jsonObject.put(path, DateCodec.formatDate(date));
         }
     }
 
@@ -264,14 +251,314 @@ public class JsonUtils {
      * @return the date value in the json object. When the path is invalid, by default will return null.
      */
     public static Date readAsDate(String serialized, String path) {
-        String dateAsString = readAsString(serialized, path);
+        return parseDate(readAsString(serialized, path));
+    }
+
+    /**
+     * Write boolean value into the json generator.
+     *
+     * @param generator the json generator, positioned inside a json object.
+     * @param name      the field name in the json object.
+     * @param value     the value to be assigned for the field.
+     */
+    public static void writeAsBoolean(final JsonGenerator generator, final String name, final boolean value)
+            throws IOException {
+        generator.writeBooleanField(name, value);
+    }
+
+    /**
+     * Write numeric value into the json generator. If the value is null, will write null value.
+     *
+     * @param generator the json generator, positioned inside a json object.
+     * @param name      the field name in the json object.
+     * @param value     the value to be assigned for the field.
+     */
+    public static void writeAsNumeric(final JsonGenerator generator, final String name, final Double value)
+            throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    /**
+     * Write integer value into the json generator. If the value is null, will write null value.
+     *
+     * @param generator the json generator, positioned inside a json object.
+     * @param name      the field name in the json object.
+     * @param value     the value to be assigned for the field.
+     */
+    public static void writeAsInteger(final JsonGenerator generator, final String name, final Integer value)
+            throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    /**
+     * Write string value into the json generator. If the value is null, will write null value.
+     *
+     * @param generator the json generator, positioned inside a json object.
+     * @param name      the field name in the json object.
+     * @param value     the value to be assigned for the field.
+     */
+    public static void writeAsString(final JsonGenerator generator, final String name, final String value)
+            throws IOException {
+        generator.writeStringField(name, value);
+    }
+
+    /**
+     * Write date value into the json generator. The date will be converted into the ISO8601 string. If the date is
+     * null, will write null value.
+     *
+     * @param generator the json generator, positioned inside a json object.
+     * @param name      the field name in the json object.
+     * @param value     the value to be assigned for the field.
+     */
+    public static void writeAsDateTime(final JsonGenerator generator, final String name, final Date value)
+            throws IOException {
+        String dateValue = null;
+        if (value != null) {
+            dateValue = DateCodec.formatDateTime(value);
+        }
+        generator.writeStringField(name, dateValue);
+    }
+
+    /**
+     * Write the day string of the date value into the json generator. The date will be converted into string of
+     * format yyyy-MM-dd. If the date is null, the field will not be written.
+     *
+     * @param generator the json generator, positioned inside a json object.
+     * @param name      the field name in the json object.
+     * @param date      the value to be assigned for the field.
+     */
+    public static void writeAsDate(final JsonGenerator generator, final String name, final Date date)
+            throws IOException {
+        if (date != null) {
+            generator.writeStringField(name, DateCodec.formatDate(date));
+        }
+    }
+
+    /**
+     * Parse the json string into an in memory document. The parsed document can be passed to the read methods taking
+     * an object instead of a string, which read the values from the document without parsing the json string again.
+     *
+     * @param serialized the json string.
+     * @return the parsed document. When the json string is invalid, by default will return null.
+     */
+    public static Object parse(final String serialized) {
+        Object document = null;
+        try {
+            document = JsonPath.read(serialized, "$");
+        } catch (Exception e) {
+            logger.error("Unable to parse json document from: " + String.valueOf(serialized));
+        }
+        return document;
+    }
+
+    /**
+     * Read boolean value from the parsed json document.
+     *
+     * @param document the parsed json document.
+     * @param path     the path inside the json document.
+     * @return the boolean value in the json document. When the path is invalid, by default will return false.
+     */
+    public static boolean readAsBoolean(final Object document, final String path) {
+        boolean returnedBoolean = false;
+        try {
+            Object value = read(document, path);
+            if (value != null) {
+                returnedBoolean = (Boolean) value;
+            }
+        } catch (Exception e) {
+            logger.error("Unable to read boolean value with path: " + path + " from: " + String.valueOf(document));
+        }
+        return returnedBoolean;
+    }
+
+    /**
+     * Read numeric value from the parsed json document.
+     *
+     * @param document the parsed json document.
+     * @param path     the path inside the json document.
+     * @return the numeric value in the json document. When the path is invalid, by default will return 0.
+     */
+    public static double readAsNumeric(final Object document, final String path) {
+        double returnedNumeric = 0;
+        try {
+            Object value = read(document, path);
+            if (value != null) {
+                returnedNumeric = (Double) value;
+            }
+        } catch (Exception e) {
+            logger.error("Unable to read numeric value with path: " + path + " from: " + String.valueOf(document));
+        }
+        return returnedNumeric;
+    }
+
+    /**
+     * Read integer value from the parsed json document.
+     *
+     * @param document the parsed json document.
+     * @param path     the path inside the json document.
+     * @return the integer value in the json document. When the path is invalid, by default will return 0.
+     */
+    public static int readAsInteger(final Object document, final String path) {
+        int returnedInteger = 0;
+        try {
+            Object value = read(document, path);
+            if (value != null) {
+                returnedInteger = (Integer) value;
+            }
+        } catch (Exception e) {
+            logger.error("Unable to read integer value with path: " + path + " from: " + String.valueOf(document));
+        }
+        return returnedInteger;
+    }
+
+    /**
+     * Read string value from the parsed json document.
+     *
+     * @param document the parsed json document.
+     * @param path     the path inside the json document.
+     * @return the string value in the json document. When the path is invalid, by default will return null.
+     */
+    public static String readAsString(final Object document, final String path) {
+        String returnedString = null;
+        try {
+            returnedString = (String) read(document, path);
+        } catch (Exception e) {
+            logger.error("Unable to read string value with path: " + path + " from: " + String.valueOf(document));
+        }
+        return returnedString;
+    }
+
+    /**
+     * Read date value from the parsed json document. The value for the path must conform to the ISO-8601 standard
+     * date format.
+     *
+     * @param document the parsed json document.
+     * @param path     the path inside the json document.
+     * @return the date value in the json document. When the path is invalid, by default will return null.
+     */
+    public static Date readAsDateTime(final Object document, final String path) {
+        return parseDateTime(readAsString(document, path));
+    }
+
+    /**
+     * Read date value from the parsed json document. The value for the path must conform to the "yyyy-MM-dd"
+     * date format.
+     *
+     * @param document the parsed json document.
+     * @param path     the path inside the json document.
+     * @return the date value in the json document. When the path is invalid, by default will return null.
+     */
+    public static Date readAsDate(final Object document, final String path) {
+        return parseDate(readAsString(document, path));
+    }
+
+    /**
+     * Convert the string following the ISO-8601 format into date value.
+     *
+     * @param dateAsString the string following the ISO-8601 format.
+     * @return the date value. When the string is empty or invalid, by default will return null.
+     */
+    public static Date parseDateTime(final String dateAsString) {
         if (StringUtil.isEmpty(dateAsString)) {
             return null;
         }
+        Date returnedDate = null;
         try {
-            return new SimpleDateFormat(DATE_PATTERN).parse(dateAsString);
+            returnedDate = DateCodec.parseDateTime(dateAsString);
         } catch (ParseException e) {
-            logger.error("Unable to convert string value from path: " + path + " from: " + String.valueOf(serialized));
+            logger.error("Unable to convert string value: " + dateAsString + " to date time value.");
+        }
+        return returnedDate;
+    }
+
+    /**
+     * Convert the string of format yyyy-MM-dd into date value.
+     *
+     * @param dateAsString the string of format yyyy-MM-dd.
+     * @return the date value. When the string is empty or invalid, by default will return null.
+     */
+    public static Date parseDate(final String dateAsString) {
+        if (StringUtil.isEmpty(dateAsString)) {
+            return null;
+        }
+        try {
+            return DateCodec.parseDate(dateAsString);
+        } catch (ParseException e) {
+            logger.error("Unable to convert string value: " + dateAsString + " to date value.");
+        }
+        return null;
+    }
+
+    /**
+     * Read object value from the parsed json document. The returned object is a parsed sub document which can be
+     * passed to the read methods again.
+     *
+     * @param document the parsed json document.
+     * @param path     the path inside the json document.
+     * @return the object value in the json document. When the path is invalid, by default will return null.
+     */
+    public static Object readAsObject(final Object document, final String path) {
+        Object object = null;
+        try {
+            object = read(document, path);
+        } catch (Exception e) {
+            logger.error("Unable to read object value with path: " + path + " from: " + String.valueOf(document));
+        }
+        return object;
+    }
+
+    /**
+     * Read list of object value from the parsed json document. Each returned object is a parsed sub document which
+     * can be passed to the read methods again.
+     *
+     * @param document the parsed json document.
+     * @param path     the path inside the json document.
+     * @return the list of object values in the json document. When the path is invalid, by default will return empty
+     * list.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Object> readAsObjectList(final Object document, final String path) {
+        List<Object> objects = new ArrayList<Object>();
+        try {
+            Object object = read(document, path);
+            if (object instanceof List) {
+                objects = (List<Object>) object;
+            }
+        } catch (Exception e) {
+            logger.error("Unable to read object value with path: " + path + " from: " + String.valueOf(document));
+        }
+        return objects;
+    }
+
+    /**
+     * Read the value of the path from the parsed json document. Paths selecting a single property of the document,
+     * such as <code>$['uuid']</code>, are read directly from the document without evaluating the path.
+     */
+    private static Object read(final Object document, final String path) {
+        if (document == null) {
+            return null;
+        }
+        String propertyName = getPropertyName(path);
+        if (propertyName == null) {
+            return JsonPathCache.read(document, path);
+        }
+        if (document instanceof Map) {
+            return ((Map) document).get(propertyName);
+        }
+        return null;
+    }
+
+    private static String getPropertyName(final String path) {
+        if (path.startsWith("$['") && path.endsWith("']") && path.indexOf('\'', 3) == path.length() - 2) {
+            return path.substring(3, path.length() - 2);
         }
         return null;
     }
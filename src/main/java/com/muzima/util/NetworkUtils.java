@@ -44,6 +44,17 @@ public class NetworkUtils {
         return NetworkUtils.isAddressReachable(address, Constants.CONNECTION_TIMEOUT);
     }
 
+    /**
+     * Get the last known reachability of the address without waiting for the network.
+     *
+     * @param address the address of the server.
+     * @return true when the server was reachable on the last probe or request.
+     * @see ConnectivityMonitor#isReachable(String)
+     */
+    public static boolean isReachable(final String address) {
+        return ConnectivityMonitor.isReachable(address);
+    }
+
     public static HttpURLConnection openConnection(String address)  throws IOException {
         URL url = new URL(address);
         return (HttpURLConnection)url.openConnection();
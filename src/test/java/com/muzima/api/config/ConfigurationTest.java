@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.config;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ConfigurationTest {
+
+    @Test
+    public void getAuthorizationHeader_shouldEncodeUsernameAndPassword() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.configure("admin", "test", "http://demo2.muzima.org");
+        assertThat(configuration.getAuthorizationHeader(), is("Basic YWRtaW46dGVzdA=="));
+    }
+
+    @Test
+    public void getAuthorizationHeader_shouldReuseHeaderWhenCredentialsDoNotChange() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.configure("admin", "test", "http://demo2.muzima.org");
+        String authorizationHeader = configuration.getAuthorizationHeader();
+        configuration.setServer("http://demo.muzima.org");
+        configuration.setPreferredLocale("en");
+        assertThat(configuration.getAuthorizationHeader(), sameInstance(authorizationHeader));
+    }
+
+    @Test
+    public void getAuthorizationHeader_shouldRecomputeHeaderWhenPasswordChanges() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.configure("admin", "test", "http://demo2.muzima.org");
+        configuration.setPassword("secret");
+        assertThat(configuration.getAuthorizationHeader(), is("Basic YWRtaW46c2VjcmV0"));
+    }
+
+    @Test
+    public void getSnapshot_shouldNotChangeWhenConfigurationChanges() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.configure("admin", "test", "http://demo2.muzima.org");
+        ConfigurationSnapshot snapshot = configuration.getSnapshot();
+        configuration.configure("user", "secret", "http://demo.muzima.org");
+        assertThat(snapshot.getUsername(), is("admin"));
+        assertThat(snapshot.getServer(), is("http://demo2.muzima.org"));
+        assertThat(configuration.getSnapshot(), not(sameInstance(snapshot)));
+    }
+
+    @Test
+    public void getVersion_shouldIncreaseOnEveryChange() throws Exception {
+        Configuration configuration = new Configuration();
+        long version = configuration.getVersion();
+        configuration.configure("admin", "test", "http://demo2.muzima.org");
+        assertThat(configuration.getVersion(), is(version + 1));
+        configuration.setPreferredLocale("en");
+        assertThat(configuration.getVersion(), is(version + 2));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.TypeLiteral;
+import com.google.inject.matcher.AbstractMatcher;
+import com.google.inject.spi.InjectionListener;
+import com.google.inject.spi.TypeEncounter;
+import com.google.inject.spi.TypeListener;
+import com.muzima.api.config.Configuration;
+import com.muzima.api.service.PatientService;
+import com.muzima.util.Constants;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ContextFactoryTest {
+
+    private static final String SERVER = "http://127.0.0.1:1";
+
+    private static final AtomicInteger createdPatientServices = new AtomicInteger();
+
+    @BeforeClass
+    public static void registerCountingModule() throws Exception {
+        ContextFactory.registerModule(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bindListener(new AbstractMatcher<TypeLiteral<?>>() {
+                    @Override
+                    public boolean matches(final TypeLiteral<?> typeLiteral) {
+                        return PatientService.class.isAssignableFrom(typeLiteral.getRawType());
+                    }
+                }, new TypeListener() {
+                    @Override
+                    public <I> void hear(final TypeLiteral<I> type, final TypeEncounter<I> encounter) {
+                        encounter.register(new InjectionListener<I>() {
+                            @Override
+                            public void afterInjection(final I injectee) {
+                                createdPatientServices.incrementAndGet();
+                            }
+                        });
+                    }
+                });
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ContextFactory.setProperty(Constants.CONTEXT_WARM_UP, String.valueOf(false));
+    }
+
+    @Test
+    public void createContext_shouldShareServicesBetweenContexts() throws Exception {
+        PatientService patientService = ContextFactory.createContext().getPatientService();
+        assertThat(ContextFactory.createContext().getPatientService(), sameInstance(patientService));
+    }
+
+    @Test
+    public void createContext_shouldCreateNewServicesAfterInvalidate() throws Exception {
+        PatientService patientService = ContextFactory.createContext().getPatientService();
+        ContextFactory.invalidate();
+        assertThat(ContextFactory.createContext().getPatientService(), not(sameInstance(patientService)));
+    }
+
+    @Test
+    public void createContext_shouldWarmUpServicesWhenEnabled() throws Exception {
+        ContextFactory.setProperty(Constants.CONTEXT_WARM_UP, String.valueOf(true));
+        ContextFactory.invalidate();
+        createdPatientServices.set(0);
+        ContextFactory.createContext();
+        // the service was created by the warm up, before any caller asked for it.
+        assertThat(createdPatientServices.get(), is(1));
+    }
+
+    @Test
+    public void createContext_shouldCreateServicesOnFirstUseWhenWarmUpIsDisabled() throws Exception {
+        ContextFactory.invalidate();
+        createdPatientServices.set(0);
+        Context context = ContextFactory.createContext();
+        assertThat(createdPatientServices.get(), is(0));
+        context.getPatientService();
+        assertThat(createdPatientServices.get(), is(1));
+    }
+
+    @Test
+    public void authenticate_shouldKeepTheConfigurationOfEachSession() throws Exception {
+        CountDownLatch authenticated = new CountDownLatch(2);
+        AtomicReference<String> firstHeader = new AtomicReference<String>();
+        AtomicReference<String> secondHeader = new AtomicReference<String>();
+        Thread first = new Thread(createSession("first-user", authenticated, firstHeader));
+        Thread second = new Thread(createSession("second-user", authenticated, secondHeader));
+        first.start();
+        second.start();
+        first.join();
+        second.join();
+
+        Configuration firstConfiguration = new Configuration();
+        firstConfiguration.configure("first-user", "password", SERVER);
+        Configuration secondConfiguration = new Configuration();
+        secondConfiguration.configure("second-user", "password", SERVER);
+        assertThat(firstHeader.get(), is(firstConfiguration.getAuthorizationHeader()));
+        assertThat(secondHeader.get(), is(secondConfiguration.getAuthorizationHeader()));
+    }
+
+    @Test
+    public void authenticate_shouldShareTheConfigurationWithThreadsWithoutAnAuthenticatedSession() throws Exception {
+        final String server = "http://127.0.0.1:2";
+        Context context = ContextFactory.createContext();
+        context.openSession();
+        try {
+            context.authenticate("first-user", "password", server, false);
+        } catch (Exception e) {
+            // the server is not reachable, the configuration of the session is set up anyway.
+        }
+        final AtomicReference<String> withoutSession = new AtomicReference<String>();
+        final AtomicReference<String> withoutAuthentication = new AtomicReference<String>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    ContextFactory.createContext();
+                    withoutSession.set(ContextFactory.getInjector().getInstance(Configuration.class).getServer());
+                    Context otherContext = ContextFactory.createContext();
+                    otherContext.openSession();
+                    withoutAuthentication.set(
+                            ContextFactory.getInjector().getInstance(Configuration.class).getServer());
+                    otherContext.closeSession();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+        context.closeSession();
+        assertThat(withoutSession.get(), is(server));
+        assertThat(withoutAuthentication.get(), is(server));
+    }
+
+    private static Runnable createSession(final String username, final CountDownLatch authenticated,
+                                          final AtomicReference<String> header) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Context context = ContextFactory.createContext();
+                    context.openSession();
+                    try {
+                        context.authenticate(username, "password", SERVER, false);
+                    } catch (Exception e) {
+                        // the server is not reachable, the configuration of the session is set up anyway.
+                    }
+                    authenticated.countDown();
+                    authenticated.await(10, TimeUnit.SECONDS);
+                    header.set(ContextFactory.getInjector().getInstance(Configuration.class).getAuthorizationHeader());
+                    context.closeSession();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import com.muzima.search.api.resource.Resource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+public class LazyResourceTest {
+
+    private static final String CONFIGURATION_PATH = "/com/muzima/api/service/j2l/config.json";
+
+    private ResourceDescriptor descriptor;
+
+    @Before
+    public void setup() throws Exception {
+        InputStream inputStream = LazyResourceTest.class.getResourceAsStream(CONFIGURATION_PATH);
+        try {
+            for (ResourceDescriptor resourceDescriptor : ResourceRegistry.parse(inputStream)) {
+                if ("Uuid Patient Resource".equals(resourceDescriptor.getName())) {
+                    descriptor = resourceDescriptor;
+                }
+            }
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void invoke_shouldRethrowTheCheckedExceptionOfTheResource() throws Exception {
+        Resource resource = LazyResource.create(descriptor, ContextFactory.getInjector());
+        // the uuid resolver fails without the uuid parameter.
+        resource.getUri(new HashMap<String, String>());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invoke_shouldThrowIllegalStateWhenTheResourceCannotBeCreated() throws Exception {
+        ResourceDescriptor unknownResolver = new ResourceDescriptor(descriptor.getName(), descriptor.getRoot(),
+                descriptor.getSearchableClass(), descriptor.getAlgorithmClass(), "com.muzima.api.UnknownResolver",
+                descriptor.getEncoding(), 0, 0, new ArrayList<String>(descriptor.getUniqueFields()),
+                new HashMap<String, String>(descriptor.getSearchableFields()));
+        Resource resource = LazyResource.create(unknownResolver, ContextFactory.getInjector());
+        resource.getUri(new HashMap<String, String>());
+    }
+}
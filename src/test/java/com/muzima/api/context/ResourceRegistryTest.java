@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.context;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ResourceRegistryTest {
+
+    private static final String CONFIGURATION_PATH = "/com/muzima/api/service/j2l/config.json";
+
+    private List<ResourceDescriptor> descriptors;
+
+    @Before
+    public void setup() throws Exception {
+        InputStream inputStream = ResourceRegistryTest.class.getResourceAsStream(CONFIGURATION_PATH);
+        try {
+            descriptors = ResourceRegistry.parse(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test
+    public void getCompiledPath_shouldReplaceJsonExtension() throws Exception {
+        assertThat(ResourceRegistry.getCompiledPath(CONFIGURATION_PATH),
+                is("/com/muzima/api/service/j2l/config.registry"));
+    }
+
+    @Test
+    public void read_shouldReadBackWrittenDescriptors() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ResourceRegistry.write(descriptors, outputStream);
+        List<ResourceDescriptor> compiledDescriptors =
+                ResourceRegistry.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertThat(compiledDescriptors.size(), is(descriptors.size()));
+        for (int i = 0; i < descriptors.size(); i++) {
+            ResourceDescriptor descriptor = descriptors.get(i);
+            ResourceDescriptor compiledDescriptor = compiledDescriptors.get(i);
+            assertThat(compiledDescriptor.getName(), is(descriptor.getName()));
+            assertThat(compiledDescriptor.getRoot(), is(descriptor.getRoot()));
+            assertThat(compiledDescriptor.getSearchableClass(), is(descriptor.getSearchableClass()));
+            assertThat(compiledDescriptor.getAlgorithmClass(), is(descriptor.getAlgorithmClass()));
+            assertThat(compiledDescriptor.getResolverClass(), is(descriptor.getResolverClass()));
+            assertThat(compiledDescriptor.getEncoding(), is(descriptor.getEncoding()));
+            assertThat(compiledDescriptor.getDownloadPageSize(), is(descriptor.getDownloadPageSize()));
+            assertThat(compiledDescriptor.getDownloadConcurrency(), is(descriptor.getDownloadConcurrency()));
+            assertThat(compiledDescriptor.getUniqueFields(), equalTo(descriptor.getUniqueFields()));
+            assertThat(compiledDescriptor.getSearchableFields(), equalTo(descriptor.getSearchableFields()));
+        }
+    }
+
+    @Test
+    public void parse_shouldReadTheAlgorithmEncoding() throws Exception {
+        for (ResourceDescriptor descriptor : descriptors) {
+            if ("Uuid Observation Resource".equals(descriptor.getName())) {
+                assertThat(descriptor.getEncoding(), is(ResourceDescriptor.COMPACT_ENCODING));
+            } else if ("Uuid Patient Resource".equals(descriptor.getName())) {
+                assertThat(descriptor.getEncoding(), is(ResourceDescriptor.JSON_ENCODING));
+            }
+        }
+    }
+
+    @Test
+    public void parse_shouldReadTheDownloadSettings() throws Exception {
+        String configuration = "{\"resource.name\":\"Search Patient Resource\",\"node.root\":\"$['results']\"," +
+                "\"resource.object\":\"com.muzima.api.model.Patient\"," +
+                "\"algorithm.class\":\"com.muzima.api.model.algorithm.PatientAlgorithm\"," +
+                "\"resolver.class\":\"com.muzima.api.model.resolver.SearchPatientResolver\"," +
+                "\"download.pageSize\":100,\"download.concurrency\":4}";
+        ResourceDescriptor descriptor = ResourceDescriptor.parse(configuration);
+        assertThat(descriptor.getDownloadPageSize(), is(100));
+        assertThat(descriptor.getDownloadConcurrency(), is(4));
+
+        for (ResourceDescriptor defaultDescriptor : descriptors) {
+            assertThat(defaultDescriptor.getDownloadPageSize(), is(0));
+            assertThat(defaultDescriptor.getDownloadConcurrency(), is(1));
+        }
+    }
+}
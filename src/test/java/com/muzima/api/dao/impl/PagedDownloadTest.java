@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.dao.impl;
+
+import com.muzima.api.model.Patient;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PagedDownloadTest {
+
+    /**
+     * Paged download of a resource with the given number of results, optionally ignoring the paging parameters like
+     * a resolver which doesn't pass them to the server.
+     */
+    private static class TestDownload extends PagedDownload<Patient> {
+
+        private final int resultCount;
+
+        private final boolean ignorePaging;
+
+        private final AtomicInteger pageCount = new AtomicInteger();
+
+        TestDownload(final int resultCount, final int pageSize, final int concurrency, final boolean ignorePaging) {
+            super(pageSize, concurrency);
+            this.resultCount = resultCount;
+            this.ignorePaging = ignorePaging;
+        }
+
+        @Override
+        protected List<Patient> loadPage(final int startIndex, final int limit) throws IOException {
+            pageCount.incrementAndGet();
+            int start = ignorePaging ? 0 : startIndex;
+            int end = ignorePaging ? resultCount : Math.min(resultCount, startIndex + limit);
+            List<Patient> page = new ArrayList<Patient>();
+            for (int i = start; i < end; i++) {
+                Patient patient = new Patient();
+                patient.setUuid("patient-" + i);
+                page.add(patient);
+            }
+            return page;
+        }
+    }
+
+    private static void assertResults(final List<Patient> patients, final int resultCount) {
+        assertThat(patients.size(), is(resultCount));
+        for (int i = 0; i < resultCount; i++) {
+            assertThat(patients.get(i).getUuid(), is("patient-" + i));
+        }
+    }
+
+    @Test
+    public void download_shouldMergeAllPagesInOrder() throws Exception {
+        TestDownload download = new TestDownload(1003, 10, 4, false);
+        assertResults(download.download(), 1003);
+    }
+
+    @Test
+    public void download_shouldDownloadOnlyTheFirstTwoPagesOfSmallResults() throws Exception {
+        TestDownload download = new TestDownload(7, 10, 4, false);
+        assertResults(download.download(), 7);
+        // the short first page and the empty page after it.
+        assertThat(download.pageCount.get(), is(2));
+    }
+
+    @Test
+    public void download_shouldDownloadAllResultsWhenTheServerCapsTheLimit() throws Exception {
+        TestDownload download = new TestDownload(103, 10, 4, false) {
+            @Override
+            protected List<Patient> loadPage(final int startIndex, final int limit) throws IOException {
+                return super.loadPage(startIndex, Math.min(limit, 4));
+            }
+        };
+        assertResults(download.download(), 103);
+    }
+
+    @Test
+    public void download_shouldDownloadThePagesOnTheThreadOfAnOuterDownload() throws Exception {
+        final TestDownload download = new TestDownload(95, 10, 4, false) {
+            @Override
+            protected List<Patient> loadPage(final int startIndex, final int limit) throws IOException {
+                assertThat(DownloadThreads.isDownloadThread(), is(true));
+                return super.loadPage(startIndex, limit);
+            }
+        };
+        ExecutorService executor = DownloadThreads.createExecutor(1);
+        try {
+            assertResults(DownloadThreads.get(executor.submit(new Callable<List<Patient>>() {
+                @Override
+                public List<Patient> call() throws Exception {
+                    return download.download();
+                }
+            })), 95);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void download_shouldStopAfterTheRoundWithTheLastPage() throws Exception {
+        TestDownload download = new TestDownload(40, 10, 2, false);
+        assertResults(download.download(), 40);
+        // first page, a round of pages 1 and 2, a round of page 3 and the empty page 4.
+        assertThat(download.pageCount.get(), is(5));
+    }
+
+    @Test
+    public void download_shouldReturnTheFirstPageWhenThePagingIsIgnored() throws Exception {
+        assertResults(new TestDownload(25, 10, 3, true).download(), 25);
+        assertResults(new TestDownload(10, 10, 3, true).download(), 10);
+    }
+
+    @Test(expected = IOException.class)
+    public void download_shouldThrowTheExceptionOfAFailedPage() throws Exception {
+        new TestDownload(100, 10, 3, false) {
+            @Override
+            protected List<Patient> loadPage(final int startIndex, final int limit) throws IOException {
+                if (startIndex == 50) {
+                    throw new IOException("Unable to download the page.");
+                }
+                return super.loadPage(startIndex, limit);
+            }
+        }.download();
+    }
+}
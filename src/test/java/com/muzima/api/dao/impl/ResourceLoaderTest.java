@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.dao.impl;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.muzima.api.http.TransferStatistics;
+import com.muzima.api.model.Patient;
+import com.muzima.search.api.model.object.Searchable;
+import com.muzima.search.api.model.resolver.Resolver;
+import com.muzima.search.api.resource.Resource;
+import com.muzima.util.JsonUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ResourceLoaderTest {
+
+    private static final String RESULTS = "{\"results\":[{\"uuid\":\"patient-1\",\"gender\":\"F\"}," +
+            "{\"uuid\":\"patient-2\",\"gender\":\"F\"},{\"uuid\":\"patient-3\",\"gender\":\"F\"}]}";
+
+    private HttpServer server;
+
+    private Injector injector;
+
+    private ResourceLoader resourceLoader;
+
+    private final List<String> acceptedEncodings = Collections.synchronizedList(new ArrayList<String>());
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                String path = exchange.getRequestURI().getPath();
+                String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+                acceptedEncodings.add(String.valueOf(acceptEncoding));
+                if (path.endsWith("unchanged")) {
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+                    exchange.close();
+                    return;
+                }
+                if (path.endsWith("error")) {
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_INTERNAL_ERROR, -1);
+                    exchange.close();
+                    return;
+                }
+                byte[] body = RESULTS.getBytes("UTF-8");
+                if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+                    gzipOutputStream.write(body);
+                    gzipOutputStream.close();
+                    body = outputStream.toByteArray();
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                }
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            }
+        });
+        server.start();
+        injector = Guice.createInjector();
+        resourceLoader = injector.getInstance(ResourceLoader.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    /**
+     * Create a resource requesting the path from the test server and creating patients from the results.
+     */
+    private Resource createResource(final String path) {
+        final String address = "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        final Resolver resolver = (Resolver) Proxy.newProxyInstance(Resolver.class.getClassLoader(),
+                new Class[]{Resolver.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if ("resolve".equals(method.getName())) {
+                            return address;
+                        }
+                        // authenticate and setCustomRequestProperties return the connection unchanged.
+                        return args[0];
+                    }
+                });
+        return (Resource) Proxy.newProxyInstance(Resource.class.getClassLoader(),
+                new Class[]{Resource.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        String methodName = method.getName();
+                        if ("getResolver".equals(methodName)) {
+                            return resolver;
+                        } else if ("getRootNode".equals(methodName)) {
+                            return "$['results']";
+                        } else if ("getName".equals(methodName)) {
+                            return "Test Patient Resource";
+                        } else if ("deserialize".equals(methodName)) {
+                            Patient patient = new Patient();
+                            patient.setUuid(JsonUtils.readAsString((String) args[0], "$['uuid']"));
+                            return patient;
+                        }
+                        throw new UnsupportedOperationException(methodName);
+                    }
+                });
+    }
+
+    private static List<String> getUuids(final List<Searchable> searchableList) {
+        List<String> uuids = new ArrayList<String>();
+        for (Searchable searchable : searchableList) {
+            uuids.add(((Patient) searchable).getUuid());
+        }
+        return uuids;
+    }
+
+    @Test
+    public void loadObjects_shouldDecodeAGzipEncodedResponse() throws Exception {
+        Map<String, String> resourceParams = new HashMap<String, String>();
+        List<Searchable> searchableList = resourceLoader.loadObjects(resourceParams, createResource("/patient"));
+        assertThat(getUuids(searchableList), is(Arrays.asList("patient-1", "patient-2", "patient-3")));
+        assertThat(acceptedEncodings, is(Arrays.asList("gzip")));
+        TransferStatistics transferStatistics = injector.getInstance(TransferStatistics.class);
+        assertThat(transferStatistics.getReceivedContentBytes(), is((long) RESULTS.length()));
+        assertThat(transferStatistics.getReceivedBytes() < RESULTS.length(), is(true));
+    }
+
+    @Test
+    public void loadObjects_shouldReturnNoObjectsWhenTheResourceIsNotModified() throws Exception {
+        Map<String, String> resourceParams = new HashMap<String, String>();
+        List<Searchable> searchableList = resourceLoader.loadObjects(resourceParams, createResource("/unchanged"));
+        assertThat(searchableList.isEmpty(), is(true));
+    }
+
+    @Test
+    public void loadObjects_shouldFailWhenTheServerRespondsWithAnError() throws Exception {
+        Map<String, String> resourceParams = new HashMap<String, String>();
+        try {
+            resourceLoader.loadObjects(resourceParams, createResource("/error"));
+            fail("The download of a failed request should fail.");
+        } catch (IOException e) {
+            assertThat(e.getMessage().contains("500"), is(true));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.http;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+import com.muzima.search.api.util.StreamUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class KeepAliveHttpTransportTest {
+
+    private static final String TEXT = "{\"results\":[{\"uuid\":\"observation\"},{\"uuid\":\"observation\"}," +
+            "{\"uuid\":\"observation\"},{\"uuid\":\"observation\"},{\"uuid\":\"observation\"}]}";
+
+    private HttpServer server;
+
+    private Injector injector;
+
+    private HttpTransport httpTransport;
+
+    private final List<String> uploads = Collections.synchronizedList(new ArrayList<String>());
+
+    private final Set<InetSocketAddress> clients = Collections.synchronizedSet(new HashSet<InetSocketAddress>());
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                clients.add(exchange.getRemoteAddress());
+                String path = exchange.getRequestURI().getPath();
+                if (path.endsWith("upload")) {
+                    InputStream inputStream = exchange.getRequestBody();
+                    if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                        inputStream = new GZIPInputStream(inputStream);
+                    }
+                    uploads.add(StreamUtil.readAsString(new InputStreamReader(inputStream, "UTF-8")));
+                }
+                byte[] body;
+                if (path.endsWith("text")) {
+                    body = TEXT.getBytes("UTF-8");
+                } else {
+                    body = new byte[path.endsWith("large") ? KeepAliveHttpTransport.MAX_DRAIN_LENGTH * 2 : 1024];
+                }
+                String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+                if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+                    gzipOutputStream.write(body);
+                    gzipOutputStream.close();
+                    body = outputStream.toByteArray();
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                }
+                int status = path.endsWith("error") ? HttpURLConnection.HTTP_INTERNAL_ERROR : HttpURLConnection.HTTP_OK;
+                exchange.sendResponseHeaders(status, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            }
+        });
+        server.start();
+        injector = Guice.createInjector();
+        httpTransport = injector.getInstance(HttpTransport.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    private String getAddress(final String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private int request(final String path) throws IOException {
+        String address = getAddress(path);
+        HttpURLConnection connection = httpTransport.openConnection(address);
+        int responseCode = connection.getResponseCode();
+        httpTransport.release(connection);
+        return responseCode;
+    }
+
+    @Test
+    public void openConnection_shouldApplyTheDefaultReadTimeout() throws Exception {
+        HttpURLConnection connection = httpTransport.openConnection("http://127.0.0.1/");
+        assertThat(connection.getReadTimeout(), is(KeepAliveHttpTransport.DEFAULT_READ_TIMEOUT));
+    }
+
+    @Test
+    public void release_shouldReuseTheConnectionForTheNextRequest() throws Exception {
+        assertThat(request("/first"), is(HttpURLConnection.HTTP_OK));
+        assertThat(request("/error"), is(HttpURLConnection.HTTP_INTERNAL_ERROR));
+        assertThat(request("/second"), is(HttpURLConnection.HTTP_OK));
+        assertThat(clients.size(), is(1));
+    }
+
+    @Test
+    public void release_shouldCloseTheConnectionOfALargeResponse() throws Exception {
+        request("/large");
+        request("/next");
+        assertThat(clients.size(), is(2));
+    }
+
+    @Test
+    public void acceptCompression_shouldNotRequestAGzipEncodedResponseWhenDisabled() throws Exception {
+        HttpTransport plainTransport = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Boolean.class).annotatedWith(Names.named("connection.gzip")).toInstance(false);
+            }
+        }).getInstance(HttpTransport.class);
+        HttpURLConnection connection =
+                plainTransport.acceptCompression(plainTransport.openConnection(getAddress("/text")));
+        InputStream inputStream = plainTransport.getInputStream(connection);
+        String response = StreamUtil.readAsString(new InputStreamReader(inputStream, "UTF-8"));
+        plainTransport.release(connection);
+        assertThat(response, is(TEXT));
+        assertThat(connection.getContentEncoding(), is(nullValue()));
+    }
+
+    @Test
+    public void getInputStream_shouldDecompressAGzipEncodedResponse() throws Exception {
+        TransferStatistics transferStatistics = injector.getInstance(TransferStatistics.class);
+        HttpURLConnection connection =
+                httpTransport.acceptCompression(httpTransport.openConnection(getAddress("/text")));
+        InputStream inputStream = httpTransport.getInputStream(connection);
+        String response = StreamUtil.readAsString(new InputStreamReader(inputStream, "UTF-8"));
+        httpTransport.release(connection);
+        assertThat(response, is(TEXT));
+        assertThat(connection.getContentEncoding(), is("gzip"));
+        assertThat(transferStatistics.getReceivedContentBytes(), is((long) TEXT.length()));
+        assertThat(transferStatistics.getReceivedBytes() < TEXT.length(), is(true));
+    }
+
+    @Test
+    public void getOutputStream_shouldCompressTheRequestBodyWhenEnabled() throws Exception {
+        HttpTransport compressingTransport = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Boolean.class).annotatedWith(Names.named("connection.gzipUploads")).toInstance(true);
+            }
+        }).getInstance(HttpTransport.class);
+        HttpURLConnection connection = compressingTransport.openConnection(getAddress("/upload"));
+        connection.setDoOutput(true);
+        connection.setRequestMethod("POST");
+        OutputStream outputStream = compressingTransport.getOutputStream(connection);
+        outputStream.write(TEXT.getBytes("UTF-8"));
+        outputStream.close();
+        assertThat(connection.getResponseCode(), is(HttpURLConnection.HTTP_OK));
+        compressingTransport.release(connection);
+        assertThat(uploads, is(Arrays.asList(TEXT)));
+    }
+}
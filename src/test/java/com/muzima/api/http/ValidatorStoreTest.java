@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.http;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+import com.muzima.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ValidatorStoreTest {
+
+    private static final String ENTITY_TAG = "\"form-template-1\"";
+
+    private HttpServer server;
+
+    private File repository;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                if (ENTITY_TAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+                } else {
+                    byte[] body = "{\"uuid\":\"form-template\"}".getBytes("UTF-8");
+                    exchange.getResponseHeaders().set("ETag", ENTITY_TAG);
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+                    exchange.getResponseBody().write(body);
+                }
+                exchange.close();
+            }
+        });
+        server.start();
+        repository = File.createTempFile("muzima", "repository");
+        repository.delete();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+        new File(repository, ValidatorStore.FILE_NAME).delete();
+        repository.delete();
+    }
+
+    private Injector createInjector() {
+        return Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(String.class).annotatedWith(Names.named(Constants.LUCENE_DIRECTORY_PATH))
+                        .toInstance(repository.getAbsolutePath());
+            }
+        });
+    }
+
+    private String getAddress() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/ws/rest/v1/muzima/form/form-template";
+    }
+
+    private ConditionalResponse request(final Injector injector) throws IOException {
+        HttpTransport httpTransport = injector.getInstance(HttpTransport.class);
+        ValidatorStore validatorStore = injector.getInstance(ValidatorStore.class);
+        HttpURLConnection connection = validatorStore.conditional(httpTransport.openConnection(getAddress()));
+        connection.getResponseCode();
+        connection.disconnect();
+        return validatorStore.takeResponse();
+    }
+
+    @Test
+    public void takeResponse_shouldNotStoreTheValidatorsOfTheResponse() throws Exception {
+        Injector injector = createInjector();
+        ConditionalResponse response = request(injector);
+        assertThat(response.isNotModified(), is(false));
+        assertThat(response.getEntityTag(), is(ENTITY_TAG));
+        assertThat(injector.getInstance(ValidatorStore.class).getEntityTag(getAddress()), is(nullValue()));
+        assertThat(injector.getInstance(ValidatorStore.class).takeResponse(), is(nullValue()));
+    }
+
+    @Test
+    public void record_shouldSendTheValidatorsWithTheNextRequest() throws Exception {
+        Injector injector = createInjector();
+        injector.getInstance(ValidatorStore.class).record(request(injector));
+        assertThat(injector.getInstance(ValidatorStore.class).getEntityTag(getAddress()), is(ENTITY_TAG));
+        // a fresh injector reads the validators stored by the previous download.
+        ConditionalResponse response = request(createInjector());
+        assertThat(response.isNotModified(), is(true));
+        assertThat(response.getAddress(), is(getAddress()));
+    }
+
+    @Test
+    public void remove_shouldSendAnUnconditionalRequest() throws Exception {
+        Injector injector = createInjector();
+        injector.getInstance(ValidatorStore.class).record(request(injector));
+        injector.getInstance(ValidatorStore.class).remove(getAddress());
+        assertThat(request(injector).isNotModified(), is(false));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Observation;
+import com.muzima.search.api.util.StreamUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class CompactDocumentAlgorithmTest {
+
+    private static final String CODED_OBSERVATION_JSON =
+            "/com/muzima/api/service/json/observation/coded_observation.json";
+
+    private ObservationAlgorithm observationAlgorithm;
+
+    private CompactDocumentAlgorithm compactAlgorithm;
+
+    private Observation observation;
+
+    @Before
+    public void setup() throws IOException {
+        observationAlgorithm = new ObservationAlgorithm();
+        compactAlgorithm = new CompactDocumentAlgorithm(observationAlgorithm,
+                Arrays.asList("$['uuid']", "$['person']['uuid']", "$['concept']['uuid']", "$['encounter']['uuid']"));
+        String jsonObservation = StreamUtil.readAsString(new InputStreamReader(
+                CompactDocumentAlgorithmTest.class.getResourceAsStream(CODED_OBSERVATION_JSON)));
+        observation = (Observation) observationAlgorithm.deserialize(jsonObservation);
+    }
+
+    @Test
+    public void serialize_shouldLeaveOutTheNullFieldsWhichAreNotSearchable() throws IOException {
+        String json = observationAlgorithm.serialize(observation);
+        String compactJson = compactAlgorithm.serialize(observation);
+        assertThat(json, containsString("\"valueText\":null"));
+        assertThat(compactJson, not(containsString("\"valueText\"")));
+        assertThat(compactJson, containsString("\"uuid\":\"" + observation.getUuid() + "\""));
+        assertThat(compactJson.length(), lessThan(json.length()));
+    }
+
+    @Test
+    public void serialize_shouldKeepTheNullFieldsWhichAreSearchable() throws IOException {
+        observation.getEncounter().setUuid(null);
+        String compactJson = compactAlgorithm.serialize(observation);
+        assertThat(compactJson, containsString("\"encounter\":{\"uuid\":null"));
+    }
+
+    @Test
+    public void deserialize_shouldReadTheCompactDocument() throws IOException {
+        Observation compactObservation =
+                (Observation) compactAlgorithm.deserialize(compactAlgorithm.serialize(observation));
+        assertThat(compactObservation.getUuid(), is(observation.getUuid()));
+        assertThat(compactObservation.getObservationDatetime(), is(observation.getObservationDatetime()));
+        assertThat(compactObservation.getValueText(), nullValue());
+        assertThat(compactObservation.getValueCoded().getUuid(), is(observation.getValueCoded().getUuid()));
+        assertThat(compactObservation.getValueCoded().getName(), is(observation.getValueCoded().getName()));
+        assertThat(compactObservation.getConcept().getUuid(), is(observation.getConcept().getUuid()));
+        assertThat(compactObservation.getPerson().getUuid(), is(observation.getPerson().getUuid()));
+    }
+
+    @Test
+    public void deserialize_shouldReadTheDocumentWrittenBeforeTheCompactEncoding() throws IOException {
+        Observation jsonObservation =
+                (Observation) compactAlgorithm.deserialize(observationAlgorithm.serialize(observation));
+        assertThat(jsonObservation.getUuid(), is(observation.getUuid()));
+        assertThat(jsonObservation.getValueCoded().getUuid(), is(observation.getValueCoded().getUuid()));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Observation;
+import com.muzima.search.api.util.StreamUtil;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ConceptInternerTest {
+
+    private static final String CODED_OBSERVATION_JSON =
+            "/com/muzima/api/service/json/observation/coded_observation.json";
+
+    private static String readResource(final String path) throws IOException {
+        return StreamUtil.readAsString(
+                new InputStreamReader(ConceptInternerTest.class.getResourceAsStream(path)));
+    }
+
+    @After
+    public void tearDown() {
+        ConceptInterner.closeBatch();
+    }
+
+    @Test
+    public void deserialize_shouldShareTheConceptsWithinABatch() throws IOException {
+        String jsonObservation = readResource(CODED_OBSERVATION_JSON);
+        ObservationAlgorithm algorithm = new ObservationAlgorithm();
+        ConceptInterner.openBatch();
+        Observation first = (Observation) algorithm.deserialize(jsonObservation);
+        Observation second = (Observation) algorithm.deserialize(jsonObservation);
+        assertThat(second.getConcept(), sameInstance(first.getConcept()));
+        assertThat(second.getValueCoded(), sameInstance(first.getValueCoded()));
+        assertThat(second.getValueCoded().getName(), is(first.getValueCoded().getName()));
+    }
+
+    @Test
+    public void deserialize_shouldShareTheConceptsOfTheStreamingAlgorithmWithinABatch() throws IOException {
+        String jsonObservation = readResource(CODED_OBSERVATION_JSON);
+        StreamingObservationAlgorithm algorithm = new StreamingObservationAlgorithm();
+        ConceptInterner.openBatch();
+        Observation first = (Observation) algorithm.deserialize(jsonObservation);
+        Observation second = (Observation) algorithm.deserialize(jsonObservation);
+        assertThat(second.getValueCoded(), sameInstance(first.getValueCoded()));
+    }
+
+    @Test
+    public void deserialize_shouldCreateNewConceptsOutsideABatch() throws IOException {
+        String jsonObservation = readResource(CODED_OBSERVATION_JSON);
+        ObservationAlgorithm algorithm = new ObservationAlgorithm();
+        ConceptInterner.openBatch();
+        Observation first = (Observation) algorithm.deserialize(jsonObservation);
+        ConceptInterner.closeBatch();
+        Observation second = (Observation) algorithm.deserialize(jsonObservation);
+        assertThat(second.getValueCoded(), not(sameInstance(first.getValueCoded())));
+    }
+
+    @Test
+    public void wrap_shouldShareTheConceptsOfTheBatchWithOtherThreads() throws Exception {
+        final String jsonObservation = readResource(CODED_OBSERVATION_JSON);
+        final ObservationAlgorithm algorithm = new ObservationAlgorithm();
+        ConceptInterner.openBatch();
+        Observation first = (Observation) algorithm.deserialize(jsonObservation);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Observation second = executor.submit(ConceptInterner.wrap(new Callable<Observation>() {
+                @Override
+                public Observation call() throws Exception {
+                    return (Observation) algorithm.deserialize(jsonObservation);
+                }
+            })).get();
+            assertThat(second.getValueCoded(), sameInstance(first.getValueCoded()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void openBatch_shouldKeepTheBatchAlreadyOpenOnTheThread() throws IOException {
+        String jsonObservation = readResource(CODED_OBSERVATION_JSON);
+        ObservationAlgorithm algorithm = new ObservationAlgorithm();
+        assertThat(ConceptInterner.openBatch(), is(true));
+        Observation first = (Observation) algorithm.deserialize(jsonObservation);
+        assertThat(ConceptInterner.openBatch(), is(false));
+        Observation second = (Observation) algorithm.deserialize(jsonObservation);
+        assertThat(second.getValueCoded(), sameInstance(first.getValueCoded()));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Encounter;
+import com.muzima.search.api.util.StreamUtil;
+import com.muzima.util.JsonUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class EncounterAlgorithmTest {
+
+    private static final String ENCOUNTER_JSON = "/com/muzima/api/service/json/encounter/encounter.json";
+
+    private EncounterAlgorithm encounterAlgorithm;
+
+    private String jsonEncounter;
+
+    @Before
+    public void setup() throws IOException {
+        jsonEncounter = StreamUtil.readAsString(
+                new InputStreamReader(EncounterAlgorithmTest.class.getResourceAsStream(ENCOUNTER_JSON)));
+        encounterAlgorithm = new EncounterAlgorithm();
+    }
+
+    @Test
+    public void deserialize_shouldReadNestedObjectsFromJson() throws IOException {
+        Encounter encounter = (Encounter) encounterAlgorithm.deserialize(jsonEncounter);
+        assertThat(encounter.getUuid(), is("bf83a028-1691-11df-97a5-7038c432aabf"));
+        assertThat(encounter.getProvider().getGivenName(), is("Super"));
+        assertThat(encounter.getProvider().getFamilyName(), is("User"));
+        assertThat(encounter.getEncounterType().getName(), is("ADULTRETURN"));
+        assertThat(encounter.getLocation().getName(), is("Unknown Location"));
+        assertThat(encounter.getPatient().getUuid(), is("dd7fc05a-1691-11df-97a5-7038c432aabf"));
+    }
+
+    @Test
+    public void deserialize_shouldReadParsedDocument() throws IOException {
+        Object document = JsonUtils.parse(jsonEncounter);
+        Encounter encounter = (Encounter) encounterAlgorithm.deserialize(document);
+        assertThat(encounter.getLocation().getUuid(), is("8d6c993e-c2cc-11de-8d13-0010c6dffd0f"));
+    }
+
+    @Test
+    public void deserialize_shouldCreateEmptyNestedObjectWhenMissing() throws IOException {
+        Encounter encounter = (Encounter) encounterAlgorithm.deserialize("{\"uuid\":\"encounter-uuid\"}");
+        assertThat(encounter.getUuid(), is("encounter-uuid"));
+        assertThat(encounter.getLocation().getUuid(), nullValue());
+    }
+
+    @Test
+    public void serialize_shouldWriteNestedObjectsIntoTheSameJson() throws IOException {
+        Encounter encounter = (Encounter) encounterAlgorithm.deserialize(jsonEncounter);
+        String serialized = encounterAlgorithm.serialize(encounter);
+        Encounter deserialized = (Encounter) encounterAlgorithm.deserialize(serialized);
+        assertThat(deserialized.getUuid(), is(encounter.getUuid()));
+        assertThat(deserialized.getEncounterDatetime(), is(encounter.getEncounterDatetime()));
+        assertThat(deserialized.getProvider().getGivenName(), is("Super"));
+        assertThat(deserialized.getEncounterType().getName(), is("ADULTRETURN"));
+        assertThat(deserialized.getLocation().getUuid(), is("8d6c993e-c2cc-11de-8d13-0010c6dffd0f"));
+        assertThat(deserialized.getPatient().getUuid(), is("dd7fc05a-1691-11df-97a5-7038c432aabf"));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.FormData;
+import com.muzima.api.model.Observation;
+import com.muzima.api.model.Patient;
+import com.muzima.search.api.util.StreamUtil;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Date;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class GeneratedAlgorithmTest {
+
+    private static final String CODED_OBSERVATION_JSON =
+            "/com/muzima/api/service/json/observation/coded_observation.json";
+
+    private static final String NUMERIC_OBSERVATION_JSON =
+            "/com/muzima/api/service/json/observation/numeric_observation.json";
+
+    private static final String PATIENT_JSON = "/com/muzima/api/service/json/patient/TestariusKunguPaul.json";
+
+    private static String readJson(final String resource) throws IOException {
+        return StreamUtil.readAsString(new InputStreamReader(GeneratedAlgorithmTest.class.getResourceAsStream(resource)));
+    }
+
+    private static void assertSameObservation(final Observation generated, final Observation expected) {
+        assertThat(generated.getUuid(), is(expected.getUuid()));
+        assertThat(generated.isVoided(), is(expected.isVoided()));
+        assertThat(generated.getObservationDatetime(), is(expected.getObservationDatetime()));
+        assertThat(generated.getValueText(), is(expected.getValueText()));
+        assertThat(generated.getValueNumeric(), is(expected.getValueNumeric()));
+        assertThat(generated.getValueDatetime(), is(expected.getValueDatetime()));
+        assertThat(generated.getValueCoded().getUuid(), is(expected.getValueCoded().getUuid()));
+        assertThat(generated.getValueCoded().getName(), is(expected.getValueCoded().getName()));
+        assertThat(generated.getConcept().getUuid(), is(expected.getConcept().getUuid()));
+        assertThat(generated.getEncounter().getUuid(), is(expected.getEncounter().getUuid()));
+        assertThat(generated.getPerson().getUuid(), is(expected.getPerson().getUuid()));
+    }
+
+    @Test
+    public void deserialize_shouldReadTheSameObservationAsTheObservationAlgorithm() throws IOException {
+        GeneratedObservationAlgorithm generatedAlgorithm = new GeneratedObservationAlgorithm();
+        ObservationAlgorithm observationAlgorithm = new ObservationAlgorithm();
+        for (String resource : new String[]{CODED_OBSERVATION_JSON, NUMERIC_OBSERVATION_JSON}) {
+            String json = readJson(resource);
+            assertSameObservation((Observation) generatedAlgorithm.deserialize(json),
+                    (Observation) observationAlgorithm.deserialize(json));
+        }
+    }
+
+    @Test
+    public void serialize_shouldWriteJsonReadableByTheObservationAlgorithm() throws IOException {
+        GeneratedObservationAlgorithm generatedAlgorithm = new GeneratedObservationAlgorithm();
+        ObservationAlgorithm observationAlgorithm = new ObservationAlgorithm();
+        Observation observation = (Observation) generatedAlgorithm.deserialize(readJson(CODED_OBSERVATION_JSON));
+        String json = generatedAlgorithm.serialize(observation);
+        assertSameObservation((Observation) observationAlgorithm.deserialize(json), observation);
+        assertThat(generatedAlgorithm.serialize(generatedAlgorithm.deserialize(json)), is(json));
+    }
+
+    @Test
+    public void deserialize_shouldReadTheSamePatientAsThePatientAlgorithm() throws IOException {
+        String json = readJson(PATIENT_JSON);
+        Patient generated = (Patient) new GeneratedPatientAlgorithm().deserialize(json);
+        Patient expected = (Patient) new PatientAlgorithm().deserialize(json);
+        assertThat(generated.getUuid(), is(expected.getUuid()));
+        assertThat(generated.getGender(), is(expected.getGender()));
+        assertThat(generated.getBirthdate(), is(expected.getBirthdate()));
+        assertThat(generated.getDisplayName(), is(expected.getDisplayName()));
+        assertThat(generated.getIdentifier(), is(expected.getIdentifier()));
+        assertThat(generated.getIdentifiers().size(), is(expected.getIdentifiers().size()));
+        assertThat(generated.getAtributes().size(), is(expected.getAtributes().size()));
+    }
+
+    @Test
+    public void serialize_shouldWriteFormDataReadableByTheFormDataAlgorithm() throws IOException {
+        FormData formData = new FormData();
+        formData.setUuid("c1b2c3d4-0000-4000-8000-000000000001");
+        formData.setStatus("complete");
+        formData.setDiscriminator("registration");
+        formData.setJsonPayload("{\"patient\":{}}");
+        formData.setPatientUuid("dd7fc05a-1691-11df-97a5-7038c432aabf");
+        formData.setUserUuid("a1b2c3d4-0000-4000-8000-000000000002");
+        formData.setTemplateUuid("a1b2c3d4-0000-4000-8000-000000000003");
+        formData.setSaveTime(new Date());
+
+        GeneratedFormDataAlgorithm generatedAlgorithm = new GeneratedFormDataAlgorithm();
+        FormDataAlgorithm formDataAlgorithm = new FormDataAlgorithm();
+        FormData expected = (FormData) formDataAlgorithm.deserialize(generatedAlgorithm.serialize(formData));
+        FormData generated = (FormData) generatedAlgorithm.deserialize(formDataAlgorithm.serialize(formData));
+        for (FormData read : new FormData[]{expected, generated}) {
+            assertThat(read.getUuid(), is(formData.getUuid()));
+            assertThat(read.getStatus(), is(formData.getStatus()));
+            assertThat(read.getDiscriminator(), is(formData.getDiscriminator()));
+            assertThat(read.getJsonPayload(), is(formData.getJsonPayload()));
+            assertThat(read.getPatientUuid(), is(formData.getPatientUuid()));
+            assertThat(read.getUserUuid(), is(formData.getUserUuid()));
+            assertThat(read.getTemplateUuid(), is(formData.getTemplateUuid()));
+            assertThat(read.getSaveTime(), is(formData.getSaveTime()));
+        }
+    }
+}
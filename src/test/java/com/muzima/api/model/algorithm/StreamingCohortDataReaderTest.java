@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Cohort;
+import com.muzima.api.model.CohortMember;
+import com.muzima.api.model.Patient;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class StreamingCohortDataReaderTest {
+
+    private static final String STATIC_COHORT_DATA_JSON = "/com/muzima/api/service/json/cohort_data/static.json";
+
+    private static final String DYNAMIC_COHORT_DATA_JSON = "/com/muzima/api/service/json/cohort_data/dynamic.json";
+
+    private static class RecordingHandler implements CohortDataHandler {
+
+        private final List<Integer> batchSizes = new ArrayList<Integer>();
+
+        private final List<Patient> patients = new ArrayList<Patient>();
+
+        private final List<CohortMember> members = new ArrayList<CohortMember>();
+
+        @Override
+        public void handle(final Cohort cohort, final List<Patient> patients, final List<CohortMember> members)
+                throws IOException {
+            batchSizes.add(patients.size());
+            this.patients.addAll(patients);
+            this.members.addAll(members);
+        }
+    }
+
+    private int read(final String path, final Cohort cohort, final CohortDataHandler handler) throws IOException {
+        InputStream inputStream = StreamingCohortDataReaderTest.class.getResourceAsStream(path);
+        try {
+            return new StreamingCohortDataReader(20).read(inputStream, cohort, handler);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test
+    public void read_shouldPassStaticCohortPatientsInBatches() throws IOException {
+        Cohort cohort = new Cohort();
+        cohort.setUuid("0ca78602-737f-408d-8ced-386ad12367db");
+        RecordingHandler handler = new RecordingHandler();
+
+        int count = read(STATIC_COHORT_DATA_JSON, cohort, handler);
+
+        assertThat(count, is(50));
+        assertThat(handler.batchSizes.size(), is(3));
+        assertThat(handler.batchSizes.get(2), is(10));
+        assertThat(cohort.getName(), is("Male 19 - 23"));
+        assertThat(handler.patients.get(0).getUuid(), is("dd656b24-1691-11df-97a5-7038c432aabf"));
+        assertThat(handler.members.get(0).getCohort(), sameInstance(cohort));
+        assertThat(handler.members.get(0).getPatientUuid(), is("dd656b24-1691-11df-97a5-7038c432aabf"));
+    }
+
+    @Test
+    public void read_shouldPassDynamicCohortPatientsInBatches() throws IOException {
+        Cohort cohort = new Cohort();
+        cohort.setUuid("8a3b7bbf-cefc-4ea9-8ff1-45b5a274a689");
+        cohort.setDynamic(true);
+        RecordingHandler handler = new RecordingHandler();
+
+        int count = read(DYNAMIC_COHORT_DATA_JSON, cohort, handler);
+
+        assertThat(count, is(44));
+        assertThat(handler.patients.size(), is(44));
+        assertThat(cohort.getName(), is("Example Age Query"));
+        assertThat(cohort.isDynamic(), is(true));
+        assertThat(handler.members.get(43).getCohortUuid(), is("8a3b7bbf-cefc-4ea9-8ff1-45b5a274a689"));
+    }
+
+    @Test
+    public void read_shouldReadMembersBeforeTheDefinition() throws IOException {
+        Cohort cohort = new Cohort();
+        cohort.setUuid("cohort-uuid");
+        RecordingHandler handler = new RecordingHandler();
+        String json = "{\"members\":[{\"uuid\":\"patient-uuid\"}],\"definition\":{\"uuid\":\"cohort-uuid\"," +
+                "\"name\":\"Cohort Name\"}}";
+
+        int count = new StreamingCohortDataReader(20).read(
+                new ByteArrayInputStream(json.getBytes("UTF-8")), cohort, handler);
+
+        assertThat(count, is(1));
+        assertThat(handler.members.get(0).getCohort().getName(), is("Cohort Name"));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.algorithm;
+
+import com.muzima.api.model.Observation;
+import com.muzima.api.model.Patient;
+import com.muzima.search.api.util.StreamUtil;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class StreamingObservationAlgorithmTest {
+
+    private static final String CODED_OBSERVATION_JSON =
+            "/com/muzima/api/service/json/observation/coded_observation.json";
+
+    private static final String PATIENT_JSON = "/com/muzima/api/service/json/patient/TestariusKunguPaul.json";
+
+    private static String readResource(final String path) throws IOException {
+        return StreamUtil.readAsString(
+                new InputStreamReader(StreamingObservationAlgorithmTest.class.getResourceAsStream(path)));
+    }
+
+    @Test
+    public void deserialize_shouldReadTheSameObservationAsTheJsonPathAlgorithm() throws IOException {
+        String jsonObservation = readResource(CODED_OBSERVATION_JSON);
+        Observation expected = (Observation) new ObservationAlgorithm().deserialize(jsonObservation);
+        Observation observation = (Observation) new StreamingObservationAlgorithm().deserialize(jsonObservation);
+        assertThat(observation.getUuid(), is(expected.getUuid()));
+        assertThat(observation.getObservationDatetime(), is(expected.getObservationDatetime()));
+        assertThat(observation.getValueCoded().getUuid(), is(expected.getValueCoded().getUuid()));
+        assertThat(observation.getValueCoded().getName(), is(expected.getValueCoded().getName()));
+        assertThat(observation.getValueCoded().getConceptType().getName(),
+                is(expected.getValueCoded().getConceptType().getName()));
+        assertThat(observation.getConcept().getUuid(), is(expected.getConcept().getUuid()));
+        assertThat(observation.getEncounter().getUuid(), is(expected.getEncounter().getUuid()));
+        assertThat(observation.getPerson().getUuid(), is(expected.getPerson().getUuid()));
+        assertThat(observation.getValueText(), nullValue());
+    }
+
+    @Test
+    public void deserialize_shouldCreateEmptyNestedObjectWhenMissing() throws IOException {
+        Observation observation =
+                (Observation) new StreamingObservationAlgorithm().deserialize("{\"uuid\":\"observation-uuid\"}");
+        assertThat(observation.getUuid(), is("observation-uuid"));
+        assertThat(observation.getEncounter().getLocation().getUuid(), nullValue());
+        assertThat(observation.getConcept().getConceptType().getName(), nullValue());
+    }
+
+    @Test
+    public void deserialize_shouldReadTheSamePatientAsTheJsonPathAlgorithm() throws IOException {
+        String jsonPatient = readResource(PATIENT_JSON);
+        Patient expected = (Patient) new PatientAlgorithm().deserialize(jsonPatient);
+        Patient patient = (Patient) new StreamingPatientAlgorithm().deserialize(jsonPatient);
+        assertThat(patient.getUuid(), is(expected.getUuid()));
+        assertThat(patient.getBirthdate(), is(expected.getBirthdate()));
+        assertThat(patient.getFamilyName(), is(expected.getFamilyName()));
+        assertThat(patient.getIdentifier(), is(expected.getIdentifier()));
+        assertThat(patient.getIdentifiers().get(0).getIdentifierType().getName(),
+                is(expected.getIdentifiers().get(0).getIdentifierType().getName()));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.model.resolver;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.muzima.api.config.Configuration;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BaseOpenmrsResolverTest {
+
+    private static final String SERVER = "http://127.0.0.1:1";
+
+    private final Configuration configuration = new Configuration();
+
+    private PatientResolver resolver;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration.configure("admin", "test", SERVER);
+        resolver = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Configuration.class).toInstance(configuration);
+            }
+        }).getInstance(PatientResolver.class);
+    }
+
+    private HttpURLConnection openConnection() throws Exception {
+        return new RecordingConnection(new URL(SERVER + "/ws/rest/v1/patient"));
+    }
+
+    private static String getAuthorizationHeader(final String username) {
+        Configuration expected = new Configuration();
+        expected.configure(username, "test", SERVER);
+        return expected.getAuthorizationHeader();
+    }
+
+    @Test
+    public void authenticate_shouldUseTheSnapshotOfTheResolvedRequest() throws Exception {
+        resolver.resolve(new HashMap<String, String>());
+        HttpURLConnection connection = resolver.authenticate(openConnection());
+        assertThat(connection.getRequestProperty("Authorization"), is(getAuthorizationHeader("admin")));
+    }
+
+    @Test
+    public void authenticate_shouldUseTheCurrentCredentialsAfterTheConfigurationChanged() throws Exception {
+        resolver.resolve(new HashMap<String, String>());
+        configuration.configure("other", "test", SERVER);
+        HttpURLConnection connection = resolver.authenticate(openConnection());
+        assertThat(connection.getRequestProperty("Authorization"), is(getAuthorizationHeader("other")));
+    }
+
+    /**
+     * Connection keeping the request properties readable, the platform connection hides the authorization header.
+     */
+    private static class RecordingConnection extends HttpURLConnection {
+
+        private final Map<String, String> requestProperties = new HashMap<String, String>();
+
+        RecordingConnection(final URL url) {
+            super(url);
+        }
+
+        @Override
+        public void setRequestProperty(final String key, final String value) {
+            requestProperties.put(key, value);
+        }
+
+        @Override
+        public String getRequestProperty(final String key) {
+            return requestProperties.get(key);
+        }
+
+        @Override
+        public void connect() {
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+    }
+
+    static class PatientResolver extends BaseOpenmrsResolver {
+
+        @Override
+        public String resolve(final Map<String, String> resourceParams) {
+            return takeSnapshot().getServer() + "/ws/rest/v1/patient";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.api.service.impl;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class UuidRequestPlannerTest {
+
+    private static List<String> createUuids(final String prefix, final int count) {
+        List<String> uuids = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            uuids.add(prefix + "-" + i);
+        }
+        return uuids;
+    }
+
+    @Test
+    public void split_shouldKeepEveryChunkUnderTheMaximumEncodedLength() throws Exception {
+        // every uuid is 5 characters long, every encoded separator is 3 characters long.
+        List<String> chunks = UuidRequestPlanner.split(Arrays.asList("aaaaa", "bbbbb", "ccccc", "ddddd", "eeeee"), 13);
+        assertThat(chunks, is(Arrays.asList("aaaaa,bbbbb", "ccccc,ddddd", "eeeee")));
+    }
+
+    @Test
+    public void split_shouldSendUuidsLongerThanTheMaximumLengthAlone() throws Exception {
+        List<String> chunks = UuidRequestPlanner.split(Arrays.asList("aa", "bbbbbbbbbb", "cc"), 5);
+        assertThat(chunks, is(Arrays.asList("aa", "bbbbbbbbbb", "cc")));
+    }
+
+    @Test
+    public void split_shouldReturnASingleEmptyChunkForEmptyUuids() throws Exception {
+        assertThat(UuidRequestPlanner.split(Collections.<String>emptyList(), 10), is(Arrays.asList("")));
+    }
+
+    @Test
+    public void plan_shouldCopyTheOtherParametersIntoEveryParameterSet() throws Exception {
+        Map<String, String> parameters = new HashMap<String, String>();
+        parameters.put("syncDate", "2014-03-15");
+        List<Map<String, String>> plan = UuidRequestPlanner.plan("patient", createUuids("patient", 10), parameters, 40);
+        List<String> patientUuids = new ArrayList<String>();
+        for (Map<String, String> parameterSet : plan) {
+            assertThat(parameterSet.get("syncDate"), is("2014-03-15"));
+            patientUuids.addAll(Arrays.asList(parameterSet.get("patient").split(",")));
+        }
+        assertThat(plan.size() > 1, is(true));
+        assertThat(patientUuids, is(createUuids("patient", 10)));
+    }
+
+    @Test
+    public void plan_shouldCombineEveryPatientChunkWithEveryConceptChunk() throws Exception {
+        List<String> patientUuids = createUuids("patient", 20);
+        List<String> conceptUuids = createUuids("concept", 20);
+        int maxLength = 100;
+        List<Map<String, String>> plan = UuidRequestPlanner.plan("person", patientUuids, "concept", conceptUuids,
+                new HashMap<String, String>(), maxLength);
+        List<String> patientChunks = new ArrayList<String>();
+        List<String> conceptChunks = new ArrayList<String>();
+        for (Map<String, String> parameterSet : plan) {
+            String patientChunk = parameterSet.get("person");
+            String conceptChunk = parameterSet.get("concept");
+            int length = patientChunk.replace(",", "%2C").length() + conceptChunk.replace(",", "%2C").length();
+            assertThat(length <= maxLength, is(true));
+            if (!patientChunks.contains(patientChunk)) {
+                patientChunks.add(patientChunk);
+            }
+            if (!conceptChunks.contains(conceptChunk)) {
+                conceptChunks.add(conceptChunk);
+            }
+        }
+        assertThat(plan.size(), is(patientChunks.size() * conceptChunks.size()));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ConnectivityMonitorTest {
+
+    private HttpServer server;
+
+    private String address;
+
+    private final AtomicInteger probes = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        ConnectivityMonitor.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                probes.incrementAndGet();
+                try {
+                    // keep the probe running while the other callers ask for the reachability.
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+        address = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+        ConnectivityMonitor.reset();
+    }
+
+    @Test
+    public void awaitReachable_shouldProbeTheServerOnceForConcurrentCallers() throws Exception {
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    ConnectivityMonitor.awaitReachable(address, Constants.CONNECTION_TIMEOUT);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(probes.get(), is(1));
+        assertThat(ConnectivityMonitor.isReachable(address), is(true));
+    }
+
+    @Test
+    public void reportFailure_shouldMarkTheServerUnreachableWhenTheConnectionFailed() throws Exception {
+        ConnectivityMonitor.reportReachable(address);
+        ConnectivityMonitor.reportFailure(address + "/ws/rest/v1/patient", new IOException(new ConnectException()));
+        assertThat(ConnectivityMonitor.isReachable(address), is(false));
+    }
+
+    @Test
+    public void reportFailure_shouldKeepTheServerReachableWhenTheServerResponded() throws Exception {
+        ConnectivityMonitor.reportReachable(address);
+        ConnectivityMonitor.reportFailure(address, new IOException("Server responded with: 500"));
+        assertThat(ConnectivityMonitor.isReachable(address), is(true));
+    }
+}
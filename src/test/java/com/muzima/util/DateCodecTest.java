@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class DateCodecTest {
+
+    private static final String DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    private static final String[] DATE_TIMES = {
+            "2006-03-15T00:00:00.000-0500", "2012-12-19T08:05:09.000-0500", "2006-05-10T00:00:00.000-0400",
+            "2000-02-29T23:59:59.999+0000", "1970-01-01T00:00:00.000+0530", "1969-12-31T23:59:59.001-1200",
+            "1601-01-01T12:00:00.000+0100", "9999-06-30T12:00:00.000+0000"
+    };
+
+    private static final String[] DATES = {
+            "1956-12-11", "2000-02-29", "1970-01-01", "1969-12-31", "2014-03-30", "2014-10-26", "1601-01-01"
+    };
+
+    private final TimeZone defaultTimeZone = TimeZone.getDefault();
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(defaultTimeZone);
+        DateCodec.resetTimeZone();
+    }
+
+    @Test
+    public void parseDateTime_shouldParseTheSameValueAsTheFormatter() throws Exception {
+        for (String dateTime : DATE_TIMES) {
+            Date expected = new SimpleDateFormat(DATE_TIME_PATTERN).parse(dateTime);
+            assertThat(dateTime, DateCodec.parseDateTime(dateTime), is(expected));
+            // the second call is answered from the cache.
+            assertThat(dateTime, DateCodec.parseDateTime(dateTime), is(expected));
+        }
+    }
+
+    @Test
+    public void parseDateTime_shouldReturnANewDateOnEveryCall() throws Exception {
+        Date expected = new SimpleDateFormat(DATE_TIME_PATTERN).parse(DATE_TIMES[0]);
+        Date date = DateCodec.parseDateTime(DATE_TIMES[0]);
+        date.setTime(0);
+        assertThat(DateCodec.parseDateTime(DATE_TIMES[0]), is(expected));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parseDateTime_shouldThrowParseExceptionForInvalidValue() throws Exception {
+        DateCodec.parseDateTime("not a date");
+    }
+
+    @Test
+    public void formatDateTime_shouldFormatTheSameValueAsTheFormatter() throws Exception {
+        for (String timeZone : new String[]{"UTC", "America/Indiana/Indianapolis", "Africa/Nairobi", "Asia/Kolkata"}) {
+            TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+            DateCodec.resetTimeZone();
+            for (String dateTime : DATE_TIMES) {
+                Date date = new SimpleDateFormat(DATE_TIME_PATTERN).parse(dateTime);
+                String expected = new SimpleDateFormat(DATE_TIME_PATTERN).format(date);
+                assertThat(timeZone, DateCodec.formatDateTime(date), is(expected));
+                assertThat(timeZone, DateCodec.parseDateTime(DateCodec.formatDateTime(date)), is(date));
+            }
+        }
+    }
+
+    @Test
+    public void parseDate_shouldParseTheSameValueAsTheFormatter() throws Exception {
+        for (String timeZone : new String[]{"UTC", "Europe/Amsterdam", "America/Sao_Paulo", "Pacific/Auckland"}) {
+            TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+            DateCodec.resetTimeZone();
+            for (String date : DATES) {
+                Date expected = new SimpleDateFormat(DATE_PATTERN).parse(date);
+                assertThat(timeZone + " " + date, DateCodec.parseDate(date), is(expected));
+                assertThat(timeZone + " " + date, DateCodec.formatDate(expected), is(date));
+            }
+        }
+    }
+
+    @Test
+    public void parseDate_shouldIgnoreTheTimeAfterTheDate() throws Exception {
+        Date expected = new SimpleDateFormat(DATE_PATTERN).parse("1998-04-03");
+        assertThat(DateCodec.parseDate("1998-04-03T00:00:00.000-0500"), is(expected));
+    }
+
+    @Test
+    public void parseDate_shouldFallBackToTheFormatterForOtherLayouts() throws Exception {
+        Date expected = new SimpleDateFormat(DATE_PATTERN).parse("2014-1-5");
+        assertThat(DateCodec.parseDate("2014-1-5"), is(expected));
+    }
+}
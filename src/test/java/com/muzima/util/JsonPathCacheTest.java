@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2014. The Trustees of Indiana University.
+ *
+ * This version of the code is licensed under the MPL 2.0 Open Source license with additional
+ * healthcare disclaimer. If the user is an entity intending to commercialize any application
+ * that uses this code in a for-profit venture, please contact the copyright holder.
+ */
+
+package com.muzima.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class JsonPathCacheTest {
+
+    @Before
+    public void setup() {
+        JsonPathCache.clear();
+    }
+
+    @Test
+    public void shouldReuseCompiledPath() throws Exception {
+        assertThat(JsonPathCache.compile("$['names'][0]"), sameInstance(JsonPathCache.compile("$['names'][0]")));
+        assertThat(JsonPathCache.getSize(), is(1));
+        assertThat(JsonPathCache.getHitCount(), is(1L));
+        assertThat(JsonPathCache.getMissCount(), is(1L));
+        assertThat(JsonPathCache.getHitRate(), is(0.5));
+    }
+
+    @Test
+    public void shouldReadValueWithCachedPath() throws Exception {
+        String serialized = "{names:[{givenName:\"Testarius\"}]}";
+        String givenName = JsonPathCache.read(serialized, "$['names'][0]['givenName']");
+        assertThat(givenName, is("Testarius"));
+        givenName = JsonPathCache.read(serialized, "$['names'][0]['givenName']");
+        assertThat(givenName, is("Testarius"));
+        assertThat(JsonPathCache.getHitCount(), is(1L));
+    }
+}